@@ -0,0 +1,145 @@
+package io.github.codeyunze.benchmark;
+
+import io.github.codeyunze.bo.QofFileInfoBo;
+import io.github.codeyunze.core.QofFileOperationBase;
+import io.github.codeyunze.dto.QofFileInfoDto;
+import io.github.codeyunze.exception.DataNotExistException;
+import io.github.codeyunze.service.QofExtService;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于内存的文件信息扩展实现
+ * <br>
+ * 用内存Map代替 sys_files 表，排除数据库对基准测试结果的干扰，
+ * 使测试结果只反映 QOF 本身以及存储读写的开销。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class InMemoryQofExtService implements QofExtService {
+
+    private final Map<Long, QofFileInfoBo<?>> files = new ConcurrentHashMap<>();
+
+    /**
+     * Map<存储模式/存储站/内容摘要, 文件信息>
+     */
+    private final Map<String, QofFileInfoBo<?>> contentHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Map<存储模式/存储站/文件路径, 引用数>
+     */
+    private final Map<String, Integer> storageRefs = new HashMap<>();
+
+    @Override
+    public QofFileInfoBo<?> getFileInfoByFileId(Long fileId) {
+        QofFileInfoBo<?> fileBo = files.get(fileId);
+        if (fileBo == null) {
+            throw new DataNotExistException("文件信息不存在");
+        }
+        return fileBo;
+    }
+
+    @Override
+    public Long beforeUpload(QofFileInfoDto<?> fileDto) {
+        return fileDto.getFileId();
+    }
+
+    @Override
+    public QofFileInfoBo<?> afterUpload(QofFileInfoDto<?> fileDto) {
+        QofFileInfoBo<?> fileBo = new QofFileInfoBo<>();
+        BeanUtils.copyProperties(fileDto, fileBo);
+        fileBo.setCreateTime(LocalDateTime.now());
+        files.put(fileBo.getFileId(), fileBo);
+        if (fileBo.getContentHash() != null) {
+            contentHashes.putIfAbsent(contentHashKey(fileBo.getFileStorageMode(), fileBo.getFileStorageStation(),
+                    fileBo.getContentHash()), fileBo);
+        }
+        return fileBo;
+    }
+
+    @Override
+    public void beforeDownload(QofFileInfoBo<?> fileBo) {
+    }
+
+    @Override
+    public void afterDownload(QofFileInfoBo<?> fileBo) {
+    }
+
+    @Override
+    public boolean beforeDelete(QofFileInfoBo<?> fileBo) {
+        return files.remove(fileBo.getFileId()) != null;
+    }
+
+    @Override
+    public boolean afterDelete(QofFileInfoBo<?> fileBo, boolean deleted) {
+        return true;
+    }
+
+    @Override
+    public QofFileInfoBo<?> getFileInfoByContentHash(String fileStorageMode, String fileStorageStation, String contentHash) {
+        return contentHashes.get(contentHashKey(fileStorageMode, fileStorageStation, contentHash));
+    }
+
+    @Override
+    public synchronized void registerStorageObject(QofFileOperationBase storageObject) {
+        storageRefs.put(storageRefKey(storageObject), 1);
+    }
+
+    @Override
+    public synchronized boolean acquireStorageObject(QofFileOperationBase storageObject) {
+        String key = storageRefKey(storageObject);
+        Integer refs = storageRefs.get(key);
+        if (refs == null) {
+            return false;
+        }
+        storageRefs.put(key, refs + 1);
+        return true;
+    }
+
+    @Override
+    public synchronized int releaseStorageObject(QofFileOperationBase storageObject) {
+        String key = storageRefKey(storageObject);
+        Integer refs = storageRefs.get(key);
+        if (refs == null) {
+            return -1;
+        }
+        if (refs > 1) {
+            storageRefs.put(key, refs - 1);
+            return refs - 1;
+        }
+        storageRefs.remove(key);
+        contentHashes.values().removeIf(file -> storageObject.getFilePath().equals(file.getFilePath()));
+        return 0;
+    }
+
+    @Override
+    public boolean isStorageObjectShared(QofFileInfoBo<?> fileBo) {
+        if (fileBo.getContentHash() == null) {
+            return false;
+        }
+        for (QofFileInfoBo<?> file : files.values()) {
+            if (fileBo.getFilePath().equals(file.getFilePath())) {
+                return true;
+            }
+        }
+        contentHashes.remove(contentHashKey(fileBo.getFileStorageMode(), fileBo.getFileStorageStation(), fileBo.getContentHash()));
+        return false;
+    }
+
+    private static String storageRefKey(QofFileOperationBase storageObject) {
+        return storageObject.getFileStorageMode() + "/" + storageObject.getFileStorageStation() + "/" + storageObject.getFilePath();
+    }
+
+    private static String contentHashKey(String fileStorageMode, String fileStorageStation, String contentHash) {
+        return fileStorageMode + "/" + fileStorageStation + "/" + contentHash;
+    }
+
+    public int size() {
+        return files.size();
+    }
+}
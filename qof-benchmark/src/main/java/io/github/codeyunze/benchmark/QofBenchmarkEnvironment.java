@@ -0,0 +1,241 @@
+package io.github.codeyunze.benchmark;
+
+import io.github.codeyunze.QofConstant;
+import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.core.DefaultQofClientFactory;
+import io.github.codeyunze.core.QofClient;
+import io.github.codeyunze.core.QofClientFactory;
+import io.github.codeyunze.core.cache.QofContentCache;
+import io.github.codeyunze.core.cache.QofDiskCache;
+import io.github.codeyunze.core.concurrent.QofExecutors;
+import io.github.codeyunze.core.concurrent.TransferAdmissionController;
+import io.github.codeyunze.core.cos.CosQofClient;
+import io.github.codeyunze.core.cos.CosQofConfig;
+import io.github.codeyunze.core.cos.CosQofProperties;
+import io.github.codeyunze.core.local.LocalQofClient;
+import io.github.codeyunze.core.local.LocalQofConfig;
+import io.github.codeyunze.core.local.LocalQofProperties;
+import io.github.codeyunze.core.metrics.MicrometerQofMetricsRecorder;
+import io.github.codeyunze.core.metrics.QofMetricsRecorder;
+import io.github.codeyunze.core.multipart.ParallelPartUploader;
+import io.github.codeyunze.core.oss.OssQofClient;
+import io.github.codeyunze.core.oss.OssQofConfig;
+import io.github.codeyunze.core.oss.OssQofProperties;
+import io.github.codeyunze.core.validation.CoreFileValidationService;
+import io.github.codeyunze.dto.QofFileInfoDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 基准测试运行环境
+ * <br>
+ * 使用精简的 Spring 容器装配真实的 {@link LocalQofClient}、{@link CosQofClient}、{@link OssQofClient}
+ * 以及 {@link DefaultQofClientFactory}，其中 COS/OSS 的 SDK 客户端替换为进程内替身，
+ * 文件信息持久化替换为 {@link InMemoryQofExtService}。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofBenchmarkEnvironment implements AutoCloseable {
+
+    /**
+     * 基准测试使用的存储站名称
+     */
+    public static final String STATION = "bench";
+
+    private final AnnotationConfigApplicationContext context;
+
+    private final Path localRoot;
+
+    private final QofClientFactory qofClientFactory;
+
+    private final InMemoryQofExtService qofExtService;
+
+    private QofBenchmarkEnvironment(AnnotationConfigApplicationContext context, Path localRoot, InMemoryQofExtService qofExtService) {
+        this.context = context;
+        this.localRoot = localRoot;
+        this.qofExtService = qofExtService;
+        this.qofClientFactory = context.getBean(QofClientFactory.class);
+    }
+
+    /**
+     * 启动基准测试环境
+     *
+     * @param bufferSize 文件流缓冲区大小
+     * @return 基准测试环境
+     */
+    public static QofBenchmarkEnvironment start(int bufferSize) throws IOException {
+        String baseDir = System.getProperty("qof.benchmark.dir", System.getProperty("java.io.tmpdir"));
+        Path localRoot = Files.createTempDirectory(Paths.get(baseDir), "qof-benchmark-");
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("qof.local.enable", QofConstant.ENABLE_VALUE);
+        properties.put("qof.cos.enable", QofConstant.ENABLE_VALUE);
+        properties.put("qof.oss.enable", QofConstant.ENABLE_VALUE);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("qofBenchmark", properties));
+
+        QofProperties qofProperties = new QofProperties();
+        // 基准测试覆盖到 1GB，不限制文件大小
+        qofProperties.setMaxFileSize(0);
+        qofProperties.setBufferSize(bufferSize);
+        qofProperties.setPreviewSupportedTypes(Collections.singletonList(SyntheticInputStream.CONTENT_TYPE));
+        // 指定 -Dqof.benchmark.dedup=true 时启用去重，用于评估上传时计算内容摘要的开销
+        qofProperties.getDedup().setEnabled(Boolean.getBoolean("qof.benchmark.dedup"));
+
+        InMemoryQofExtService qofExtService = new InMemoryQofExtService();
+        StandInObjectStore objectStore = new StandInObjectStore(bufferSize);
+
+        context.getBeanFactory().registerSingleton("qofProperties", qofProperties);
+        context.getBeanFactory().registerSingleton("qofExtService", qofExtService);
+        context.getBeanFactory().registerSingleton("qofMetricsRecorder", metricsRecorder(qofProperties));
+        context.getBeanFactory().registerSingleton("parallelPartUploader",
+                new ParallelPartUploader(qofProperties.getMultipart().getMaxThreads()));
+        context.getBeanFactory().registerSingleton("qofExecutors", new QofExecutors(qofProperties.getExecutor()));
+        context.getBeanFactory().registerSingleton("transferAdmissionController",
+                new TransferAdmissionController(qofProperties.getAdmission()));
+        context.getBeanFactory().registerSingleton("qofContentCache", new QofContentCache(qofProperties.getContentCache()));
+        context.getBeanFactory().registerSingleton("qofDiskCache", new QofDiskCache(qofProperties.getDiskCache()));
+        context.getBeanFactory().registerSingleton("localQofProperties", localProperties(localRoot));
+        context.getBeanFactory().registerSingleton("cosQofProperties", cosProperties());
+        context.getBeanFactory().registerSingleton("ossQofProperties", ossProperties());
+        context.getBeanFactory().registerSingleton("cosClientMap",
+                Collections.singletonMap(STATION + "Cos", new StandInCosClient(objectStore)));
+        context.getBeanFactory().registerSingleton("ossClientMap",
+                Collections.singletonMap(STATION + "Oss", new StandInOssClient(objectStore)));
+
+        context.register(CoreFileValidationService.class,
+                LocalQofClient.class,
+                CosQofClient.class,
+                OssQofClient.class,
+                DefaultQofClientFactory.class);
+        context.refresh();
+        return new QofBenchmarkEnvironment(context, localRoot, qofExtService);
+    }
+
+    /**
+     * 默认不记录指标；指定 -Dqof.benchmark.metrics=true 时使用 Micrometer 记录，用于评估指标记录本身的开销
+     */
+    private static QofMetricsRecorder metricsRecorder(QofProperties qofProperties) {
+        if (!Boolean.getBoolean("qof.benchmark.metrics")) {
+            return QofMetricsRecorder.NOOP;
+        }
+        return new MicrometerQofMetricsRecorder(new SimpleMeterRegistry(), qofProperties.getMetrics());
+    }
+
+    private static LocalQofProperties localProperties(Path localRoot) {
+        LocalQofConfig station = new LocalQofConfig();
+        station.setFilepath(localRoot.toString());
+        LocalQofProperties properties = new LocalQofProperties();
+        properties.setEnable(true);
+        properties.setDefaultStorageStation(STATION);
+        properties.setMultiple(Collections.singletonMap(STATION, station));
+        properties.afterPropertiesSet();
+        return properties;
+    }
+
+    private static CosQofProperties cosProperties() {
+        CosQofConfig station = new CosQofConfig();
+        station.setSecretId("benchmark");
+        station.setSecretKey("benchmark");
+        station.setBucketName("benchmark-1250000000");
+        station.setRegion("ap-guangzhou");
+        station.setFilepath("/qof");
+        CosQofProperties properties = new CosQofProperties();
+        properties.setEnable(true);
+        properties.setDefaultStorageStation(STATION);
+        properties.setMultiple(Collections.singletonMap(STATION, station));
+        properties.afterPropertiesSet();
+        return properties;
+    }
+
+    private static OssQofProperties ossProperties() {
+        OssQofConfig station = new OssQofConfig();
+        station.setAccessKeyId("benchmark");
+        station.setAccessKeySecret("benchmark");
+        station.setBucketName("benchmark");
+        station.setEndpoint("oss-cn-hangzhou.aliyuncs.com");
+        station.setFilepath("/qof");
+        OssQofProperties properties = new OssQofProperties();
+        properties.setEnable(true);
+        properties.setDefaultStorageStation(STATION);
+        properties.setMultiple(Collections.singletonMap(STATION, station));
+        properties.afterPropertiesSet();
+        return properties;
+    }
+
+    /**
+     * 与 FileController 一致，每次操作都通过客户端工厂获取客户端
+     *
+     * @param storageMode 存储模式
+     * @return 存储模式所对应的客户端
+     */
+    public QofClient client(String storageMode) {
+        return qofClientFactory.buildClient(storageMode);
+    }
+
+    /**
+     * 构建上传文件信息，与 FileValidationServiceImpl.buildFileInfoDto 生成的信息保持一致
+     *
+     * @param storageMode 存储模式
+     * @param fileSize    文件大小
+     * @return 上传文件信息
+     */
+    public QofFileInfoDto<?> newFileInfo(String storageMode, long fileSize) {
+        QofFileInfoDto<?> info = new QofFileInfoDto<>();
+        info.setFileName("benchmark.pdf");
+        info.setFileType(SyntheticInputStream.CONTENT_TYPE);
+        info.setFileSize(fileSize);
+        info.setFileStorageMode(storageMode);
+        info.setFileStorageStation(STATION);
+        info.setDirectoryAddress("/benchmark");
+        info.setPublicAccess(QofConstant.PUBLIC_ACCESS);
+        return info;
+    }
+
+    public InMemoryQofExtService getQofExtService() {
+        return qofExtService;
+    }
+
+    /**
+     * 解析文件大小参数，支持 B、KB、MB、GB 后缀，例如 64KB
+     *
+     * @param size 文件大小参数
+     * @return 字节数
+     */
+    public static long parseSize(String size) {
+        String value = size.trim().toUpperCase(Locale.ROOT);
+        long unit = 1;
+        if (value.endsWith("GB")) {
+            unit = 1024L * 1024 * 1024;
+        } else if (value.endsWith("MB")) {
+            unit = 1024L * 1024;
+        } else if (value.endsWith("KB")) {
+            unit = 1024L;
+        }
+        String number = value.replaceAll("[A-Z]+$", "");
+        return Long.parseLong(number) * unit;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        if (Files.exists(localRoot)) {
+            try (Stream<Path> paths = Files.walk(localRoot)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.codeyunze.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * 基准测试启动入口
+ * <br>
+ * 支持 JMH 的全部命令行参数，并在此基础上按并发数逐轮执行。
+ * 并发数通过系统属性 qof.benchmark.concurrency 指定，多个值以逗号分隔，默认 1,4,16；
+ * 如果命令行中已经通过 -t 指定了线程数，则只按 -t 执行一轮。
+ * <p>
+ * 例如：java -Dqof.benchmark.concurrency=1,32 -jar qof-benchmark/target/benchmarks.jar QofClientBenchmark -p fileSize=1KB,1MB
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofBenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        if (commandLineOptions.getThreads().hasValue()) {
+            new Runner(commandLineOptions).run();
+            return;
+        }
+
+        String concurrency = System.getProperty("qof.benchmark.concurrency", "1,4,16");
+        for (String threads : concurrency.split(",")) {
+            new Runner(new OptionsBuilder()
+                    .parent(commandLineOptions)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build())
+                    .run();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.codeyunze.benchmark;
+
+import io.github.codeyunze.bo.QofFileDownloadBo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QofClient 上传、下载、预览的完整链路基准测试
+ * <br>
+ * 每次操作都与 FileController 一样先通过 QofClientFactory 获取客户端，
+ * 再经过 AbstractQofClient 的校验、扩展操作以及具体存储实现。
+ * <p>
+ * 文件大小覆盖 1KB ~ 1GB，可通过 -p fileSize=1KB,1MB 缩小范围；
+ * 并发数通过 {@link QofBenchmarkRunner} 的 qof.benchmark.concurrency 或 JMH 的 -t 参数指定。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QofClientBenchmark {
+
+    /**
+     * 存储模式，cos、oss 使用进程内替身
+     */
+    @Param({"local", "cos", "oss"})
+    public String storageMode;
+
+    /**
+     * 文件大小
+     */
+    @Param({"1KB", "64KB", "1MB", "16MB", "256MB", "1GB"})
+    public String fileSize;
+
+    /**
+     * 文件流缓冲区大小，对应 qof.buffer-size
+     */
+    @Param({"8192", "65536"})
+    public int bufferSize;
+
+    private QofBenchmarkEnvironment environment;
+
+    private long fileBytes;
+
+    /**
+     * 下载、预览使用的固定文件
+     */
+    private Long fixtureFileId;
+
+    /**
+     * 本轮迭代上传的文件，迭代结束后删除，避免占满磁盘
+     */
+    private final Queue<Long> uploadedFileIds = new ConcurrentLinkedQueue<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        environment = QofBenchmarkEnvironment.start(bufferSize);
+        fileBytes = QofBenchmarkEnvironment.parseSize(fileSize);
+        fixtureFileId = environment.client(storageMode)
+                .upload(new SyntheticInputStream(fileBytes), environment.newFileInfo(storageMode, fileBytes));
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUploadedFiles() {
+        Long fileId;
+        while ((fileId = uploadedFileIds.poll()) != null) {
+            environment.client(storageMode).delete(fileId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public Long upload() {
+        Long fileId = environment.client(storageMode)
+                .upload(new SyntheticInputStream(fileBytes), environment.newFileInfo(storageMode, fileBytes));
+        uploadedFileIds.add(fileId);
+        return fileId;
+    }
+
+    @Benchmark
+    public long download(Blackhole blackhole) throws IOException {
+        QofFileDownloadBo fileDownloadBo = environment.client(storageMode).download(fixtureFileId);
+        return drain(fileDownloadBo, blackhole);
+    }
+
+    @Benchmark
+    public long preview(Blackhole blackhole) throws IOException {
+        QofFileDownloadBo fileDownloadBo = environment.client(storageMode).preview(fixtureFileId);
+        return drain(fileDownloadBo, blackhole);
+    }
+
+    /**
+     * 按 FileValidationServiceImpl.createStreamingResponseBody 的方式读完整个文件流
+     */
+    private long drain(QofFileDownloadBo fileDownloadBo, Blackhole blackhole) throws IOException {
+        long total = 0;
+        try (InputStream is = fileDownloadBo.getInputStream()) {
+            byte[] buffer = new byte[bufferSize];
+            int bytesRead;
+            while ((bytesRead = is.read(buffer)) != -1) {
+                total += bytesRead;
+            }
+            blackhole.consume(buffer);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.codeyunze.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QofClient 删除链路基准测试
+ * <br>
+ * 每次删除前都需要先上传一个文件（不计入耗时），因此只覆盖较小的文件。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QofDeleteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Environment {
+
+        @Param({"local", "cos", "oss"})
+        public String storageMode;
+
+        @Param({"1KB", "1MB"})
+        public String fileSize;
+
+        QofBenchmarkEnvironment environment;
+
+        long fileBytes;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            environment = QofBenchmarkEnvironment.start(8192);
+            fileBytes = QofBenchmarkEnvironment.parseSize(fileSize);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            environment.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PendingFile {
+
+        Long fileId;
+
+        @Setup(Level.Invocation)
+        public void upload(Environment env) {
+            fileId = env.environment.client(env.storageMode)
+                    .upload(new SyntheticInputStream(env.fileBytes), env.environment.newFileInfo(env.storageMode, env.fileBytes));
+        }
+    }
+
+    @Benchmark
+    public boolean delete(Environment env, PendingFile file) {
+        return env.environment.client(env.storageMode).delete(file.fileId);
+    }
+}
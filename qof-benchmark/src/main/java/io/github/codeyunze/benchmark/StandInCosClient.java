@@ -0,0 +1,113 @@
+package io.github.codeyunze.benchmark;
+
+import com.qcloud.cos.COSClient;
+import com.qcloud.cos.ClientConfig;
+import com.qcloud.cos.auth.BasicCOSCredentials;
+import com.qcloud.cos.exception.CosServiceException;
+import com.qcloud.cos.model.AbortMultipartUploadRequest;
+import com.qcloud.cos.model.COSObject;
+import com.qcloud.cos.model.COSObjectInputStream;
+import com.qcloud.cos.model.CompleteMultipartUploadRequest;
+import com.qcloud.cos.model.CompleteMultipartUploadResult;
+import com.qcloud.cos.model.GetObjectRequest;
+import com.qcloud.cos.model.InitiateMultipartUploadRequest;
+import com.qcloud.cos.model.InitiateMultipartUploadResult;
+import com.qcloud.cos.model.ObjectMetadata;
+import com.qcloud.cos.model.PutObjectRequest;
+import com.qcloud.cos.model.PutObjectResult;
+import com.qcloud.cos.model.UploadPartRequest;
+import com.qcloud.cos.model.UploadPartResult;
+import com.qcloud.cos.region.Region;
+import org.apache.http.client.methods.HttpGet;
+
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * 腾讯云COS客户端的进程内替身
+ * <br>
+ * 继承真实的 {@link COSClient}，只重写 CosQofClient 用到的对象读写、分片上传方法，
+ * 使基准测试可以覆盖 CosQofClient 的完整处理逻辑而不产生网络请求。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class StandInCosClient extends COSClient {
+
+    private final StandInObjectStore store;
+
+    public StandInCosClient(StandInObjectStore store) {
+        super(new BasicCOSCredentials("benchmark", "benchmark"), new ClientConfig(new Region("ap-guangzhou")));
+        this.store = store;
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest putObjectRequest) {
+        File file = putObjectRequest.getFile();
+        if (file != null) {
+            store.put(putObjectRequest.getBucketName(), putObjectRequest.getKey(), file, 0, file.length());
+        } else {
+            store.put(putObjectRequest.getBucketName(), putObjectRequest.getKey(), putObjectRequest.getInputStream());
+        }
+        return new PutObjectResult();
+    }
+
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setUploadId(store.initiateMultipartUpload());
+        return result;
+    }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest request) {
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        if (request.getFile() != null) {
+            result.setETag(store.uploadPart(request.getUploadId(), request.getPartNumber(),
+                    request.getFile(), request.getFileOffset(), request.getPartSize()));
+        } else {
+            result.setETag(store.uploadPart(request.getUploadId(), request.getPartNumber(), request.getInputStream()));
+        }
+        return result;
+    }
+
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        store.completeMultipartUpload(request.getBucketName(), request.getKey(), request.getUploadId());
+        return new CompleteMultipartUploadResult();
+    }
+
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+        store.abortMultipartUpload(request.getUploadId());
+    }
+
+    @Override
+    public COSObject getObject(GetObjectRequest getObjectRequest) {
+        long[] range = getObjectRequest.getRange();
+        InputStream content = range == null
+                ? store.get(getObjectRequest.getBucketName(), getObjectRequest.getKey())
+                : store.get(getObjectRequest.getBucketName(), getObjectRequest.getKey(), range[0], range[1]);
+        if (content == null) {
+            CosServiceException e = new CosServiceException("The specified key does not exist.");
+            e.setStatusCode(404);
+            e.setErrorCode("NoSuchKey");
+            throw e;
+        }
+        COSObject cosObject = new COSObject();
+        cosObject.setBucketName(getObjectRequest.getBucketName());
+        cosObject.setKey(getObjectRequest.getKey());
+        cosObject.setObjectMetadata(new ObjectMetadata());
+        // 关闭流时SDK会释放HTTP连接，这里提供一个未发送的请求对象
+        cosObject.setObjectContent(new COSObjectInputStream(content, new HttpGet()));
+        return cosObject;
+    }
+
+    @Override
+    public void deleteObject(String bucketName, String key) {
+        store.delete(bucketName, key);
+    }
+}
@@ -0,0 +1,224 @@
+package io.github.codeyunze.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内对象存储替身
+ * <br>
+ * 只记录对象长度，读取时通过 {@link SyntheticInputStream} 重新生成内容，
+ * 使 COS/OSS 的替身客户端在不访问网络、不占用大量内存的情况下完成完整的上传/下载链路。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class StandInObjectStore {
+
+    private final Map<String, Long> objects = new ConcurrentHashMap<>();
+
+    /**
+     * Map<uploadId, Map<分片编号, 分片长度>>
+     */
+    private final Map<String, Map<Integer, Long>> multipartUploads = new ConcurrentHashMap<>();
+
+    private final int bufferSize;
+
+    public StandInObjectStore(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 写入对象：读取完整个输入流，模拟将字节发送到对象存储
+     *
+     * @param bucket 存储桶
+     * @param key    对象键
+     * @param in     对象内容
+     * @return 写入的字节数
+     */
+    public long put(String bucket, String key, InputStream in) {
+        byte[] buffer = new byte[bufferSize];
+        long total = 0;
+        try {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("读取上传流失败: " + key, e);
+        }
+        objects.put(bucket + '/' + key, total);
+        return total;
+    }
+
+    /**
+     * 写入对象：读取文件中指定范围的内容，模拟SDK基于文件上传
+     *
+     * @param bucket 存储桶
+     * @param key    对象键
+     * @param file   文件
+     * @param offset 起始位置
+     * @param length 读取长度
+     * @return 写入的字节数
+     */
+    public long put(String bucket, String key, File file, long offset, long length) {
+        try (InputStream in = openFile(file, offset, length)) {
+            return put(bucket, key, in);
+        } catch (IOException e) {
+            throw new IllegalStateException("读取上传文件失败: " + file, e);
+        }
+    }
+
+    /**
+     * 初始化分片上传
+     *
+     * @return uploadId
+     */
+    public String initiateMultipartUpload() {
+        String uploadId = UUID.randomUUID().toString();
+        multipartUploads.put(uploadId, new ConcurrentHashMap<>());
+        return uploadId;
+    }
+
+    /**
+     * 写入分片：读取完整个分片输入流
+     *
+     * @param uploadId   分片上传ID
+     * @param partNumber 分片编号
+     * @param in         分片内容
+     * @return 分片的ETag
+     */
+    public String uploadPart(String uploadId, int partNumber, InputStream in) {
+        Map<Integer, Long> parts = multipartUploads.get(uploadId);
+        if (parts == null) {
+            throw new IllegalStateException("分片上传不存在: " + uploadId);
+        }
+        parts.put(partNumber, put(uploadId, String.valueOf(partNumber), in));
+        objects.remove(uploadId + '/' + partNumber);
+        return uploadId + '-' + partNumber;
+    }
+
+    /**
+     * 写入分片：读取文件中指定范围的内容
+     *
+     * @param uploadId   分片上传ID
+     * @param partNumber 分片编号
+     * @param file       文件
+     * @param offset     分片起始位置
+     * @param length     分片长度
+     * @return 分片的ETag
+     */
+    public String uploadPart(String uploadId, int partNumber, File file, long offset, long length) {
+        try (InputStream in = openFile(file, offset, length)) {
+            return uploadPart(uploadId, partNumber, in);
+        } catch (IOException e) {
+            throw new IllegalStateException("读取上传文件失败: " + file, e);
+        }
+    }
+
+    private static InputStream openFile(File file, long offset, long length) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        in.getChannel().position(offset);
+        return new FilterInputStream(in) {
+
+            private long remaining = length;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = super.read();
+                if (b >= 0) {
+                    remaining--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int n = super.read(b, off, (int) Math.min(len, remaining));
+                if (n > 0) {
+                    remaining -= n;
+                }
+                return n;
+            }
+        };
+    }
+
+    /**
+     * 完成分片上传，对象长度为所有分片长度之和
+     *
+     * @param bucket   存储桶
+     * @param key      对象键
+     * @param uploadId 分片上传ID
+     */
+    public void completeMultipartUpload(String bucket, String key, String uploadId) {
+        Map<Integer, Long> parts = multipartUploads.remove(uploadId);
+        if (parts == null) {
+            throw new IllegalStateException("分片上传不存在: " + uploadId);
+        }
+        objects.put(bucket + '/' + key, parts.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * 取消分片上传
+     *
+     * @param uploadId 分片上传ID
+     */
+    public void abortMultipartUpload(String uploadId) {
+        multipartUploads.remove(uploadId);
+    }
+
+    /**
+     * 读取对象
+     *
+     * @param bucket 存储桶
+     * @param key    对象键
+     * @return 对象内容，如果对象不存在则返回null
+     */
+    public InputStream get(String bucket, String key) {
+        Long length = objects.get(bucket + '/' + key);
+        return length == null ? null : new SyntheticInputStream(length);
+    }
+
+    /**
+     * 读取对象的部分内容
+     *
+     * @param bucket     存储桶
+     * @param key        对象键
+     * @param rangeStart 起始位置（包含）
+     * @param rangeEnd   结束位置（包含）
+     * @return 该范围的对象内容，如果对象不存在则返回null
+     */
+    public InputStream get(String bucket, String key, long rangeStart, long rangeEnd) {
+        Long length = objects.get(bucket + '/' + key);
+        if (length == null) {
+            return null;
+        }
+        long end = Math.min(rangeEnd, length - 1);
+        return new SyntheticInputStream(Math.max(end - rangeStart + 1, 0));
+    }
+
+    /**
+     * 删除对象
+     *
+     * @param bucket 存储桶
+     * @param key    对象键
+     */
+    public void delete(String bucket, String key) {
+        objects.remove(bucket + '/' + key);
+    }
+
+    public int size() {
+        return objects.size();
+    }
+}
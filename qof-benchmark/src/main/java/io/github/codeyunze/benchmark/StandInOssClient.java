@@ -0,0 +1,108 @@
+package io.github.codeyunze.benchmark;
+
+import com.aliyun.oss.ClientBuilderConfiguration;
+import com.aliyun.oss.OSSClient;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.common.auth.DefaultCredentialProvider;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadResult;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadResult;
+import com.aliyun.oss.model.OSSObject;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.PutObjectResult;
+import com.aliyun.oss.model.UploadPartRequest;
+import com.aliyun.oss.model.UploadPartResult;
+import com.aliyun.oss.model.VoidResult;
+
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * 阿里云OSS客户端的进程内替身
+ * <br>
+ * 继承真实的 {@link OSSClient}，只重写 OssQofClient 用到的对象读写、分片上传方法，
+ * 使基准测试可以覆盖 OssQofClient 的完整处理逻辑而不产生网络请求。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class StandInOssClient extends OSSClient {
+
+    private final StandInObjectStore store;
+
+    public StandInOssClient(StandInObjectStore store) {
+        super("oss-cn-hangzhou.aliyuncs.com",
+                new DefaultCredentialProvider("benchmark", "benchmark"),
+                new ClientBuilderConfiguration());
+        this.store = store;
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest putObjectRequest) {
+        File file = putObjectRequest.getFile();
+        if (file != null) {
+            store.put(putObjectRequest.getBucketName(), putObjectRequest.getKey(), file, 0, file.length());
+        } else {
+            store.put(putObjectRequest.getBucketName(), putObjectRequest.getKey(), putObjectRequest.getInputStream());
+        }
+        return new PutObjectResult();
+    }
+
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setUploadId(store.initiateMultipartUpload());
+        return result;
+    }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest request) {
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        result.setPartSize(request.getPartSize());
+        // 与SDK一致，只读取分片长度的内容
+        result.setETag(store.uploadPart(request.getUploadId(), request.getPartNumber(), request.buildPartialStream()));
+        return result;
+    }
+
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        store.completeMultipartUpload(request.getBucketName(), request.getKey(), request.getUploadId());
+        return new CompleteMultipartUploadResult();
+    }
+
+    @Override
+    public VoidResult abortMultipartUpload(AbortMultipartUploadRequest request) {
+        store.abortMultipartUpload(request.getUploadId());
+        return new VoidResult();
+    }
+
+    @Override
+    public OSSObject getObject(GetObjectRequest getObjectRequest) {
+        long[] range = getObjectRequest.getRange();
+        InputStream content = range == null
+                ? store.get(getObjectRequest.getBucketName(), getObjectRequest.getKey())
+                : store.get(getObjectRequest.getBucketName(), getObjectRequest.getKey(), range[0], range[1]);
+        if (content == null) {
+            throw new OSSException("The specified key does not exist.", "NoSuchKey", null, null, null, null, null);
+        }
+        OSSObject ossObject = new OSSObject();
+        ossObject.setBucketName(getObjectRequest.getBucketName());
+        ossObject.setKey(getObjectRequest.getKey());
+        ossObject.setObjectMetadata(new ObjectMetadata());
+        ossObject.setObjectContent(content);
+        return ossObject;
+    }
+
+    @Override
+    public VoidResult deleteObject(String bucketName, String key) {
+        store.delete(bucketName, key);
+        return new VoidResult();
+    }
+}
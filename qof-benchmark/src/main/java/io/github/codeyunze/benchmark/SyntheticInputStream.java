@@ -0,0 +1,76 @@
+package io.github.codeyunze.benchmark;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 基准测试用的合成文件流
+ * <br>
+ * 按指定长度即时生成内容，不占用堆内存，可用于模拟 1KB ~ 1GB 的文件。
+ * 文件头为 PDF 的 Magic Number，保证上传时能走完整的文件类型检测逻辑；
+ * 不支持 mark/reset，与 Web 容器提供的请求流行为一致。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class SyntheticInputStream extends InputStream {
+
+    /**
+     * 合成文件的声明类型
+     */
+    public static final String CONTENT_TYPE = "application/pdf";
+
+    private static final byte[] HEADER = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final long length;
+
+    private long position;
+
+    public SyntheticInputStream(long length) {
+        this.length = length;
+    }
+
+    @Override
+    public int read() {
+        if (position >= length) {
+            return -1;
+        }
+        return byteAt(position++) & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        long remaining = length - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int n = (int) Math.min(len, remaining);
+        for (int i = 0; i < n; i++) {
+            b[off + i] = byteAt(position + i);
+        }
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0, Math.min(n, length - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, length - position);
+    }
+
+    private static byte byteAt(long index) {
+        if (index < HEADER.length) {
+            return HEADER[(int) index];
+        }
+        return (byte) (index * 31 + 7);
+    }
+}
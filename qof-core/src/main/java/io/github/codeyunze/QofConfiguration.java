@@ -1,10 +1,25 @@
 package io.github.codeyunze;
 
+import io.github.codeyunze.core.QofClient;
+import io.github.codeyunze.core.QofExpiredSessionCleaner;
+import io.github.codeyunze.core.cache.QofContentCache;
+import io.github.codeyunze.core.cache.QofDiskCache;
+import io.github.codeyunze.core.concurrent.QofExecutors;
+import io.github.codeyunze.core.concurrent.TransferAdmissionController;
+import io.github.codeyunze.core.metrics.MicrometerQofMetricsRecorder;
+import io.github.codeyunze.core.metrics.QofContentCacheMetrics;
+import io.github.codeyunze.core.metrics.QofMetricsRecorder;
+import io.github.codeyunze.core.metrics.SlowOperationLogListener;
+import io.github.codeyunze.core.multipart.ParallelPartUploader;
 import io.github.codeyunze.service.FilesService;
 import io.github.codeyunze.service.QofExtService;
 import io.github.codeyunze.service.impl.AbstractQofServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -29,4 +44,126 @@ public class QofConfiguration {
             // 使用匿名内部类实现抽象类
         };
     }
+
+    /**
+     * COS/OSS 大文件分片并行上传使用的线程池
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(ParallelPartUploader.class)
+    public ParallelPartUploader parallelPartUploader(QofProperties qofProperties) {
+        return new ParallelPartUploader(qofProperties.getMultipart().getMaxThreads());
+    }
+
+    /**
+     * 批量上传、异步操作使用的线程池，每种存储模式独立
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(QofExecutors.class)
+    public QofExecutors qofExecutors(QofProperties qofProperties) {
+        return new QofExecutors(qofProperties.getExecutor());
+    }
+
+    /**
+     * 上传、下载的传输准入控制，未启用时不做任何限制
+     */
+    @Bean
+    @ConditionalOnMissingBean(TransferAdmissionController.class)
+    public TransferAdmissionController transferAdmissionController(QofProperties qofProperties) {
+        return new TransferAdmissionController(qofProperties.getAdmission());
+    }
+
+    /**
+     * 小文件内容的内存缓存，未启用时不缓存任何文件
+     */
+    @Bean
+    @ConditionalOnMissingBean(QofContentCache.class)
+    public QofContentCache qofContentCache(QofProperties qofProperties) {
+        return new QofContentCache(qofProperties.getContentCache());
+    }
+
+    /**
+     * 对象存储文件的本地磁盘缓存，未启用时不缓存任何文件
+     */
+    @Bean
+    @ConditionalOnMissingBean(QofDiskCache.class)
+    public QofDiskCache qofDiskCache(QofProperties qofProperties) {
+        return new QofDiskCache(qofProperties.getDiskCache());
+    }
+
+    /**
+     * 配置了清理间隔时，定期清理过期的直传会话
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "qofPresignedUploadCleaner")
+    @ConditionalOnProperty(prefix = "qof.presigned", name = "clean-interval")
+    public QofExpiredSessionCleaner qofPresignedUploadCleaner(ObjectProvider<QofClient> qofClients,
+                                                              QofProperties qofProperties) {
+        return new QofExpiredSessionCleaner("presigned", qofClients, qofProperties.getPresigned().getCleanInterval(),
+                QofClient::cleanExpiredPresignedUploads);
+    }
+
+    /**
+     * 配置了清理间隔时，定期清理过期的断点续传会话
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "qofChunkUploadCleaner")
+    @ConditionalOnProperty(prefix = "qof.chunk", name = "clean-interval")
+    public QofExpiredSessionCleaner qofChunkUploadCleaner(ObjectProvider<QofClient> qofClients,
+                                                          QofProperties qofProperties) {
+        return new QofExpiredSessionCleaner("chunk", qofClients, qofProperties.getChunk().getCleanInterval(),
+                QofClient::cleanExpiredChunkUploads);
+    }
+
+    /**
+     * 未引入 Micrometer 或未启用指标监控时，不记录任何指标
+     */
+    @Bean
+    @ConditionalOnMissingBean(QofMetricsRecorder.class)
+    public QofMetricsRecorder noopQofMetricsRecorder() {
+        return QofMetricsRecorder.NOOP;
+    }
+
+    /**
+     * 配置了慢操作阈值时，输出慢操作的各阶段耗时
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "qof.metrics", name = "slow-operation-threshold")
+    public SlowOperationLogListener slowOperationLogListener(QofProperties qofProperties) {
+        return new SlowOperationLogListener(qofProperties.getMetrics().getSlowOperationThreshold());
+    }
+
+    /**
+     * 项目中存在 Micrometer 时，使用 MeterRegistry 记录文件操作指标
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class QofMicrometerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(QofMetricsRecorder.class)
+        public QofMetricsRecorder qofMetricsRecorder(ObjectProvider<MeterRegistry> meterRegistries,
+                                                     QofProperties qofProperties) {
+            MeterRegistry meterRegistry = meterRegistries.getIfUnique();
+            if (meterRegistry == null || !qofProperties.getMetrics().isEnabled()) {
+                return QofMetricsRecorder.NOOP;
+            }
+            return new MicrometerQofMetricsRecorder(meterRegistry, qofProperties.getMetrics());
+        }
+
+        /**
+         * 启用小文件内存缓存时，记录缓存命中率等指标
+         */
+        @Bean
+        @ConditionalOnProperty(prefix = "qof.content-cache", name = "enabled", havingValue = "true")
+        public QofContentCacheMetrics qofContentCacheMetrics(QofContentCache qofContentCache,
+                                                             ObjectProvider<MeterRegistry> meterRegistries,
+                                                             QofProperties qofProperties) {
+            QofContentCacheMetrics contentCacheMetrics = new QofContentCacheMetrics(qofContentCache);
+            MeterRegistry meterRegistry = meterRegistries.getIfUnique();
+            if (meterRegistry != null && qofProperties.getMetrics().isEnabled()) {
+                contentCacheMetrics.bindTo(meterRegistry);
+            }
+            return contentCacheMetrics;
+        }
+    }
 }
@@ -52,4 +52,44 @@ public class QofConstant {
         String OSS = "oss";
         String minio = "minio";
     }
+
+    /**
+     * 断点续传会话状态
+     */
+    public interface ChunkUploadStatus {
+        /**
+         * 上传中
+         */
+        Integer UPLOADING = 0;
+        /**
+         * 已完成合并
+         */
+        Integer COMPLETED = 1;
+        /**
+         * 已取消
+         */
+        Integer ABORTED = 2;
+        /**
+         * 合并中，合并期间不能再上传分片或取消会话
+         */
+        Integer MERGING = 3;
+    }
+
+    /**
+     * 直传会话状态
+     */
+    public interface PresignedUploadStatus {
+        /**
+         * 等待客户端上传
+         */
+        Integer UPLOADING = 0;
+        /**
+         * 已确认
+         */
+        Integer COMPLETED = 1;
+        /**
+         * 已取消（上传的文件未通过校验）
+         */
+        Integer ABORTED = 2;
+    }
 }
@@ -3,8 +3,12 @@ package io.github.codeyunze;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文件配置属性
@@ -58,6 +62,63 @@ public class QofProperties {
      */
     private String previewAddress;
 
+    /**
+     * 指标监控配置
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * 分片上传配置
+     */
+    private Multipart multipart = new Multipart();
+
+    /**
+     * 断点续传配置
+     */
+    private Chunk chunk = new Chunk();
+
+    /**
+     * 文件去重配置
+     */
+    private Dedup dedup = new Dedup();
+
+    /**
+     * 存储压缩配置
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * 直传（预签名上传地址）配置
+     */
+    private Presigned presigned = new Presigned();
+
+    /**
+     * 各存储模式的文件操作线程池配置（批量上传、异步操作），key为存储模式(local、cos、oss)
+     * <br>
+     * 例如：qof.executor.cos.threads=16
+     */
+    private Map<String, TaskPool> executor = new HashMap<>();
+
+    /**
+     * 传输准入控制配置
+     */
+    private Admission admission = new Admission();
+
+    /**
+     * 下载、预览接口的HTTP缓存配置
+     */
+    private HttpCache httpCache = new HttpCache();
+
+    /**
+     * 小文件内存缓存配置
+     */
+    private ContentCache contentCache = new ContentCache();
+
+    /**
+     * 对象存储文件的本地磁盘缓存配置
+     */
+    private DiskCache diskCache = new DiskCache();
+
     public boolean isPersistentEnable() {
         return persistentEnable;
     }
@@ -105,4 +166,724 @@ public class QofProperties {
     public void setPreviewAddress(String previewAddress) {
         this.previewAddress = previewAddress;
     }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Multipart getMultipart() {
+        return multipart;
+    }
+
+    public void setMultipart(Multipart multipart) {
+        this.multipart = multipart;
+    }
+
+    public Chunk getChunk() {
+        return chunk;
+    }
+
+    public void setChunk(Chunk chunk) {
+        this.chunk = chunk;
+    }
+
+    public Dedup getDedup() {
+        return dedup;
+    }
+
+    public void setDedup(Dedup dedup) {
+        this.dedup = dedup;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public Presigned getPresigned() {
+        return presigned;
+    }
+
+    public void setPresigned(Presigned presigned) {
+        this.presigned = presigned;
+    }
+
+    public Map<String, TaskPool> getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Map<String, TaskPool> executor) {
+        this.executor = executor;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(Admission admission) {
+        this.admission = admission;
+    }
+
+    public HttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    public void setHttpCache(HttpCache httpCache) {
+        this.httpCache = httpCache;
+    }
+
+    public ContentCache getContentCache() {
+        return contentCache;
+    }
+
+    public void setContentCache(ContentCache contentCache) {
+        this.contentCache = contentCache;
+    }
+
+    public DiskCache getDiskCache() {
+        return diskCache;
+    }
+
+    public void setDiskCache(DiskCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * 指标监控配置
+     * <br>
+     * 仅在项目中存在 Micrometer 的 MeterRegistry（如引入了 spring-boot-starter-actuator）时生效
+     */
+    public static class Metrics {
+
+        /**
+         * 是否启用文件操作指标记录
+         * 默认值：true
+         */
+        private boolean enabled = true;
+
+        /**
+         * 是否发布百分位直方图（用于在监控系统中计算 p50/p95/p99 等）
+         * 默认值：true
+         */
+        private boolean percentileHistogram = true;
+
+        /**
+         * 直方图统计的最小耗时
+         * 默认值：100微秒
+         */
+        private Duration minimumExpectedValue = Duration.ofNanos(100_000);
+
+        /**
+         * 直方图统计的最大耗时
+         * 默认值：10分钟
+         */
+        private Duration maximumExpectedValue = Duration.ofMinutes(10);
+
+        /**
+         * 慢操作阈值，文件操作总耗时超过该值时输出各阶段耗时日志
+         * 默认不启用
+         */
+        private Duration slowOperationThreshold;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+
+        public Duration getMinimumExpectedValue() {
+            return minimumExpectedValue;
+        }
+
+        public void setMinimumExpectedValue(Duration minimumExpectedValue) {
+            this.minimumExpectedValue = minimumExpectedValue;
+        }
+
+        public Duration getMaximumExpectedValue() {
+            return maximumExpectedValue;
+        }
+
+        public void setMaximumExpectedValue(Duration maximumExpectedValue) {
+            this.maximumExpectedValue = maximumExpectedValue;
+        }
+
+        public Duration getSlowOperationThreshold() {
+            return slowOperationThreshold;
+        }
+
+        public void setSlowOperationThreshold(Duration slowOperationThreshold) {
+            this.slowOperationThreshold = slowOperationThreshold;
+        }
+    }
+
+    /**
+     * 分片上传配置
+     * <br>
+     * 分片上传阈值、分片大小等按存储站配置，见 qof.cos.multiple.* 和 qof.oss.multiple.*
+     */
+    public static class Multipart {
+
+        /**
+         * 分片上传线程池最大线程数，所有存储站共用
+         * 默认值：16
+         * 线程池繁忙时由上传请求所在线程自己上传分片
+         */
+        private int maxThreads = 16;
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+    }
+
+    /**
+     * 断点续传配置
+     * <br>
+     * 客户端按会话返回的分片大小切分文件，逐个上传分片，中断后可查询已上传的分片继续上传
+     */
+    public static class Chunk {
+
+        /**
+         * 分片大小（单位：字节）
+         * 默认值：5MB，不能小于1MB
+         * 文件过大导致分片数量超过10000时会自动调大
+         */
+        private long partSize = 5L * 1024 * 1024;
+
+        /**
+         * 会话有效期，从创建会话开始计算，过期后不能再上传分片或合并
+         * 默认值：24小时
+         */
+        private Duration expire = Duration.ofHours(24);
+
+        /**
+         * 清理过期断点续传会话的间隔，过期超过该间隔仍未合并的会话会被取消，并清理已上传的分片
+         * 默认值：null，不清理
+         */
+        private Duration cleanInterval;
+
+        public long getPartSize() {
+            return partSize;
+        }
+
+        public void setPartSize(long partSize) {
+            this.partSize = partSize;
+        }
+
+        public Duration getExpire() {
+            return expire;
+        }
+
+        public void setExpire(Duration expire) {
+            this.expire = expire;
+        }
+
+        public Duration getCleanInterval() {
+            return cleanInterval;
+        }
+
+        public void setCleanInterval(Duration cleanInterval) {
+            this.cleanInterval = cleanInterval;
+        }
+    }
+
+    /**
+     * 文件去重配置
+     * <br>
+     * 需要开启文件信息数据持久化，同一存储站中内容相同的文件共用同一存储对象
+     */
+    public static class Dedup {
+
+        /**
+         * 是否启用文件去重
+         * 默认值：false
+         * 启用后上传时计算文件内容的 SHA-256 摘要，内容已存在时删除本次写入的存储对象，新文件引用已有的存储对象
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * 存储压缩配置
+     * <br>
+     * 可压缩类型的文件（文本、CSV、JSON、XML等）压缩后再写入存储，下载时按需解压
+     */
+    public static class Compression {
+
+        /**
+         * 是否启用存储压缩
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 压缩的文件类型
+         */
+        private List<String> types = new ArrayList<>(Arrays.asList("text/plain", "text/csv", "text/xml",
+                "application/json", "application/xml", "application/x-ndjson"));
+
+        /**
+         * 文件大小达到该值才压缩（单位：字节），过小的文件压缩收益不足以抵消开销
+         * 默认值：1KB
+         */
+        private long minSize = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getTypes() {
+            return types;
+        }
+
+        public void setTypes(List<String> types) {
+            this.types = types;
+        }
+
+        public long getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(long minSize) {
+            this.minSize = minSize;
+        }
+    }
+
+    /**
+     * 直传配置
+     * <br>
+     * 客户端使用预签名的地址直接在对象存储（COS、OSS）上传、下载文件，文件内容不经过应用服务
+     */
+    public static class Presigned {
+
+        /**
+         * 上传地址有效期
+         * 默认值：15分钟
+         */
+        private Duration expire = Duration.ofMinutes(15);
+
+        /**
+         * 下载、预览时是否重定向到预签名的下载地址，文件内容由对象存储直接返回给客户端，不经过应用服务
+         * 默认值：false
+         * 仅对 COS、OSS 生效
+         */
+        private boolean downloadRedirect = false;
+
+        /**
+         * 下载地址有效期
+         * 默认值：5分钟
+         */
+        private Duration downloadExpire = Duration.ofMinutes(5);
+
+        /**
+         * 清理过期直传会话的间隔，上传地址过期超过该间隔仍未确认的会话会被取消，并删除已上传的文件
+         * 默认值：null，不清理
+         */
+        private Duration cleanInterval;
+
+        public Duration getExpire() {
+            return expire;
+        }
+
+        public void setExpire(Duration expire) {
+            this.expire = expire;
+        }
+
+        public boolean isDownloadRedirect() {
+            return downloadRedirect;
+        }
+
+        public void setDownloadRedirect(boolean downloadRedirect) {
+            this.downloadRedirect = downloadRedirect;
+        }
+
+        public Duration getDownloadExpire() {
+            return downloadExpire;
+        }
+
+        public void setDownloadExpire(Duration downloadExpire) {
+            this.downloadExpire = downloadExpire;
+        }
+
+        public Duration getCleanInterval() {
+            return cleanInterval;
+        }
+
+        public void setCleanInterval(Duration cleanInterval) {
+            this.cleanInterval = cleanInterval;
+        }
+    }
+
+    /**
+     * 文件操作线程池配置
+     */
+    public static class TaskPool {
+
+        /**
+         * 线程数
+         * 默认值：8
+         */
+        private int threads = 8;
+
+        /**
+         * 等待队列容量，队列已满时由调用线程自己执行
+         * 默认值：256
+         */
+        private int queueCapacity = 256;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * 传输准入控制配置
+     * <br>
+     * 限制同时进行的上传、下载数量和在途字节数（上传、下载中的文件大小之和），额度不足时新的传输在限定时间内排队等待，
+     * 超时或排队已满时直接拒绝，Web接口返回 503，避免突发的大文件传输同时耗尽内存和对象存储连接池
+     */
+    public static class Admission {
+
+        /**
+         * 是否启用传输准入控制
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 所有存储站同时进行的最大传输数量，0表示不限制
+         * 默认值：64
+         */
+        private int maxConcurrentTransfers = 64;
+
+        /**
+         * 所有存储站的最大在途字节数（单位：字节），0表示不限制
+         * 默认值：1GB
+         * 单个超过该值的文件只在没有其他传输时放行
+         */
+        private long maxInFlightBytes = 1024L * 1024 * 1024;
+
+        /**
+         * 额度不足时的最长排队时间，0表示不排队直接拒绝
+         * 默认值：0
+         */
+        private Duration maxWait = Duration.ZERO;
+
+        /**
+         * 最大排队数量，排队已满时直接拒绝
+         * 默认值：128
+         */
+        private int maxQueued = 128;
+
+        /**
+         * 拒绝时建议客户端重试的间隔，通过 Retry-After 响应头返回
+         * 默认值：1秒
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        /**
+         * 各存储站的额度，key为存储站名称，未配置的存储站只受全局额度限制
+         * <br>
+         * 例如：qof.admission.stations.archive.max-concurrent-transfers=4
+         */
+        private Map<String, AdmissionLimit> stations = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrentTransfers() {
+            return maxConcurrentTransfers;
+        }
+
+        public void setMaxConcurrentTransfers(int maxConcurrentTransfers) {
+            this.maxConcurrentTransfers = maxConcurrentTransfers;
+        }
+
+        public long getMaxInFlightBytes() {
+            return maxInFlightBytes;
+        }
+
+        public void setMaxInFlightBytes(long maxInFlightBytes) {
+            this.maxInFlightBytes = maxInFlightBytes;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public Map<String, AdmissionLimit> getStations() {
+            return stations;
+        }
+
+        public void setStations(Map<String, AdmissionLimit> stations) {
+            this.stations = stations;
+        }
+    }
+
+    /**
+     * 存储站的传输额度
+     */
+    public static class AdmissionLimit {
+
+        /**
+         * 同时进行的最大传输数量，0表示不限制
+         */
+        private int maxConcurrentTransfers;
+
+        /**
+         * 最大在途字节数（单位：字节），0表示不限制
+         */
+        private long maxInFlightBytes;
+
+        public int getMaxConcurrentTransfers() {
+            return maxConcurrentTransfers;
+        }
+
+        public void setMaxConcurrentTransfers(int maxConcurrentTransfers) {
+            this.maxConcurrentTransfers = maxConcurrentTransfers;
+        }
+
+        public long getMaxInFlightBytes() {
+            return maxInFlightBytes;
+        }
+
+        public void setMaxInFlightBytes(long maxInFlightBytes) {
+            this.maxInFlightBytes = maxInFlightBytes;
+        }
+    }
+
+    /**
+     * 下载、预览接口的HTTP缓存配置
+     * <br>
+     * 同一文件 Id 的内容不会变化，响应中返回 ETag 和 Last-Modified（文件创建时间），
+     * 客户端携带 If-None-Match 或 If-Modified-Since 且缓存仍然有效时直接返回 304，不读取存储
+     */
+    public static class HttpCache {
+
+        /**
+         * 公开文件的 Cache-Control 响应头，为空时不返回
+         * 默认值：public, max-age=31536000, immutable
+         * 文件删除后浏览器、CDN中的缓存在过期前仍可能被使用，需要时可缩短 max-age
+         */
+        private String publicCacheControl = "public, max-age=31536000, immutable";
+
+        /**
+         * 私有文件的 Cache-Control 响应头，为空时不返回
+         * 默认值：private, no-cache（只允许浏览器缓存，每次使用前需重新校验访问权限）
+         */
+        private String privateCacheControl = "private, no-cache";
+
+        public String getPublicCacheControl() {
+            return publicCacheControl;
+        }
+
+        public void setPublicCacheControl(String publicCacheControl) {
+            this.publicCacheControl = publicCacheControl;
+        }
+
+        public String getPrivateCacheControl() {
+            return privateCacheControl;
+        }
+
+        public void setPrivateCacheControl(String privateCacheControl) {
+            this.privateCacheControl = privateCacheControl;
+        }
+    }
+
+    /**
+     * 小文件内存缓存配置
+     * <br>
+     * 头像、缩略图、图标等频繁下载、预览的小文件直接从内存返回，不再每次读取存储
+     */
+    public static class ContentCache {
+
+        /**
+         * 是否启用内存缓存
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 可以缓存的单个文件大小上限（字节）
+         * 默认值：256KB
+         */
+        private long maxObjectSize = 256 * 1024L;
+
+        /**
+         * 缓存的总字节数上限，缓存内容保存在堆外内存中，需确保 -XX:MaxDirectMemorySize 足够
+         * 默认值：64MB
+         */
+        private long maxBytes = 64 * 1024 * 1024L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxObjectSize() {
+            return maxObjectSize;
+        }
+
+        public void setMaxObjectSize(long maxObjectSize) {
+            this.maxObjectSize = maxObjectSize;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    /**
+     * 对象存储文件的本地磁盘缓存配置
+     * <br>
+     * 重复下载的 COS、OSS 文件从本地磁盘读取，减少对象存储的访问延迟和流量费用
+     */
+    public static class DiskCache {
+
+        /**
+         * 是否启用磁盘缓存
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 缓存目录，建议使用本地SSD，不要与本地存储的目录相同，也不要与其他程序共用
+         * 启动时只恢复、清理目录中按缓存文件规则命名的文件，其他文件会被跳过
+         * 默认值：系统临时目录下的 qof-cache
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/qof-cache";
+
+        /**
+         * 缓存的总字节数上限
+         * 默认值：10GB
+         */
+        private long maxBytes = 10L * 1024 * 1024 * 1024;
+
+        /**
+         * 可以缓存的单个文件大小上限（字节）
+         * 默认值：1GB
+         */
+        private long maxObjectSize = 1024 * 1024 * 1024L;
+
+        /**
+         * 同一文件同时未命中时，其他请求等待缓存文件写入的最长时间，超时后读取失败
+         * 默认值：30秒
+         */
+        private Duration fillWaitTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public long getMaxObjectSize() {
+            return maxObjectSize;
+        }
+
+        public void setMaxObjectSize(long maxObjectSize) {
+            this.maxObjectSize = maxObjectSize;
+        }
+
+        public Duration getFillWaitTimeout() {
+            return fillWaitTimeout;
+        }
+
+        public void setFillWaitTimeout(Duration fillWaitTimeout) {
+            this.fillWaitTimeout = fillWaitTimeout;
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package io.github.codeyunze.bo;
+
+import java.io.Serializable;
+
+/**
+ * 断点续传已上传的分片信息
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofChunkPartBo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 分片序号，从1开始
+     */
+    private Integer partNumber;
+
+    /**
+     * 分片大小(单位byte字节)
+     */
+    private Long partSize;
+
+    /**
+     * 对象存储返回的分片 ETag，本地存储为空
+     */
+    private String etag;
+
+    public Integer getPartNumber() {
+        return partNumber;
+    }
+
+    public void setPartNumber(Integer partNumber) {
+        this.partNumber = partNumber;
+    }
+
+    public Long getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(Long partSize) {
+        this.partSize = partSize;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+}
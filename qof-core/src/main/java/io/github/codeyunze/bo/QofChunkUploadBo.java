@@ -0,0 +1,183 @@
+package io.github.codeyunze.bo;
+
+import cn.hutool.core.date.DatePattern;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.github.codeyunze.core.QofFileOperationBase;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 断点续传会话信息
+ * <br>
+ * 客户端中断后可根据已上传的分片继续上传剩余分片
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofChunkUploadBo extends QofFileOperationBase {
+
+    /**
+     * 断点续传会话 id
+     */
+    private Long uploadId;
+
+    /**
+     * 创建时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime createTime;
+
+    /**
+     * 文件名称
+     * <p>
+     * 例如： 靓图.png
+     */
+    private String fileName;
+
+    /**
+     * 文件类型
+     * <p>
+     * 例如： image/png
+     */
+    private String fileType;
+
+    /**
+     * 文件标签
+     */
+    private String fileLabel;
+
+    /**
+     * 文件大小(单位byte字节)
+     */
+    private Long fileSize;
+
+    /**
+     * 分片大小(单位byte字节)
+     * <br>
+     * 除最后一个分片外，每个分片都必须是该大小
+     */
+    private Long partSize;
+
+    /**
+     * 分片数量
+     */
+    private Integer partCount;
+
+    /**
+     * 对象存储的分片上传 uploadId（COS、OSS），本地存储为空
+     */
+    private String storageUploadId;
+
+    /**
+     * 会话状态 {@link io.github.codeyunze.QofConstant.ChunkUploadStatus}
+     */
+    private Integer status;
+
+    /**
+     * 会话过期时间，过期后仍未合并的会话会被清理
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime expireTime;
+
+    /**
+     * 已上传的分片，按分片序号升序
+     */
+    private List<QofChunkPartBo> uploadedParts;
+
+    public Long getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(Long uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public String getFileLabel() {
+        return fileLabel;
+    }
+
+    public void setFileLabel(String fileLabel) {
+        this.fileLabel = fileLabel;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(Long partSize) {
+        this.partSize = partSize;
+    }
+
+    public Integer getPartCount() {
+        return partCount;
+    }
+
+    public void setPartCount(Integer partCount) {
+        this.partCount = partCount;
+    }
+
+    public String getStorageUploadId() {
+        return storageUploadId;
+    }
+
+    public void setStorageUploadId(String storageUploadId) {
+        this.storageUploadId = storageUploadId;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpireTime() {
+        return expireTime;
+    }
+
+    public void setExpireTime(LocalDateTime expireTime) {
+        this.expireTime = expireTime;
+    }
+
+    public List<QofChunkPartBo> getUploadedParts() {
+        return uploadedParts;
+    }
+
+    public void setUploadedParts(List<QofChunkPartBo> uploadedParts) {
+        this.uploadedParts = uploadedParts;
+    }
+}
@@ -2,6 +2,7 @@ package io.github.codeyunze.bo;
 
 
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * 下载文件信息
@@ -23,6 +24,23 @@ public class QofFileDownloadBo extends QofFileInfoBo {
      */
     private InputStream inputStream;
 
+    /**
+     * 返回部分内容时的起始位置（包含），返回完整内容时为null
+     */
+    private Long rangeStart;
+
+    /**
+     * 返回部分内容时的结束位置（包含），返回完整内容时为null
+     */
+    private Long rangeEnd;
+
+    /**
+     * 文件内容对应的本地文件（绝对路径），仅当返回的内容与磁盘上的文件一致时不为null
+     * <br>
+     * Web层可以直接发送该文件，不再读取 inputStream，但仍需关闭 inputStream
+     */
+    private Path localFile;
+
     public InputStream getInputStream() {
         return inputStream;
     }
@@ -30,4 +48,37 @@ public class QofFileDownloadBo extends QofFileInfoBo {
     public void setInputStream(InputStream inputStream) {
         this.inputStream = inputStream;
     }
+
+    public Long getRangeStart() {
+        return rangeStart;
+    }
+
+    public void setRangeStart(Long rangeStart) {
+        this.rangeStart = rangeStart;
+    }
+
+    public Long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    public void setRangeEnd(Long rangeEnd) {
+        this.rangeEnd = rangeEnd;
+    }
+
+    public Path getLocalFile() {
+        return localFile;
+    }
+
+    public void setLocalFile(Path localFile) {
+        this.localFile = localFile;
+    }
+
+    /**
+     * 是否只包含文件的部分内容
+     *
+     * @return true: 部分内容；  false: 完整内容；
+     */
+    public boolean isPartial() {
+        return rangeStart != null;
+    }
 }
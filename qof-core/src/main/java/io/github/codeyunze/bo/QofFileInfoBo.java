@@ -49,6 +49,20 @@ public class QofFileInfoBo<T> extends QofFileOperationBase {
      */
     private Long fileSize = 0L;
 
+    /**
+     * 文件内容的 SHA-256 摘要（十六进制小写）
+     * <br>
+     * 开启去重（qof.dedup.enabled）后上传时计算，用于识别同一存储站中内容相同的文件
+     */
+    private String contentHash;
+
+    /**
+     * 存储对象的压缩编码，例如 gzip；为空表示存储的是原始内容
+     * <br>
+     * 开启存储压缩（qof.compression.enabled）后上传可压缩类型的文件时记录
+     */
+    private String contentEncoding;
+
     /**
      * 是否公开访问：1-公开，0-不公开
      */
@@ -112,6 +126,22 @@ public class QofFileInfoBo<T> extends QofFileOperationBase {
         this.fileSize = fileSize;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
     public Integer getPublicAccess() {
         return publicAccess;
     }
@@ -0,0 +1,157 @@
+package io.github.codeyunze.bo;
+
+import cn.hutool.core.date.DatePattern;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.github.codeyunze.core.QofFileOperationBase;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 直传会话信息
+ * <br>
+ * 客户端使用上传地址（HTTP PUT）将文件直接上传到对象存储，上传完成后确认，由服务端校验并保存文件信息
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofPresignedUploadBo extends QofFileOperationBase {
+
+    /**
+     * 直传会话 id
+     */
+    private Long uploadId;
+
+    /**
+     * 创建时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime createTime;
+
+    /**
+     * 文件名称
+     * <p>
+     * 例如： 靓图.png
+     */
+    private String fileName;
+
+    /**
+     * 文件类型
+     * <p>
+     * 例如： image/png
+     */
+    private String fileType;
+
+    /**
+     * 文件标签
+     */
+    private String fileLabel;
+
+    /**
+     * 文件大小(单位byte字节)，上传的文件大小必须与之一致
+     */
+    private Long fileSize;
+
+    /**
+     * 预签名的上传地址，仅创建会话时返回
+     */
+    private String uploadUrl;
+
+    /**
+     * 上传时必须携带的请求头，仅创建会话时返回
+     * <br>
+     * 这些请求头参与了签名，缺少或不一致时对象存储会拒绝上传
+     */
+    private Map<String, String> uploadHeaders;
+
+    /**
+     * 上传地址过期时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime expireTime;
+
+    /**
+     * 会话状态 {@link io.github.codeyunze.QofConstant.PresignedUploadStatus}
+     */
+    private Integer status;
+
+    public Long getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(Long uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public String getFileLabel() {
+        return fileLabel;
+    }
+
+    public void setFileLabel(String fileLabel) {
+        this.fileLabel = fileLabel;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+
+    public void setUploadUrl(String uploadUrl) {
+        this.uploadUrl = uploadUrl;
+    }
+
+    public Map<String, String> getUploadHeaders() {
+        return uploadHeaders;
+    }
+
+    public void setUploadHeaders(Map<String, String> uploadHeaders) {
+        this.uploadHeaders = uploadHeaders;
+    }
+
+    public LocalDateTime getExpireTime() {
+        return expireTime;
+    }
+
+    public void setExpireTime(LocalDateTime expireTime) {
+        this.expireTime = expireTime;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.codeyunze.bo;
+
+/**
+ * 存储对象的元数据
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofStorageObjectBo {
+
+    /**
+     * 对象大小(单位byte字节)
+     */
+    private long contentLength;
+
+    /**
+     * 对象的内容类型
+     */
+    private String contentType;
+
+    /**
+     * 对象的 ETag
+     */
+    private String eTag;
+
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+}
@@ -1,26 +1,77 @@
 package io.github.codeyunze.core;
 
+import cn.hutool.core.util.HexUtil;
 import cn.hutool.core.util.IdUtil;
 import io.github.codeyunze.QofConstant;
 import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.bo.QofChunkUploadBo;
 import io.github.codeyunze.bo.QofFileDownloadBo;
 import io.github.codeyunze.bo.QofFileInfoBo;
+import io.github.codeyunze.bo.QofPresignedUploadBo;
+import io.github.codeyunze.bo.QofStorageObjectBo;
+import io.github.codeyunze.core.cache.QofContentCache;
+import io.github.codeyunze.core.cache.QofDiskCache;
+import io.github.codeyunze.core.compression.StorageCompression;
+import io.github.codeyunze.core.concurrent.QofExecutors;
+import io.github.codeyunze.core.concurrent.TransferAdmissionController;
+import io.github.codeyunze.core.metrics.QofMetricsRecorder;
+import io.github.codeyunze.core.metrics.QofOperation;
+import io.github.codeyunze.core.metrics.QofOperationTimings;
+import io.github.codeyunze.core.metrics.QofPhase;
+import io.github.codeyunze.core.metrics.QofPhaseListener;
+import io.github.codeyunze.core.multipart.MultipartUploadPolicy;
 import io.github.codeyunze.core.validation.CoreFileValidationService;
+import io.github.codeyunze.dto.QofByteRange;
 import io.github.codeyunze.dto.QofFileInfoDto;
+import io.github.codeyunze.dto.QofUploadItem;
+import io.github.codeyunze.exception.DataNotExistException;
 import io.github.codeyunze.exception.FileAccessDeniedException;
+import io.github.codeyunze.exception.FileDownloadException;
 import io.github.codeyunze.exception.FileUploadException;
+import io.github.codeyunze.exception.RangeNotSatisfiableException;
 import io.github.codeyunze.exception.TypeNotSupportedException;
+import io.github.codeyunze.service.ChunkUploadService;
+import io.github.codeyunze.service.PresignedUploadService;
 import io.github.codeyunze.service.QofExtService;
+import io.github.codeyunze.utils.BoundedInputStream;
+import io.github.codeyunze.utils.ByteBufferInputStream;
+import io.github.codeyunze.utils.FileTypeDetector;
+import io.github.codeyunze.utils.HeaderPeekInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StringUtils;
 
 import javax.annotation.Resource;
-import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * QOF 客户端操作抽象接口
@@ -32,6 +83,21 @@ public abstract class AbstractQofClient implements QofClient {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractQofClient.class);
 
+    /**
+     * 文件去重使用的内容摘要算法
+     */
+    private static final String CONTENT_DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * 直传时参与签名的内容类型请求头
+     */
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+
+    /**
+     * 每次清理过期直传会话、断点续传会话的最大数量
+     */
+    private static final int SESSION_CLEAN_BATCH_SIZE = 100;
+
     private final QofExtService qofExtService;
 
     @Resource
@@ -40,10 +106,60 @@ public abstract class AbstractQofClient implements QofClient {
     @Resource
     private CoreFileValidationService coreFileValidationService;
 
+    @Resource
+    private QofMetricsRecorder qofMetricsRecorder;
+
+    @Resource
+    private QofExecutors qofExecutors;
+
+    @Resource
+    private TransferAdmissionController transferAdmissionController;
+
+    @Resource
+    private QofContentCache qofContentCache;
+
+    @Resource
+    private QofDiskCache qofDiskCache;
+
+    /**
+     * 断点续传会话持久化服务
+     */
+    private ChunkUploadService chunkUploadService;
+
+    /**
+     * 直传会话持久化服务
+     */
+    private PresignedUploadService presignedUploadService;
+
+    /**
+     * 文件操作分阶段耗时监听器
+     */
+    private QofPhaseListener[] qofPhaseListeners = new QofPhaseListener[0];
+
+    /**
+     * 根据类名推导的存储模式
+     */
+    private volatile String storageMode;
+
     public AbstractQofClient(QofExtService qofExtService) {
         this.qofExtService = qofExtService;
     }
 
+    @Autowired(required = false)
+    public void setChunkUploadService(ChunkUploadService chunkUploadService) {
+        this.chunkUploadService = chunkUploadService;
+    }
+
+    @Autowired(required = false)
+    public void setPresignedUploadService(PresignedUploadService presignedUploadService) {
+        this.presignedUploadService = presignedUploadService;
+    }
+
+    @Autowired(required = false)
+    public void setQofPhaseListeners(List<QofPhaseListener> qofPhaseListeners) {
+        this.qofPhaseListeners = qofPhaseListeners.toArray(new QofPhaseListener[0]);
+    }
+
 
     /**
      * 上传文件信息
@@ -54,155 +170,1622 @@ public abstract class AbstractQofClient implements QofClient {
      */
     @Override
     public Long upload(InputStream fis, QofFileInfoDto<?> info) {
-        log.debug("通用的上传前处理逻辑");
-
-        if (Objects.equals(info.getPublicAccess(), QofConstant.PRIVATE_ACCESS) && info.getCreateId() == null) {
-            throw new FileUploadException("私有文件必须指定文件所有者");
-        }
-        
-        // 为了支持Magic Number检测，需要将流包装为BufferedInputStream以支持mark/reset
-        // 这样无论从web还是第三方系统调用，都能执行完整的校验逻辑
-        InputStream validationStream = fis;
-        if (fis != null && !fis.markSupported()) {
-            validationStream = new BufferedInputStream(fis, 8192);
-            // 标记位置，以便Magic Number检测后可以重置
-            validationStream.mark(8192);
+        QofOperationTimings timings = QofOperationTimings.start(isTimingEnabled());
+        Throwable error = null;
+        try (TransferAdmissionController.Permit ignored = admit(info, info.getFileSize(), timings)) {
+            return upload(fis, info, timings);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            record(QofOperation.UPLOAD, info, timings, info.getFileSize(), error);
         }
-        
-        // 核心校验：无论从web还是第三方系统调用，都会执行相同的校验逻辑
-        // 包括：文件名安全性、文件大小、文件类型（Magic Number检测）
-        coreFileValidationService.validateBeforeUpload(validationStream, info);
-        
-        // 如果流被包装了，重置到开始位置以便后续上传使用
-        if (validationStream != fis && validationStream.markSupported()) {
+    }
+
+    private Long upload(InputStream fis, QofFileInfoDto<?> info, QofOperationTimings timings) {
+        store(fis, info, timings);
+        // 扩展-文件上传后操作
+        saveFileInfos(Collections.singletonList(info), () -> qofExtService.afterUpload(info), timings);
+        timings.mark(QofPhase.PERSISTENCE);
+        return info.getFileId();
+    }
+
+    /**
+     * 上传磁盘上已有的文件
+     * <br>
+     * 文件内容由存储客户端直接基于文件写入存储 {@link #doUploadFile(Path, QofFileInfoDto)}；
+     * 启用去重或需要压缩存储时，仍需要读取文件内容计算摘要、压缩，按输入流上传。
+     *
+     * @param source 上传的文件，上传后不会删除
+     * @param info   上传文件的基础信息
+     * @return 文件唯一 id
+     */
+    @Override
+    public Long upload(Path source, QofFileInfoDto<?> info) {
+        QofOperationTimings timings = QofOperationTimings.start(isTimingEnabled());
+        Throwable error = null;
+        try {
             try {
-                validationStream.reset();
-            } catch (Exception e) {
-                log.warn("重置流失败，将使用原始流: {}", e.getMessage());
-                validationStream = fis;
+                info.setFileSize(Files.size(source));
+            } catch (IOException e) {
+                log.error("读取上传文件失败，文件: {}", source, e);
+                throw new FileUploadException("文件上传失败，读取上传文件失败", e);
             }
+            try (TransferAdmissionController.Permit ignored = admit(info, info.getFileSize(), timings)) {
+                if (qofProperties.getDedup().isEnabled() || isCompressible(info)) {
+                    // 上传前的校验、扩展操作失败时也要关闭文件
+                    InputStream fis = openFile(source);
+                    try {
+                        return upload(fis, info, timings);
+                    } finally {
+                        closeQuietly(fis, source);
+                    }
+                }
+                storeFile(source, info, timings);
+                // 扩展-文件上传后操作
+                qofExtService.afterUpload(info);
+                timings.mark(QofPhase.PERSISTENCE);
+                return info.getFileId();
+            }
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            record(QofOperation.UPLOAD, info, timings, info.getFileSize(), error);
         }
-        
-        // 使用重置后的流进行上传（如果重置成功）或原始流
-        InputStream uploadStream = (validationStream != fis && validationStream.markSupported()) 
-                ? validationStream : fis;
-        
-        if (info.getFileId() == null) {
-            info.setFileId(IdUtil.getSnowflakeNextId());
-        }
-        
-        // 安全地提取文件后缀，防止文件名没有点号的情况
-        String suffix = "";
-        String fileName = info.getFileName();
-        if (fileName != null && fileName.contains(".")) {
-            int lastDotIndex = fileName.lastIndexOf(".");
-            if (lastDotIndex >= 0 && lastDotIndex < fileName.length() - 1) {
-                suffix = fileName.substring(lastDotIndex).toLowerCase();
+    }
+
+    /**
+     * 校验文件并基于文件写入存储，不保存文件信息
+     */
+    private void storeFile(Path source, QofFileInfoDto<?> info, QofOperationTimings timings) {
+        checkFileOwner(info);
+
+        // 核心校验：文件名安全性、文件大小
+        coreFileValidationService.validateFileInfo(info);
+        timings.mark(QofPhase.VALIDATION);
+
+        // 文件类型（Magic Number检测）只需要读取文件头
+        if (qofProperties.isEnableMagicNumberDetection() && info.getFileType() != null) {
+            try (InputStream header = new HeaderPeekInputStream(openFile(source), FileTypeDetector.HEADER_SIZE)) {
+                coreFileValidationService.validateFileContent(header, info);
+            } catch (IOException e) {
+                log.warn("关闭上传文件失败，文件: {}", source, e);
             }
         }
-        
-        String key = info.getDirectoryAddress() + "/" + info.getFileId() + suffix;
-        info.setFilePath(key);
+        timings.mark(QofPhase.TYPE_DETECTION);
+
+        assignFilePath(info);
+        info.setFileStorageMode(getStorageMode());
+        timings.mark(QofPhase.VALIDATION);
 
         // 扩展-文件上传前操作
         qofExtService.beforeUpload(info);
+        timings.mark(QofPhase.EXTENSION_HOOK);
         // 执行具体的文件上传操作
-        Long fileId = doUpload(uploadStream, info);
-        // 扩展-文件上传后操作
-        qofExtService.afterUpload(info);
-        return fileId;
+        doUploadFile(source, info);
+        timings.mark(QofPhase.STORAGE_IO);
+    }
+
+    private static InputStream openFile(Path source) {
+        try {
+            return new FileInputStream(source.toFile());
+        } catch (IOException e) {
+            log.error("读取上传文件失败，文件: {}", source, e);
+            throw new FileUploadException("文件上传失败，读取上传文件失败", e);
+        }
+    }
+
+    private static void closeQuietly(InputStream fis, Path source) {
+        try {
+            fis.close();
+        } catch (IOException e) {
+            log.warn("关闭上传文件失败，文件: {}", source, e);
+        }
     }
 
     /**
-     * 下载文件
+     * 批量上传文件
+     * <br>
+     * 文件内容在当前存储模式的线程池中并行写入存储，全部写入成功后一次性保存所有文件信息；
+     * 任意文件上传失败或文件信息保存失败时，删除本批次已写入的存储对象，并抛出第一个失败原因。
      *
-     * @param fileId 文件唯一 id
-     * @return 文件流数据
+     * @param items 上传的文件
+     * @return 文件唯一 id，与上传的文件顺序一致
      */
     @Override
-    public QofFileDownloadBo download(Long fileId) {
-        log.debug("通用的下载处理逻辑");
-        // 查询文件相关信息
-        QofFileInfoBo<?> fileBo = qofExtService.getFileInfoByFileId(fileId);
-        // 扩展-文件下载前操作
-        qofExtService.beforeDownload(fileBo);
-        // 执行具体的文件下载操作
-        QofFileDownloadBo fileDownloadBo = doDownload(fileBo);
-        // 扩展-文件下载后操作
-        qofExtService.afterDownload(fileBo);
-        return fileDownloadBo;
+    public List<Long> uploadBatch(List<QofUploadItem> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ThreadPoolExecutor executor = qofExecutors.getExecutor(getStorageMode());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(items.size());
+        for (QofUploadItem item : items) {
+            futures.add(CompletableFuture.runAsync(() -> storeBatchItem(item), executor));
+        }
+
+        // 等待所有文件结束，避免失败回滚时仍有文件在写入
+        Throwable failure = null;
+        List<QofFileInfoDto<?>> fileInfos = new ArrayList<>(items.size());
+        List<QofFileInfoDto<?>> storedInfos = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            QofFileInfoDto<?> info = items.get(i).getFileInfo();
+            fileInfos.add(info);
+            try {
+                futures.get(i).join();
+                storedInfos.add(info);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure == null) {
+            try {
+                // 扩展-文件上传后操作，一次性保存所有文件信息
+                saveFileInfos(fileInfos, () -> qofExtService.afterUploadBatch(fileInfos), QofOperationTimings.DISABLED);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure == null) {
+            List<Long> fileIds = new ArrayList<>(fileInfos.size());
+            for (QofFileInfoDto<?> info : fileInfos) {
+                fileIds.add(info.getFileId());
+            }
+            return fileIds;
+        }
+
+        log.warn("批量上传失败，删除本批次已写入的{}个存储对象: {}", storedInfos.size(), failure.getMessage());
+        for (QofFileInfoDto<?> info : storedInfos) {
+            deleteQuietly(info);
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new FileUploadException("批量上传失败: " + failure.getMessage(), failure);
     }
 
-    @Override
-    public QofFileDownloadBo preview(Long fileId) {
-        log.debug("通用的文件预览处理逻辑");
-        // 查询文件相关信息
-        QofFileInfoBo<?> fileBo = qofExtService.getFileInfoByFileId(fileId);
-        
-        // 检查文件类型是否为空
-        if (fileBo.getFileType() == null || fileBo.getFileType().trim().isEmpty()) {
-            throw new TypeNotSupportedException("文件类型为空，无法预览");
+    /**
+     * 批量上传中单个文件写入存储，不保存文件信息
+     */
+    private void storeBatchItem(QofUploadItem item) {
+        QofFileInfoDto<?> info = item.getFileInfo();
+        QofOperationTimings timings = QofOperationTimings.start(isTimingEnabled());
+        Throwable error = null;
+        try (TransferAdmissionController.Permit ignored = admit(info, info.getFileSize(), timings)) {
+            store(item.getInputStream(), info, timings);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            record(QofOperation.UPLOAD, info, timings, info.getFileSize(), error);
         }
-        
-        // 使用配置的预览支持类型列表
-        List<String> supportedTypes = qofProperties != null && qofProperties.getPreviewSupportedTypes() != null
-                ? qofProperties.getPreviewSupportedTypes()
-                : new ArrayList<>(Arrays.asList("image/png", "image/jpeg", "application/pdf"));
-        
-        String fileType = fileBo.getFileType().toLowerCase();
-        if (!supportedTypes.contains(fileType)) {
-            throw new TypeNotSupportedException("暂不支持[" + fileBo.getFileType() + "]文件的预览");
+    }
+
+    /**
+     * 删除存储对象，删除失败只记录日志
+     */
+    private void deleteQuietly(QofFileInfoDto<?> info) {
+        QofFileInfoBo<?> fileBo = new QofFileInfoBo<>();
+        BeanUtils.copyProperties(info, fileBo);
+        try {
+            if (!doDelete(fileBo)) {
+                log.warn("删除存储对象失败，文件路径: {}", info.getFilePath());
+            }
+        } catch (RuntimeException e) {
+            log.warn("删除存储对象失败，文件路径: {}", info.getFilePath(), e);
         }
-        // 执行具体的文件预览操作
-        return doDownload(fileBo);
     }
 
     /**
-     * 删除文件
+     * 校验文件并写入存储，不保存文件信息
      *
-     * @param fileId 删除文件的唯一 id
+     * @param fis     上传文件的输入流
+     * @param info    上传文件的基础信息
+     * @param timings 分阶段耗时
      */
-    @Override
-    public boolean delete(Long fileId) {
-        log.debug("通用的删除前处理逻辑");
-        QofFileInfoBo<?> fileBo = qofExtService.getFileInfoByFileId(fileId);
-        if (fileBo == null) {
-            return true;
+    private void store(InputStream fis, QofFileInfoDto<?> info, QofOperationTimings timings) {
+        log.debug("通用的上传前处理逻辑");
+
+        checkFileOwner(info);
+
+        // 核心校验：无论从web还是第三方系统调用，都会执行相同的校验逻辑
+        // 包括：文件名安全性、文件大小
+        coreFileValidationService.validateFileInfo(info);
+        timings.mark(QofPhase.VALIDATION);
+
+        // 文件类型（Magic Number检测）
+        InputStream uploadStream = validateFileContent(fis, info);
+        timings.mark(QofPhase.TYPE_DETECTION);
+
+        assignFilePath(info);
+        info.setFileStorageMode(getStorageMode());
+        timings.mark(QofPhase.VALIDATION);
+
+        // 启用去重时，上传过程中同步计算文件内容摘要
+        MessageDigest contentDigest = null;
+        if (qofProperties.getDedup().isEnabled()) {
+            contentDigest = newContentDigest();
+            uploadStream = new DigestInputStream(uploadStream, contentDigest) {
+                @Override
+                public boolean markSupported() {
+                    // 重置后重复读取的内容会被重复计入摘要
+                    return false;
+                }
+            };
+        }
+
+        // 扩展-文件上传前操作
+        qofExtService.beforeUpload(info);
+        timings.mark(QofPhase.EXTENSION_HOOK);
+        if (isCompressible(info)) {
+            uploadCompressed(uploadStream, info, timings);
+        } else {
+            // 执行具体的文件上传操作
+            doUpload(uploadStream, info);
+        }
+        timings.mark(QofPhase.STORAGE_IO);
+        if (contentDigest != null) {
+            info.setContentHash(HexUtil.encodeHexStr(contentDigest.digest()));
         }
-        // 有文件信息，但是没有删除成功
-        if (!qofExtService.beforeDelete(fileBo)) {
+    }
+
+    /**
+     * 启用存储压缩时，可压缩类型且达到最小压缩大小的文件需要压缩后存储
+     */
+    private boolean isCompressible(QofFileInfoDto<?> info) {
+        QofProperties.Compression compression = qofProperties.getCompression();
+        if (!compression.isEnabled() || info.getFileType() == null || info.getFileSize() < compression.getMinSize()) {
             return false;
         }
+        String fileType = info.getFileType().toLowerCase();
+        int parameterIndex = fileType.indexOf(';');
+        if (parameterIndex >= 0) {
+            // 去掉 charset 等参数，例如 text/plain;charset=UTF-8
+            fileType = fileType.substring(0, parameterIndex).trim();
+        }
+        return compression.getTypes().contains(fileType);
+    }
+
+    /**
+     * 压缩后写入存储
+     * <br>
+     * 写入存储时文件大小为压缩后的大小，写入完成后恢复为原始大小，文件信息中记录的始终是原始大小
+     */
+    private void uploadCompressed(InputStream uploadStream, QofFileInfoDto<?> info, QofOperationTimings timings) {
+        Path compressed;
+        try {
+            compressed = StorageCompression.gzipToTempFile(uploadStream, getBufferSize());
+        } catch (IOException e) {
+            log.error("文件压缩失败，文件路径: {}", info.getFilePath(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        timings.mark(QofPhase.COMPRESSION);
+
+        Long fileSize = info.getFileSize();
+        try {
+            info.setFileSize(Files.size(compressed));
+            info.setContentEncoding(StorageCompression.GZIP);
+            // 执行具体的文件上传操作
+            try (InputStream compressedStream = new FileInputStream(compressed.toFile())) {
+                doUpload(compressedStream, info);
+            }
+        } catch (IOException e) {
+            log.error("读取压缩文件失败，文件路径: {}", info.getFilePath(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        } finally {
+            info.setFileSize(fileSize);
+            try {
+                Files.deleteIfExists(compressed);
+            } catch (IOException e) {
+                log.warn("删除压缩临时文件失败: {}", compressed, e);
+            }
+        }
+    }
 
-        boolean delete = doDelete(fileBo);
+    protected int getBufferSize() {
+        return qofProperties.getBufferSize() > 0 ? qofProperties.getBufferSize() : 8192;
+    }
 
-        qofExtService.afterDelete(fileBo, delete);
+    /**
+     * 保存文件信息，同一存储站中已存在内容相同的文件时，引用已有的存储对象
+     * <br>
+     * 引用与删除通过存储对象的引用数互斥 {@link QofExtService#acquireStorageObject(QofFileOperationBase)}，
+     * 多个应用实例之间同样有效：引用成功后先保存引用它的文件信息，再删除本次写入的重复存储对象；
+     * 已有存储对象正在删除、引用失败时保留本次写入的存储对象，并登记其引用数
+     *
+     * @param infos   已写入存储的文件信息
+     * @param save    保存文件信息
+     * @param timings 分阶段耗时
+     */
+    private void saveFileInfos(List<QofFileInfoDto<?>> infos, Runnable save, QofOperationTimings timings) {
+        if (!qofProperties.getDedup().isEnabled()) {
+            save.run();
+            return;
+        }
+        // 引用已有存储对象的文件信息，以及本次写入的重复存储对象
+        Map<QofFileInfoDto<?>, QofFileInfoBo<?>> duplicates = new IdentityHashMap<>();
+        Map<QofFileInfoDto<?>, QofFileInfoBo<?>> existings = new IdentityHashMap<>();
+        // 登记了引用数的新存储对象
+        List<QofFileInfoDto<?>> registered = new ArrayList<>();
+        try {
+            for (QofFileInfoDto<?> info : infos) {
+                if (info.getContentHash() == null) {
+                    continue;
+                }
+                QofFileInfoBo<?> existing = findDuplicate(info);
+                if (existing != null && qofExtService.acquireStorageObject(existing)) {
+                    QofFileInfoBo<?> duplicate = new QofFileInfoBo<>();
+                    BeanUtils.copyProperties(info, duplicate);
+                    duplicates.put(info, duplicate);
+                    existings.put(info, existing);
+                    info.setFilePath(existing.getFilePath());
+                    info.setContentEncoding(existing.getContentEncoding());
+                } else {
+                    qofExtService.registerStorageObject(info);
+                    registered.add(info);
+                }
+            }
+            timings.mark(QofPhase.METADATA_LOOKUP);
+            save.run();
+        } catch (RuntimeException | Error e) {
+            // 文件信息保存失败，释放引用，恢复为本次写入的存储对象，由调用方清理
+            for (Map.Entry<QofFileInfoDto<?>, QofFileInfoBo<?>> entry : duplicates.entrySet()) {
+                releaseQuietly(existings.get(entry.getKey()));
+                entry.getKey().setFilePath(entry.getValue().getFilePath());
+                entry.getKey().setContentEncoding(entry.getValue().getContentEncoding());
+            }
+            for (QofFileInfoDto<?> info : registered) {
+                try {
+                    qofExtService.releaseStorageObject(info);
+                } catch (RuntimeException releaseError) {
+                    log.warn("释放存储对象引用失败，文件路径: {}", info.getFilePath(), releaseError);
+                }
+            }
+            throw e;
+        }
 
-        return delete;
+        for (Map.Entry<QofFileInfoDto<?>, QofFileInfoBo<?>> entry : duplicates.entrySet()) {
+            log.debug("文件内容已存在，引用已有的存储对象: {}", entry.getKey().getFilePath());
+            deleteDuplicate(entry.getValue());
+        }
     }
 
+    /**
+     * 释放已有存储对象的引用，已没有引用时删除存储对象，失败只记录日志
+     */
+    private void releaseQuietly(QofFileInfoBo<?> storageObject) {
+        try {
+            if (qofExtService.releaseStorageObject(storageObject) == 0 && !doDelete(storageObject)) {
+                log.warn("删除存储对象失败，文件路径: {}", storageObject.getFilePath());
+            }
+        } catch (RuntimeException e) {
+            log.warn("释放存储对象引用失败，文件路径: {}", storageObject.getFilePath(), e);
+        }
+    }
 
     /**
-     * 具体执行-上传文件信息
+     * 查找同一存储站中内容相同的已有文件，不存在时返回null
+     */
+    private QofFileInfoBo<?> findDuplicate(QofFileInfoDto<?> info) {
+        QofFileInfoBo<?> existing = qofExtService.getFileInfoByContentHash(getStorageMode(),
+                info.getFileStorageStation(), info.getContentHash());
+        if (existing == null || Objects.equals(existing.getFilePath(), info.getFilePath())) {
+            return null;
+        }
+        return existing;
+    }
+
+    /**
+     * 删除去重后不再使用的存储对象，删除失败只记录日志，残留的存储对象不会被任何文件引用
+     */
+    private void deleteDuplicate(QofFileInfoBo<?> duplicate) {
+        try {
+            if (!doDelete(duplicate)) {
+                log.warn("删除重复的存储对象失败，文件路径: {}", duplicate.getFilePath());
+            }
+        } catch (RuntimeException e) {
+            log.warn("删除重复的存储对象失败，文件路径: {}", duplicate.getFilePath(), e);
+        }
+    }
+
+    /**
+     * 私有文件必须指定文件所有者
+     */
+    private void checkFileOwner(QofFileInfoDto<?> info) {
+        if (Objects.equals(info.getPublicAccess(), QofConstant.PRIVATE_ACCESS) && info.getCreateId() == null) {
+            throw new FileUploadException("私有文件必须指定文件所有者");
+        }
+    }
+
+    /**
+     * 校验文件类型（Magic Number检测）
      *
      * @param fis  上传文件的输入流
      * @param info 上传文件的基础信息
-     * @return 文件唯一 id
+     * @return 后续上传使用的输入流
      */
-    protected abstract Long doUpload(InputStream fis, QofFileInfoDto<?> info);
+    private InputStream validateFileContent(InputStream fis, QofFileInfoDto<?> info) {
+        if (!qofProperties.isEnableMagicNumberDetection() || info.getFileType() == null) {
+            // 不做检测时不包装输入流，保留原始的文件流以便存储时直接复制
+            return fis;
+        }
+
+        // Magic Number检测需要读取文件头后重置，不支持mark/reset的流只缓存文件头，检测后原样回放，
+        // 之后直接读取原始流，这样无论从web还是第三方系统调用，都能执行完整的校验逻辑
+        if (fis == null || fis.markSupported()) {
+            coreFileValidationService.validateFileContent(fis, info);
+            return fis;
+        }
+        HeaderPeekInputStream validationStream = new HeaderPeekInputStream(fis, FileTypeDetector.HEADER_SIZE);
+        coreFileValidationService.validateFileContent(validationStream, info);
+        // 检测完成后流已重置到开始位置，可直接用于后续上传
+        validationStream.stopPeeking();
+        return validationStream;
+    }
 
     /**
-     * 具体执行-下载文件
+     * 生成文件唯一 id 和文件存储路径
+     */
+    private void assignFilePath(QofFileInfoDto<?> info) {
+        if (info.getFileId() == null) {
+            info.setFileId(IdUtil.getSnowflakeNextId());
+        }
+        
+        // 安全地提取文件后缀，防止文件名没有点号的情况
+        String suffix = "";
+        String fileName = info.getFileName();
+        if (fileName != null && fileName.contains(".")) {
+            int lastDotIndex = fileName.lastIndexOf(".");
+            if (lastDotIndex >= 0 && lastDotIndex < fileName.length() - 1) {
+                suffix = fileName.substring(lastDotIndex).toLowerCase();
+            }
+        }
+        
+        info.setFilePath(buildFilePath(info.getDirectoryAddress(), info.getFileId(), suffix));
+    }
+
+    /**
+     * 生成文件存储路径，格式为：文件目录/文件id.后缀
      *
-     * @param fileBo 文件信息
+     * @param directoryAddress 文件目录
+     * @param fileId           文件唯一 id
+     * @param suffix           文件后缀（含点号，可能为空字符串）
+     * @return 文件存储路径
+     */
+    protected String buildFilePath(String directoryAddress, Long fileId, String suffix) {
+        return directoryAddress + "/" + fileId + suffix;
+    }
+
+    /**
+     * 下载文件
+     *
+     * @param fileId 文件唯一 id
      * @return 文件流数据
      */
-    protected abstract QofFileDownloadBo doDownload(QofFileInfoBo<?> fileBo);
+    @Override
+    public QofFileDownloadBo download(Long fileId) {
+        return download(fileId, null);
+    }
 
     /**
-     * 具体执行-删除文件
+     * 下载文件
+     * <br>
+     * 存储对象经过压缩时，客户端接受该压缩编码则直接返回压缩后的内容，否则边读取边解压
      *
-     * @param fileBo 删除文件的唯一 id
+     * @param fileId         文件唯一 id
+     * @param acceptEncoding 客户端接受的压缩编码，格式与 HTTP Accept-Encoding 请求头一致
+     * @return 文件流数据，返回压缩后的内容时 contentEncoding 不为空
      */
-    protected abstract boolean doDelete(QofFileInfoBo<?> fileBo);
+    @Override
+    public QofFileDownloadBo download(Long fileId, String acceptEncoding) {
+        return download(fileId, acceptEncoding, null);
+    }
+
+    /**
+     * 下载文件的部分内容
+     * <br>
+     * 压缩存储的文件无法按原始内容的位置读取，忽略字节范围，返回完整内容
+     *
+     * @param fileId         文件唯一 id
+     * @param acceptEncoding 客户端接受的压缩编码，格式与 HTTP Accept-Encoding 请求头一致
+     * @param range          字节范围，为null时返回完整内容
+     * @return 文件流数据
+     */
+    @Override
+    public QofFileDownloadBo download(Long fileId, String acceptEncoding, QofByteRange range) {
+        log.debug("通用的下载处理逻辑");
+        QofOperationTimings timings = QofOperationTimings.start(isTimingEnabled());
+        QofFileInfoBo<?> fileBo = null;
+        QofFileDownloadBo fileDownloadBo = null;
+        Throwable error = null;
+        try {
+            // 查询文件相关信息
+            fileBo = qofExtService.getFileInfoByFileId(fileId);
+            timings.mark(QofPhase.METADATA_LOOKUP);
+            // 扩展-文件下载前操作
+            qofExtService.beforeDownload(fileBo);
+            timings.mark(QofPhase.EXTENSION_HOOK);
+            // 执行具体的文件下载操作
+            fileDownloadBo = admittedDownload(fileBo, range, timings);
+            decodeContent(fileDownloadBo, acceptEncoding);
+            timings.mark(QofPhase.COMPRESSION);
+            // 扩展-文件下载后操作
+            qofExtService.afterDownload(fileBo);
+            timings.mark(QofPhase.EXTENSION_HOOK);
+            return fileDownloadBo;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            record(QofOperation.DOWNLOAD, fileBo, timings, transferredBytes(fileBo, fileDownloadBo), error);
+        }
+    }
+
+    @Override
+    public QofFileDownloadBo preview(Long fileId) {
+        return preview(fileId, null);
+    }
+
+    /**
+     * 预览文件的部分内容
+     * <br>
+     * 压缩存储的文件无法按原始内容的位置读取，忽略字节范围，返回完整内容
+     *
+     * @param fileId 文件唯一 id
+     * @param range  字节范围，为null时返回完整内容
+     * @return 文件流数据
+     */
+    @Override
+    public QofFileDownloadBo preview(Long fileId, QofByteRange range) {
+        log.debug("通用的文件预览处理逻辑");
+        QofOperationTimings timings = QofOperationTimings.start(isTimingEnabled());
+        QofFileInfoBo<?> fileBo = null;
+        QofFileDownloadBo fileDownloadBo = null;
+        Throwable error = null;
+        try {
+            // 查询文件相关信息
+            fileBo = qofExtService.getFileInfoByFileId(fileId);
+            timings.mark(QofPhase.METADATA_LOOKUP);
+            fileDownloadBo = preview(fileBo, range, timings);
+            return fileDownloadBo;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            record(QofOperation.PREVIEW, fileBo, timings, transferredBytes(fileBo, fileDownloadBo), error);
+        }
+    }
+
+    private QofFileDownloadBo preview(QofFileInfoBo<?> fileBo, QofByteRange range, QofOperationTimings timings) {
+        checkPreviewSupported(fileBo);
+        timings.mark(QofPhase.VALIDATION);
+        // 执行具体的文件预览操作
+        QofFileDownloadBo fileDownloadBo = admittedDownload(fileBo, range, timings);
+        decodeContent(fileDownloadBo, null);
+        timings.mark(QofPhase.COMPRESSION);
+        return fileDownloadBo;
+    }
+
+    /**
+     * 下载、预览实际传输的字节数，返回部分内容时为范围的长度
+     */
+    private static Long transferredBytes(QofFileInfoBo<?> fileBo, QofFileDownloadBo fileDownloadBo) {
+        if (fileDownloadBo != null && fileDownloadBo.isPartial()) {
+            return fileDownloadBo.getRangeEnd() - fileDownloadBo.getRangeStart() + 1;
+        }
+        return fileBo == null ? 0L : fileBo.getFileSize();
+    }
+
+    /**
+     * 申请传输额度后读取存储对象，额度在文件流关闭时释放
+     *
+     * @param fileBo  文件信息
+     * @param range   字节范围，为null或文件为压缩存储时读取完整内容
+     * @param timings 分阶段耗时
+     * @return 文件流数据
+     */
+    private QofFileDownloadBo admittedDownload(QofFileInfoBo<?> fileBo, QofByteRange range, QofOperationTimings timings) {
+        long fileSize = fileBo.getFileSize() == null ? 0L : fileBo.getFileSize();
+        QofByteRange effectiveRange = effectiveRange(range, fileSize, fileBo.getContentEncoding());
+        boolean partial = effectiveRange != null;
+        long rangeStart = partial ? effectiveRange.getStart(fileSize) : 0;
+        long rangeEnd = partial ? effectiveRange.getEnd(fileSize) : fileSize - 1;
+
+        QofFileDownloadBo cachedDownloadBo = cachedDownload(fileBo, partial, rangeStart, rangeEnd, timings);
+        if (cachedDownloadBo != null) {
+            return cachedDownloadBo;
+        }
+
+        TransferAdmissionController.Permit permit = admit(fileBo, rangeEnd - rangeStart + 1, timings);
+        try {
+            QofFileDownloadBo fileDownloadBo = partial
+                    ? readObjectRange(fileBo, rangeStart, rangeEnd)
+                    : readObject(fileBo);
+            timings.mark(QofPhase.STORAGE_IO);
+            if (partial) {
+                fileDownloadBo.setRangeStart(rangeStart);
+                fileDownloadBo.setRangeEnd(rangeEnd);
+            }
+            if (permit != TransferAdmissionController.Permit.NONE) {
+                // 未启用准入控制时不包装，保留存储客户端返回的原始文件流
+                fileDownloadBo.setInputStream(new AdmittedInputStream(fileDownloadBo.getInputStream(), permit));
+            }
+            return fileDownloadBo;
+        } catch (RuntimeException | Error e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 确定实际读取的字节范围
+     * <br>
+     * 压缩存储的文件中的位置与原始内容不对应，忽略字节范围，只能返回完整内容
+     *
+     * @param range           请求的字节范围，为null时读取完整内容
+     * @param fileSize        文件大小
+     * @param contentEncoding 存储对象压缩编码
+     * @return 起止位置已确定的字节范围，读取完整内容时为null
+     * @throws RangeNotSatisfiableException 字节范围超出文件内容
+     */
+    static QofByteRange effectiveRange(QofByteRange range, long fileSize, String contentEncoding) {
+        if (range == null || StringUtils.hasText(contentEncoding)) {
+            return null;
+        }
+        if (!range.isSatisfiable(fileSize)) {
+            throw new RangeNotSatisfiableException("请求的范围[" + range + "]超出文件大小" + fileSize + "字节", fileSize);
+        }
+        return QofByteRange.of(range.getStart(fileSize), range.getEnd(fileSize));
+    }
+
+    /**
+     * 从内存缓存返回小文件的内容，内容在内存中，不需要申请传输额度
+     * <br>
+     * 未缓存但该文件可以放入缓存时，读取完整内容放入缓存后返回
+     *
+     * @return 文件流数据，不使用缓存时为null
+     */
+    private QofFileDownloadBo cachedDownload(QofFileInfoBo<?> fileBo, boolean partial, long rangeStart, long rangeEnd,
+                                             QofOperationTimings timings) {
+        long fileSize = fileBo.getFileSize() == null ? 0L : fileBo.getFileSize();
+        if (!isContentCacheable() || !qofContentCache.isCacheable(fileSize)) {
+            return null;
+        }
+        ByteBuffer content = qofContentCache.get(fileBo.getFileId());
+        timings.mark(QofPhase.CONTENT_CACHE);
+        if (content == null) {
+            if (!qofContentCache.admits(fileBo.getFileId(), fileSize)) {
+                return null;
+            }
+            content = loadContent(fileBo, (int) fileSize, timings);
+            if (content == null) {
+                return null;
+            }
+            qofContentCache.put(fileBo.getFileId(), content);
+            content = content.asReadOnlyBuffer();
+        }
+        if (partial) {
+            content.limit((int) rangeEnd + 1);
+            content.position((int) rangeStart);
+        }
+
+        QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
+        BeanUtils.copyProperties(fileBo, fileDownloadBo);
+        fileDownloadBo.setInputStream(new ByteBufferInputStream(content));
+        if (partial) {
+            fileDownloadBo.setRangeStart(rangeStart);
+            fileDownloadBo.setRangeEnd(rangeEnd);
+        }
+        return fileDownloadBo;
+    }
+
+    /**
+     * 将存储对象的完整内容读入堆外内存
+     * <br>
+     * 文件信息中记录的是原始大小，压缩存储的文件以原始大小作为读取上限，读取完成后按实际大小保存
+     *
+     * @return 文件内容，实际大小与文件信息不一致时为null
+     */
+    private ByteBuffer loadContent(QofFileInfoBo<?> fileBo, int fileSize, QofOperationTimings timings) {
+        boolean encoded = StringUtils.hasText(fileBo.getContentEncoding());
+        ByteBuffer content = ByteBuffer.allocateDirect(fileSize);
+        try (TransferAdmissionController.Permit permit = admit(fileBo, (long) fileSize, timings);
+             InputStream inputStream = readObject(fileBo).getInputStream()) {
+            ReadableByteChannel channel = Channels.newChannel(inputStream);
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // 读取到缓冲区已满或文件结束
+            }
+            boolean ended = content.hasRemaining() || inputStream.read() < 0;
+            boolean complete = encoded ? ended : !content.hasRemaining() && ended;
+            timings.mark(QofPhase.STORAGE_IO);
+            if (!complete) {
+                log.warn("文件实际大小与文件信息不一致，不放入内存缓存，文件路径: {}", fileBo.getFilePath());
+                return null;
+            }
+        } catch (IOException e) {
+            log.error("文件读取失败，文件路径: {}", fileBo.getFilePath(), e);
+            throw new FileDownloadException("文件下载失败，请稍后重试", e);
+        }
+        content.flip();
+        if (content.remaining() < fileSize) {
+            // 压缩后的内容小于原始大小，复制到实际大小的缓冲区，不占用多余的内存
+            ByteBuffer compacted = ByteBuffer.allocateDirect(content.remaining());
+            compacted.put(content);
+            compacted.flip();
+            return compacted;
+        }
+        return content;
+    }
+
+    /**
+     * 读取存储对象的完整内容，启用磁盘缓存时优先读取缓存文件，未缓存时读取的同时写入缓存文件
+     */
+    private QofFileDownloadBo readObject(QofFileInfoBo<?> fileBo) {
+        long fileSize = fileBo.getFileSize() == null ? 0L : fileBo.getFileSize();
+        if (!isDiskCacheable(fileBo, fileSize)) {
+            return doDownload(fileBo);
+        }
+        InputStream inputStream = qofDiskCache.open(fileBo.getFileId(), fileSize, () -> doDownload(fileBo).getInputStream());
+        QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
+        BeanUtils.copyProperties(fileBo, fileDownloadBo);
+        fileDownloadBo.setInputStream(inputStream);
+        return fileDownloadBo;
+    }
+
+    /**
+     * 读取存储对象的部分内容，已缓存到磁盘时读取缓存文件，未缓存时只按范围读取存储对象，不写入缓存
+     */
+    private QofFileDownloadBo readObjectRange(QofFileInfoBo<?> fileBo, long rangeStart, long rangeEnd) {
+        long fileSize = fileBo.getFileSize() == null ? 0L : fileBo.getFileSize();
+        InputStream inputStream = isDiskCacheable(fileBo, fileSize)
+                ? qofDiskCache.openCached(fileBo.getFileId(), rangeStart, rangeEnd) : null;
+        if (inputStream == null) {
+            return doDownloadRange(fileBo, rangeStart, rangeEnd);
+        }
+        QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
+        BeanUtils.copyProperties(fileBo, fileDownloadBo);
+        fileDownloadBo.setInputStream(inputStream);
+        return fileDownloadBo;
+    }
+
+    /**
+     * 是否可以使用磁盘缓存
+     * <br>
+     * 压缩存储的文件只记录了原始大小，无法校验缓存文件是否完整，不使用磁盘缓存
+     */
+    private boolean isDiskCacheable(QofFileInfoBo<?> fileBo, long fileSize) {
+        return isContentCacheable() && !StringUtils.hasText(fileBo.getContentEncoding())
+                && qofDiskCache.isCacheable(fileSize);
+    }
+
+    /**
+     * 校验文件类型是否支持预览
+     */
+    private void checkPreviewSupported(QofFileInfoBo<?> fileBo) {
+        // 检查文件类型是否为空
+        if (fileBo.getFileType() == null || fileBo.getFileType().trim().isEmpty()) {
+            throw new TypeNotSupportedException("文件类型为空，无法预览");
+        }
+        
+        // 使用配置的预览支持类型列表
+        List<String> supportedTypes = qofProperties != null && qofProperties.getPreviewSupportedTypes() != null
+                ? qofProperties.getPreviewSupportedTypes()
+                : new ArrayList<>(Arrays.asList("image/png", "image/jpeg", "application/pdf"));
+        
+        String fileType = fileBo.getFileType().toLowerCase();
+        if (!supportedTypes.contains(fileType)) {
+            throw new TypeNotSupportedException("暂不支持[" + fileBo.getFileType() + "]文件的预览");
+        }
+    }
+
+    /**
+     * 客户端不接受存储对象的压缩编码时，替换为边读取边解压的输入流
+     */
+    private void decodeContent(QofFileDownloadBo fileDownloadBo, String acceptEncoding) {
+        String contentEncoding = fileDownloadBo.getContentEncoding();
+        if (!StringUtils.hasText(contentEncoding) || StorageCompression.isAccepted(acceptEncoding, contentEncoding)) {
+            return;
+        }
+        InputStream inputStream = fileDownloadBo.getInputStream();
+        try {
+            fileDownloadBo.setInputStream(StorageCompression.decompress(inputStream, contentEncoding, getBufferSize()));
+            fileDownloadBo.setContentEncoding(null);
+            // 解压后的内容与磁盘上的文件不再一致
+            fileDownloadBo.setLocalFile(null);
+        } catch (IOException e) {
+            try {
+                inputStream.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            log.error("文件解压失败，文件路径: {}", fileDownloadBo.getFilePath(), e);
+            throw new FileDownloadException("文件下载失败，请稍后重试", e);
+        }
+    }
+
+    /**
+     * 生成预签名的下载地址
+     * <br>
+     * 与下载、预览一致，会执行下载前后的扩展操作；预览时同样校验文件类型是否支持预览。
+     * 压缩存储的文件通过响应头声明压缩编码，由浏览器解压
+     */
+    @Override
+    public String presignDownload(Long fileId, boolean inline) {
+        if (!qofProperties.getPresigned().isDownloadRedirect()) {
+            return null;
+        }
+        QofFileInfoBo<?> fileBo = qofExtService.getFileInfoByFileId(fileId);
+        if (inline) {
+            checkPreviewSupported(fileBo);
+        }
+        // 扩展-文件下载前操作
+        qofExtService.beforeDownload(fileBo);
+        String contentDisposition = buildContentDisposition(fileBo.getFileName(), inline);
+        LocalDateTime expireTime = LocalDateTime.now().plus(qofProperties.getPresigned().getDownloadExpire());
+        String url = doPresignDownload(fileBo, contentDisposition, expireTime);
+        if (url != null) {
+            // 扩展-文件下载后操作
+            qofExtService.afterDownload(fileBo);
+        }
+        return url;
+    }
+
+    private static String buildContentDisposition(String fileName, boolean inline) {
+        String encodedFileName;
+        try {
+            encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8.name()).replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            encodedFileName = fileName;
+        }
+        return (inline ? "inline" : "attachment") + ";filename=\"" + encodedFileName + "\";filename*=UTF-8''" + encodedFileName;
+    }
+
+    /**
+     * 删除文件
+     *
+     * @param fileId 删除文件的唯一 id
+     */
+    @Override
+    public boolean delete(Long fileId) {
+        log.debug("通用的删除前处理逻辑");
+        QofOperationTimings timings = QofOperationTimings.start(isTimingEnabled());
+        QofFileInfoBo<?> fileBo = null;
+        Throwable error = null;
+        try {
+            fileBo = qofExtService.getFileInfoByFileId(fileId);
+            timings.mark(QofPhase.METADATA_LOOKUP);
+            if (fileBo == null) {
+                return true;
+            }
+            // 有文件信息，但是没有删除成功
+            if (!qofExtService.beforeDelete(fileBo)) {
+                return false;
+            }
+            timings.mark(QofPhase.PERSISTENCE);
+
+            // 存储对象仍被其他文件引用时（去重），只删除文件信息
+            boolean delete;
+            if (fileBo.getContentHash() == null) {
+                delete = doDelete(fileBo);
+            } else {
+                int refs = qofExtService.releaseStorageObject(fileBo);
+                if (refs < 0) {
+                    // 未登记引用数的存储对象不会再被新文件引用，按剩余的文件信息判断
+                    delete = qofExtService.isStorageObjectShared(fileBo) || doDelete(fileBo);
+                } else {
+                    delete = refs > 0 || doDelete(fileBo);
+                }
+            }
+            timings.mark(QofPhase.STORAGE_IO);
+            if (delete) {
+                qofContentCache.invalidate(fileId);
+                qofDiskCache.invalidate(fileId);
+            }
+
+            qofExtService.afterDelete(fileBo, delete);
+            timings.mark(QofPhase.EXTENSION_HOOK);
+
+            return delete;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            record(QofOperation.DELETE, fileBo, timings, 0L, error);
+        }
+    }
+
+    /**
+     * 在当前存储模式的线程池中执行上传，上传前后的扩展操作与同步上传一致，按顺序在同一线程中执行
+     * <br>
+     * 线程池队列已满时由调用线程执行，此时返回的结果已完成
+     */
+    @Override
+    public CompletableFuture<Long> uploadAsync(InputStream fis, QofFileInfoDto<?> info) {
+        return CompletableFuture.supplyAsync(() -> upload(fis, info), qofExecutors.getExecutor(getStorageMode()));
+    }
+
+    @Override
+    public CompletableFuture<QofFileDownloadBo> downloadAsync(Long fileId) {
+        return CompletableFuture.supplyAsync(() -> download(fileId), qofExecutors.getExecutor(getStorageMode()));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(Long fileId) {
+        return CompletableFuture.supplyAsync(() -> delete(fileId), qofExecutors.getExecutor(getStorageMode()));
+    }
+
+    @Override
+    public Long instantUpload(QofFileInfoDto<?> info) {
+        if (!qofProperties.getDedup().isEnabled()) {
+            return null;
+        }
+        if (!StringUtils.hasText(info.getContentHash())) {
+            throw new FileUploadException("文件内容摘要不能为空");
+        }
+        checkFileOwner(info);
+        coreFileValidationService.validateFileInfo(info);
+        info.setFileStorageMode(getStorageMode());
+        info.setFileStorageStation(resolveStorageStation(info));
+
+        QofFileInfoBo<?> existing = qofExtService.getFileInfoByContentHash(getStorageMode(),
+                info.getFileStorageStation(), info.getContentHash().toLowerCase());
+        // 文件大小也必须一致，且只能引用公共文件或自己的文件，避免仅凭摘要获取他人的私有文件
+        if (existing == null || !Objects.equals(existing.getFileSize(), info.getFileSize())
+                || !isInstantUploadAllowed(existing, info)) {
+            return null;
+        }
+
+        info.setFileId(IdUtil.getSnowflakeNextId());
+        info.setFilePath(existing.getFilePath());
+        info.setContentHash(existing.getContentHash());
+        info.setContentEncoding(existing.getContentEncoding());
+        if (!StringUtils.hasText(info.getFileType())) {
+            info.setFileType(existing.getFileType());
+        }
+        if (!qofExtService.acquireStorageObject(existing)) {
+            // 已有存储对象正在删除或未登记引用数
+            return null;
+        }
+        try {
+            // 扩展-文件上传前操作
+            qofExtService.beforeUpload(info);
+            // 扩展-文件上传后操作
+            qofExtService.afterUpload(info);
+        } catch (RuntimeException | Error e) {
+            releaseQuietly(existing);
+            throw e;
+        }
+        return info.getFileId();
+    }
+
+    /**
+     * 秒传只能引用公共文件，或与本次上传的文件属于同一创建者的文件
+     */
+    private static boolean isInstantUploadAllowed(QofFileInfoBo<?> existing, QofFileInfoDto<?> info) {
+        if (Objects.equals(existing.getPublicAccess(), QofConstant.PUBLIC_ACCESS)) {
+            return true;
+        }
+        return info.getCreateId() != null && Objects.equals(existing.getCreateId(), info.getCreateId());
+    }
+
+    private static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance(CONTENT_DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("不支持的摘要算法: " + CONTENT_DIGEST_ALGORITHM, e);
+        }
+    }
+
+    @Override
+    public QofPresignedUploadBo initPresignedUpload(QofFileInfoDto<?> info) {
+        log.debug("通用的直传会话创建逻辑");
+        PresignedUploadService presignedUploadService = getPresignedUploadService();
+
+        checkFileOwner(info);
+        coreFileValidationService.validateFileInfo(info);
+        // 文件类型参与签名，客户端上传时必须携带一致的 Content-Type
+        if (!StringUtils.hasText(info.getFileType())) {
+            throw new FileUploadException("文件类型不能为空");
+        }
+        assignFilePath(info);
+        info.setFileStorageMode(getStorageMode());
+        info.setFileStorageStation(resolveStorageStation(info));
+
+        // 扩展-文件上传前操作
+        qofExtService.beforeUpload(info);
+
+        QofPresignedUploadBo uploadBo = new QofPresignedUploadBo();
+        BeanUtils.copyProperties(info, uploadBo);
+        uploadBo.setUploadId(IdUtil.getSnowflakeNextId());
+        uploadBo.setExpireTime(LocalDateTime.now().plus(qofProperties.getPresigned().getExpire()));
+        uploadBo.setStatus(QofConstant.PresignedUploadStatus.UPLOADING);
+        Map<String, String> uploadHeaders = new LinkedHashMap<>();
+        uploadHeaders.put(CONTENT_TYPE_HEADER, info.getFileType());
+        uploadBo.setUploadHeaders(uploadHeaders);
+        uploadBo.setUploadUrl(doPresignUpload(uploadBo));
+        presignedUploadService.save(uploadBo);
+        return uploadBo;
+    }
+
+    @Override
+    public QofPresignedUploadBo getPresignedUpload(Long uploadId) {
+        QofPresignedUploadBo uploadBo = getPresignedUploadService().getByUploadId(uploadId);
+        if (uploadBo == null || !getStorageMode().equals(uploadBo.getFileStorageMode())) {
+            throw new DataNotExistException("直传会话不存在");
+        }
+        return uploadBo;
+    }
+
+    @Override
+    public Long confirmPresignedUpload(Long uploadId) {
+        log.debug("通用的直传确认逻辑");
+        PresignedUploadService presignedUploadService = getPresignedUploadService();
+        QofPresignedUploadBo uploadBo = getPresignedUpload(uploadId);
+        if (!QofConstant.PresignedUploadStatus.UPLOADING.equals(uploadBo.getStatus())) {
+            throw new FileUploadException("直传会话已结束");
+        }
+
+        QofFileInfoDto<?> info = new QofFileInfoDto<>();
+        BeanUtils.copyProperties(uploadBo, info);
+        // 预签名地址无法限制上传内容，上传完成后校验对象存储中的文件
+        QofStorageObjectBo storageObject = doStatObject(uploadBo);
+        if (storageObject == null) {
+            throw new FileUploadException("文件尚未上传完成");
+        }
+        String mismatch = checkPresignedObject(uploadBo, storageObject);
+        if (mismatch == null) {
+            mismatch = checkPresignedContent(uploadBo, info);
+        }
+        if (mismatch != null) {
+            log.warn("直传的文件未通过校验，删除已上传的文件，文件路径: {}, 原因: {}", uploadBo.getFilePath(), mismatch);
+            if (presignedUploadService.updateStatus(uploadId,
+                    QofConstant.PresignedUploadStatus.UPLOADING, QofConstant.PresignedUploadStatus.ABORTED)) {
+                deleteQuietly(info);
+            }
+            throw new FileUploadException(mismatch);
+        }
+
+        if (!presignedUploadService.updateStatus(uploadId,
+                QofConstant.PresignedUploadStatus.UPLOADING, QofConstant.PresignedUploadStatus.COMPLETED)) {
+            throw new FileUploadException("直传会话已结束");
+        }
+        // 扩展-文件上传后操作
+        qofExtService.afterUpload(info);
+        return uploadBo.getFileId();
+    }
+
+    @Override
+    public int cleanExpiredPresignedUploads(LocalDateTime expireBefore) {
+        if (presignedUploadService == null) {
+            return 0;
+        }
+        int cleaned = 0;
+        for (QofPresignedUploadBo uploadBo : presignedUploadService.listExpired(getStorageMode(), expireBefore,
+                SESSION_CLEAN_BATCH_SIZE)) {
+            // 与确认互斥，只有成功取消会话时才删除已上传的文件
+            if (!presignedUploadService.updateStatus(uploadBo.getUploadId(),
+                    QofConstant.PresignedUploadStatus.UPLOADING, QofConstant.PresignedUploadStatus.ABORTED)) {
+                continue;
+            }
+            QofFileInfoDto<?> info = new QofFileInfoDto<>();
+            BeanUtils.copyProperties(uploadBo, info);
+            deleteQuietly(info);
+            cleaned++;
+        }
+        return cleaned;
+    }
+
+    /**
+     * 校验直传的文件与创建会话时声明的文件信息是否一致
+     *
+     * @return 不一致的原因，一致时返回null
+     */
+    private static String checkPresignedObject(QofPresignedUploadBo uploadBo, QofStorageObjectBo storageObject) {
+        if (storageObject.getContentLength() != uploadBo.getFileSize()) {
+            return String.format("文件大小与声明的不一致，声明%d字节，实际%d字节", uploadBo.getFileSize(), storageObject.getContentLength());
+        }
+        if (!mediaTypeEquals(uploadBo.getFileType(), storageObject.getContentType())) {
+            return String.format("文件类型与声明的不一致，声明[%s]，实际[%s]", uploadBo.getFileType(), storageObject.getContentType());
+        }
+        return null;
+    }
+
+    /**
+     * 读取直传文件的文件头，校验文件类型（Magic Number检测）
+     *
+     * @return 校验失败的原因，校验通过时返回null
+     */
+    private String checkPresignedContent(QofPresignedUploadBo uploadBo, QofFileInfoDto<?> info) {
+        if (!qofProperties.isEnableMagicNumberDetection() || uploadBo.getFileSize() <= 0) {
+            return null;
+        }
+        QofFileInfoBo<?> fileBo = new QofFileInfoBo<>();
+        BeanUtils.copyProperties(uploadBo, fileBo);
+        long headerEnd = Math.min(uploadBo.getFileSize(), FileTypeDetector.HEADER_SIZE) - 1;
+        try (InputStream header = new HeaderPeekInputStream(doDownloadRange(fileBo, 0, headerEnd).getInputStream(),
+                FileTypeDetector.HEADER_SIZE)) {
+            coreFileValidationService.validateFileContent(header, info);
+        } catch (FileUploadException e) {
+            return e.getMessage();
+        } catch (IOException e) {
+            log.warn("关闭直传文件的文件流失败，文件路径: {}", uploadBo.getFilePath(), e);
+        }
+        return null;
+    }
+
+    /**
+     * 比较文件类型，忽略大小写和 charset 等参数
+     */
+    private static boolean mediaTypeEquals(String expected, String actual) {
+        if (expected == null || actual == null) {
+            return false;
+        }
+        int expectedIndex = expected.indexOf(';');
+        int actualIndex = actual.indexOf(';');
+        String expectedType = (expectedIndex >= 0 ? expected.substring(0, expectedIndex) : expected).trim();
+        String actualType = (actualIndex >= 0 ? actual.substring(0, actualIndex) : actual).trim();
+        return expectedType.equalsIgnoreCase(actualType);
+    }
+
+    private PresignedUploadService getPresignedUploadService() {
+        if (presignedUploadService == null) {
+            throw new UnsupportedOperationException("未找到直传会话持久化服务[PresignedUploadService]，无法使用直传");
+        }
+        return presignedUploadService;
+    }
+
+    @Override
+    public QofChunkUploadBo initChunkUpload(QofFileInfoDto<?> info) {
+        log.debug("通用的断点续传会话创建逻辑");
+        ChunkUploadService chunkUploadService = getChunkUploadService();
+
+        checkFileOwner(info);
+        coreFileValidationService.validateFileInfo(info);
+        assignFilePath(info);
+        // 会话创建时确定实际使用的存储站，后续分片都上传到该存储站
+        info.setFileStorageMode(getStorageMode());
+        info.setFileStorageStation(resolveStorageStation(info));
+
+        // 扩展-文件上传前操作
+        qofExtService.beforeUpload(info);
+
+        // 分片数量不能超过对象存储的上限，文件过大时调大分片
+        long fileSize = info.getFileSize();
+        long partSize = Math.max(qofProperties.getChunk().getPartSize(), MultipartUploadPolicy.MIN_PART_SIZE);
+        partSize = Math.max(partSize, (fileSize + MultipartUploadPolicy.MAX_PARTS - 1) / MultipartUploadPolicy.MAX_PARTS);
+
+        QofChunkUploadBo uploadBo = new QofChunkUploadBo();
+        BeanUtils.copyProperties(info, uploadBo);
+        uploadBo.setUploadId(IdUtil.getSnowflakeNextId());
+        uploadBo.setPartSize(partSize);
+        uploadBo.setPartCount((int) ((fileSize + partSize - 1) / partSize));
+        uploadBo.setStatus(QofConstant.ChunkUploadStatus.UPLOADING);
+        uploadBo.setExpireTime(LocalDateTime.now().plus(qofProperties.getChunk().getExpire()));
+        uploadBo.setUploadedParts(new ArrayList<>());
+        uploadBo.setStorageUploadId(doInitChunkUpload(uploadBo));
+        try {
+            chunkUploadService.save(uploadBo);
+        } catch (RuntimeException e) {
+            abortQuietly(uploadBo);
+            throw e;
+        }
+        return uploadBo;
+    }
+
+    @Override
+    public QofChunkPartBo uploadChunk(Long uploadId, int partNumber, InputStream fis, long partSize) {
+        QofChunkUploadBo uploadBo = getActiveChunkUpload(uploadId);
+        int partCount = uploadBo.getPartCount();
+        if (partNumber < 1 || partNumber > partCount) {
+            throw new FileUploadException(String.format("分片序号[%d]超出范围，分片数量为%d", partNumber, partCount));
+        }
+        long expectedSize = partNumber < partCount
+                ? uploadBo.getPartSize()
+                : uploadBo.getFileSize() - (partCount - 1) * uploadBo.getPartSize();
+        if (partSize != expectedSize) {
+            throw new FileUploadException(String.format("分片[%d]大小应为%d字节，实际为%d字节", partNumber, expectedSize, partSize));
+        }
+
+        InputStream uploadStream = fis;
+        if (partNumber == 1) {
+            // 首个分片包含文件头，在此进行文件类型（Magic Number检测）
+            uploadStream = validateFileContent(fis, toFileInfoDto(uploadBo));
+        }
+
+        QofChunkPartBo partBo = new QofChunkPartBo();
+        partBo.setPartNumber(partNumber);
+        partBo.setPartSize(partSize);
+        try (TransferAdmissionController.Permit ignored = admit(uploadBo, partSize, QofOperationTimings.DISABLED)) {
+            partBo.setEtag(doUploadChunk(uploadBo, partNumber, uploadStream, partSize));
+        }
+        getChunkUploadService().savePart(uploadId, partBo);
+        return partBo;
+    }
+
+    @Override
+    public QofChunkUploadBo getChunkUpload(Long uploadId) {
+        QofChunkUploadBo uploadBo = getChunkUploadService().getByUploadId(uploadId);
+        if (uploadBo == null || !getStorageMode().equals(uploadBo.getFileStorageMode())) {
+            throw new DataNotExistException("断点续传会话不存在");
+        }
+        return uploadBo;
+    }
+
+    @Override
+    public Long completeChunkUpload(Long uploadId) {
+        log.debug("通用的断点续传合并逻辑");
+        QofChunkUploadBo uploadBo = getActiveChunkUpload(uploadId);
+        List<QofChunkPartBo> parts = uploadBo.getUploadedParts();
+        // 同一分片只保留一条记录，数量一致即所有分片都已上传
+        if (parts.size() != uploadBo.getPartCount()) {
+            throw new FileUploadException(String.format("分片未全部上传，已上传%d个，共%d个", parts.size(), uploadBo.getPartCount()));
+        }
+
+        // 先将会话置为合并中，保证同一会话只合并一次，且合并期间不会被取消
+        if (!getChunkUploadService().updateStatus(uploadId,
+                QofConstant.ChunkUploadStatus.UPLOADING, QofConstant.ChunkUploadStatus.MERGING)) {
+            throw new FileUploadException("断点续传会话已结束");
+        }
+        try {
+            // 执行具体的分片合并操作
+            doCompleteChunkUpload(uploadBo, parts);
+        } catch (RuntimeException e) {
+            // 合并失败时恢复为上传中，允许重新合并或取消
+            getChunkUploadService().updateStatus(uploadId,
+                    QofConstant.ChunkUploadStatus.MERGING, QofConstant.ChunkUploadStatus.UPLOADING);
+            throw e;
+        }
+        getChunkUploadService().updateStatus(uploadId,
+                QofConstant.ChunkUploadStatus.MERGING, QofConstant.ChunkUploadStatus.COMPLETED);
+        // 扩展-文件上传后操作
+        qofExtService.afterUpload(toFileInfoDto(uploadBo));
+        return uploadBo.getFileId();
+    }
+
+    @Override
+    public void abortChunkUpload(Long uploadId) {
+        QofChunkUploadBo uploadBo = getUploadingChunkUpload(uploadId);
+        if (!getChunkUploadService().updateStatus(uploadId,
+                QofConstant.ChunkUploadStatus.UPLOADING, QofConstant.ChunkUploadStatus.ABORTED)) {
+            throw new FileUploadException("断点续传会话已结束");
+        }
+        doAbortChunkUpload(uploadBo);
+    }
+
+    @Override
+    public int cleanExpiredChunkUploads(LocalDateTime expireBefore) {
+        if (chunkUploadService == null) {
+            return 0;
+        }
+        int cleaned = 0;
+        for (QofChunkUploadBo uploadBo : chunkUploadService.listExpired(getStorageMode(), expireBefore,
+                SESSION_CLEAN_BATCH_SIZE)) {
+            // 与合并、取消互斥，只有成功取消会话时才清理分片
+            if (!chunkUploadService.updateStatus(uploadBo.getUploadId(),
+                    QofConstant.ChunkUploadStatus.UPLOADING, QofConstant.ChunkUploadStatus.ABORTED)) {
+                continue;
+            }
+            abortQuietly(uploadBo);
+            cleaned++;
+        }
+        return cleaned;
+    }
+
+    private ChunkUploadService getChunkUploadService() {
+        if (chunkUploadService == null) {
+            throw new UnsupportedOperationException("未找到断点续传会话持久化服务[ChunkUploadService]，无法使用断点续传");
+        }
+        return chunkUploadService;
+    }
+
+    /**
+     * 获取上传中的断点续传会话
+     *
+     * @throws FileUploadException 如果会话已完成或已取消
+     */
+    private QofChunkUploadBo getUploadingChunkUpload(Long uploadId) {
+        QofChunkUploadBo uploadBo = getChunkUpload(uploadId);
+        if (!QofConstant.ChunkUploadStatus.UPLOADING.equals(uploadBo.getStatus())) {
+            throw new FileUploadException("断点续传会话已结束");
+        }
+        return uploadBo;
+    }
+
+    /**
+     * 获取上传中且未过期的断点续传会话，用于上传分片和合并
+     *
+     * @throws FileUploadException 如果会话已结束或已过期
+     */
+    private QofChunkUploadBo getActiveChunkUpload(Long uploadId) {
+        QofChunkUploadBo uploadBo = getUploadingChunkUpload(uploadId);
+        if (uploadBo.getExpireTime() != null && uploadBo.getExpireTime().isBefore(LocalDateTime.now())) {
+            throw new FileUploadException("断点续传会话已过期");
+        }
+        return uploadBo;
+    }
+
+    private void abortQuietly(QofChunkUploadBo uploadBo) {
+        try {
+            doAbortChunkUpload(uploadBo);
+        } catch (RuntimeException e) {
+            log.warn("清理断点续传分片失败，会话id: {}", uploadBo.getUploadId(), e);
+        }
+    }
+
+    private static QofFileInfoDto<?> toFileInfoDto(QofChunkUploadBo uploadBo) {
+        QofFileInfoDto<?> info = new QofFileInfoDto<>();
+        BeanUtils.copyProperties(uploadBo, info);
+        return info;
+    }
+
+    @Override
+    public String getStorageMode() {
+        String mode = storageMode;
+        if (mode == null) {
+            mode = QofClient.super.getStorageMode();
+            storageMode = mode;
+        }
+        return mode;
+    }
+
+    /**
+     * 获取文件操作实际使用的存储站
+     * <br>
+     * 默认直接使用文件信息中的存储站，子类可根据存储站配置进行解析
+     *
+     * @param fileOperationBase 文件操作基础参数
+     * @return 存储站名称
+     */
+    protected String resolveStorageStation(QofFileOperationBase fileOperationBase) {
+        return fileOperationBase.getFileStorageStation();
+    }
+
+    /**
+     * 申请传输额度，额度不足时按配置排队等待或直接拒绝
+     *
+     * @param fileOperationBase 文件信息，用于确定存储站
+     * @param bytes             传输的字节数，未知时为null
+     * @param timings           分阶段耗时，排队时间计入准入控制阶段
+     * @return 传输许可，传输结束后必须关闭
+     */
+    private TransferAdmissionController.Permit admit(QofFileOperationBase fileOperationBase, Long bytes,
+                                                     QofOperationTimings timings) {
+        if (!transferAdmissionController.isEnabled()) {
+            return TransferAdmissionController.Permit.NONE;
+        }
+        try {
+            return transferAdmissionController.acquire(getStorageMode(), resolveStorageStation(fileOperationBase),
+                    bytes == null ? 0L : bytes);
+        } finally {
+            timings.mark(QofPhase.ADMISSION);
+        }
+    }
+
+    /**
+     * 关闭时释放传输额度的文件流
+     */
+    private static class AdmittedInputStream extends FilterInputStream {
+
+        private final TransferAdmissionController.Permit permit;
+
+        AdmittedInputStream(InputStream in, TransferAdmissionController.Permit permit) {
+            super(in);
+            this.permit = permit;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                permit.close();
+            }
+        }
+    }
+
+    /**
+     * 是否需要统计分阶段耗时，未启用指标且没有监听器时不产生任何统计开销
+     */
+    private boolean isTimingEnabled() {
+        return qofPhaseListeners.length > 0 || qofMetricsRecorder.isEnabled();
+    }
+
+    /**
+     * 记录文件操作指标并通知监听器，记录失败不影响文件操作本身
+     */
+    private void record(QofOperation operation, QofFileOperationBase fileOperationBase,
+                        QofOperationTimings timings, Long bytes, Throwable error) {
+        if (!timings.isEnabled()) {
+            return;
+        }
+        timings.finish();
+        String storageStation = fileOperationBase == null ? null : resolveStorageStation(fileOperationBase);
+        try {
+            qofMetricsRecorder.record(operation, getStorageMode(), storageStation,
+                    timings, bytes == null ? 0L : bytes, error);
+        } catch (RuntimeException e) {
+            log.warn("记录文件操作指标失败: {}", e.getMessage());
+        }
+        for (QofPhaseListener listener : qofPhaseListeners) {
+            try {
+                listener.onOperationComplete(operation, getStorageMode(), storageStation, fileOperationBase, timings, error);
+            } catch (RuntimeException e) {
+                log.warn("文件操作耗时监听器执行失败: {}", e.getMessage());
+            }
+        }
+    }
+
+
+    /**
+     * 具体执行-上传文件信息
+     *
+     * @param fis  上传文件的输入流
+     * @param info 上传文件的基础信息
+     * @return 文件唯一 id
+     */
+    protected abstract Long doUpload(InputStream fis, QofFileInfoDto<?> info);
+
+    /**
+     * 具体执行-基于磁盘上已有的文件上传
+     * <br>
+     * 默认打开文件输入流执行 {@link #doUpload(InputStream, QofFileInfoDto)}，存储客户端可重写为基于文件的写入方式
+     *
+     * @param source 上传的文件，不能删除或移动
+     * @param info   上传文件的基础信息
+     * @return 文件唯一 id
+     */
+    protected Long doUploadFile(Path source, QofFileInfoDto<?> info) {
+        InputStream fis = openFile(source);
+        try {
+            return doUpload(fis, info);
+        } finally {
+            closeQuietly(fis, source);
+        }
+    }
+
+    /**
+     * 具体执行-下载文件
+     *
+     * @param fileBo 文件信息
+     * @return 文件流数据
+     */
+    protected abstract QofFileDownloadBo doDownload(QofFileInfoBo<?> fileBo);
+
+    /**
+     * 是否使用小文件内存缓存和磁盘缓存，启用缓存后默认使用
+     *
+     * @return true: 使用；  false: 不使用；
+     */
+    protected boolean isContentCacheable() {
+        return true;
+    }
+
+    /**
+     * 具体执行-下载文件的部分内容
+     * <br>
+     * 默认读取完整的存储对象后跳过起始位置之前的内容，存储客户端应重写为按范围读取
+     *
+     * @param fileBo     文件信息
+     * @param rangeStart 起始位置（包含）
+     * @param rangeEnd   结束位置（包含）
+     * @return 只包含该范围内容的文件流数据
+     */
+    protected QofFileDownloadBo doDownloadRange(QofFileInfoBo<?> fileBo, long rangeStart, long rangeEnd) {
+        QofFileDownloadBo fileDownloadBo = doDownload(fileBo);
+        InputStream inputStream = fileDownloadBo.getInputStream();
+        try {
+            long skipped = 0;
+            while (skipped < rangeStart) {
+                long n = inputStream.skip(rangeStart - skipped);
+                if (n <= 0) {
+                    // skip 返回0时可能尚未到达末尾，读取一个字节确认
+                    if (inputStream.read() < 0) {
+                        break;
+                    }
+                    n = 1;
+                }
+                skipped += n;
+            }
+        } catch (IOException e) {
+            try {
+                inputStream.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            log.error("读取文件失败，文件路径: {}", fileBo.getFilePath(), e);
+            throw new FileDownloadException("文件下载失败，请稍后重试", e);
+        }
+        fileDownloadBo.setInputStream(new BoundedInputStream(inputStream, rangeEnd - rangeStart + 1));
+        return fileDownloadBo;
+    }
+
+    /**
+     * 具体执行-删除文件
+     *
+     * @param fileBo 删除文件的唯一 id
+     */
+    protected abstract boolean doDelete(QofFileInfoBo<?> fileBo);
+
+    /**
+     * 具体执行-创建断点续传会话
+     *
+     * @param uploadBo 断点续传会话信息
+     * @return 对象存储的分片上传 uploadId，不需要时返回null
+     */
+    protected String doInitChunkUpload(QofChunkUploadBo uploadBo) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 具体执行-上传分片，负责关闭输入流
+     *
+     * @param uploadBo   断点续传会话信息
+     * @param partNumber 分片序号，从1开始
+     * @param fis        分片的输入流
+     * @param partSize   分片大小
+     * @return 分片 ETag，不需要时返回null
+     */
+    protected String doUploadChunk(QofChunkUploadBo uploadBo, int partNumber, InputStream fis, long partSize) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 具体执行-合并分片
+     *
+     * @param uploadBo 断点续传会话信息
+     * @param parts    所有分片，按分片序号升序
+     */
+    protected void doCompleteChunkUpload(QofChunkUploadBo uploadBo, List<QofChunkPartBo> parts) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 具体执行-取消断点续传，清理已上传的分片
+     *
+     * @param uploadBo 断点续传会话信息
+     */
+    protected void doAbortChunkUpload(QofChunkUploadBo uploadBo) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 具体执行-生成预签名的上传地址（HTTP PUT）
+     *
+     * @param uploadBo 直传会话信息，包含过期时间和参与签名的请求头
+     * @return 上传地址
+     */
+    protected String doPresignUpload(QofPresignedUploadBo uploadBo) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持直传");
+    }
+
+    /**
+     * 具体执行-生成预签名的下载地址（HTTP GET）
+     *
+     * @param fileBo             文件信息
+     * @param contentDisposition 对象存储返回文件时使用的 Content-Disposition 响应头
+     * @param expireTime         下载地址过期时间
+     * @return 下载地址，不支持时返回null
+     */
+    protected String doPresignDownload(QofFileInfoBo<?> fileBo, String contentDisposition, LocalDateTime expireTime) {
+        return null;
+    }
+
+    /**
+     * 具体执行-查询存储对象的元数据
+     *
+     * @param fileOperationBase 文件信息
+     * @return 存储对象的元数据，对象不存在时返回null
+     */
+    protected QofStorageObjectBo doStatObject(QofFileOperationBase fileOperationBase) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持查询存储对象");
+    }
 }
@@ -1,61 +1,71 @@
 package io.github.codeyunze.core;
 
 import io.github.codeyunze.enums.QofStorageModeEnum;
+import io.github.codeyunze.exception.StorageConfigurationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
+ * 默认的客户端构建工厂
+ * <br>
+ * 容器启动完成后一次性收集所有 {@link QofClient}，按 {@link QofClient#getStorageMode()} 建立存储模式到客户端的映射，
+ * 后续每次请求只做一次Map查询。
+ *
  * @author 高晗
  * @since 2025/2/20 15:19
  */
 @Component
-public class DefaultQofClientFactory implements QofClientFactory {
+public class DefaultQofClientFactory implements QofClientFactory, SmartInitializingSingleton {
 
     private final ApplicationContext applicationContext;
 
+    /**
+     * Map<存储模式（小写）, 客户端>
+     */
+    private volatile Map<String, QofClient> clients;
+
     public DefaultQofClientFactory(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
     }
 
+    @Override
+    public void afterSingletonsInstantiated() {
+        getClients();
+    }
+
     @Override
     public QofClient buildClient(String storageMode) {
-        if (storageMode == null || storageMode.trim().isEmpty()) {
+        if (storageMode == null) {
             throw new IllegalArgumentException("存储模式不能为空");
         }
-        
-        String mode = storageMode.toLowerCase().trim();
 
-        // 获取所有客户端
-        Map<String, QofClient> clients = applicationContext.getBeansOfType(QofClient.class);
-        
-        if (clients.isEmpty()) {
-            throw new IllegalStateException("未找到任何文件存储客户端，请检查配置");
+        Map<String, QofClient> clients = getClients();
+        // 绝大多数请求传入的就是规范的小写存储模式，直接命中，不产生额外对象
+        QofClient client = clients.get(storageMode);
+        if (client != null) {
+            return client;
         }
 
-        // 通过类名匹配客户端
-        for (Map.Entry<String, QofClient> entry : clients.entrySet()) {
-            QofClient client = entry.getValue();
-            String className = client.getClass().getSimpleName().toLowerCase();
-            String qofClientSuffix = QofClient.class.getSimpleName().toLowerCase();
-            
-            // 检查类名是否以QofClient结尾
-            if (!className.endsWith(qofClientSuffix)) {
-                continue;
-            }
-            
-            // 提取存储模式前缀（例如：CosQofClient -> "cos"）
-            int suffixIndex = className.lastIndexOf(qofClientSuffix);
-            if (suffixIndex > 0) {
-                String key = className.substring(0, suffixIndex);
-                if (mode.equals(key)) {
-                    return client;
-                }
-            }
+        String mode = storageMode.trim().toLowerCase();
+        if (mode.isEmpty()) {
+            throw new IllegalArgumentException("存储模式不能为空");
+        }
+        client = clients.get(mode);
+        if (client != null) {
+            return client;
+        }
+
+        if (clients.isEmpty()) {
+            throw new IllegalStateException("未找到任何文件存储客户端，请检查配置");
         }
 
         // 提供所有支持的存储模式作为提示
@@ -63,27 +73,52 @@ public class DefaultQofClientFactory implements QofClientFactory {
                 .map(QofStorageModeEnum::getMode)
                 .collect(Collectors.toSet());
 
-        // 获取已注册的客户端类型（用于调试）
-        Set<String> registeredClientTypes = clients.values().stream()
-                .map(client -> {
-                    String className = client.getClass().getSimpleName();
-                    String suffix = QofClient.class.getSimpleName();
-                    if (className.endsWith(suffix)) {
-                        return className.substring(0, className.length() - suffix.length()).toLowerCase();
-                    }
-                    return className.toLowerCase();
-                })
-                .collect(Collectors.toSet());
-
         if (supportedModes.contains(mode)) {
             throw new IllegalArgumentException(
-                    String.format("未启用该存储模式[%s]，配置项为[qof.%s.enable]。已注册的客户端类型: %s", 
-                            mode, mode, registeredClientTypes));
+                    String.format("未启用该存储模式[%s]，配置项为[qof.%s.enable]。已注册的客户端类型: %s",
+                            mode, mode, clients.keySet()));
         }
 
         throw new IllegalArgumentException(
-                String.format("暂不支持[%s]存储模式。支持的模式: %s，已注册的客户端类型: %s", 
-                        storageMode, supportedModes, registeredClientTypes));
+                String.format("暂不支持[%s]存储模式。支持的模式: %s，已注册的客户端类型: %s",
+                        storageMode, supportedModes, clients.keySet()));
     }
 
+    private Map<String, QofClient> getClients() {
+        Map<String, QofClient> registry = clients;
+        if (registry == null) {
+            synchronized (this) {
+                registry = clients;
+                if (registry == null) {
+                    registry = createClients();
+                    clients = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * 收集所有客户端，建立存储模式到客户端的映射
+     *
+     * @return 不可变的映射
+     * @throws StorageConfigurationException 如果存在存储模式为空或重复的客户端
+     */
+    private Map<String, QofClient> createClients() {
+        Map<String, QofClient> beans = applicationContext.getBeansOfType(QofClient.class);
+        Map<String, QofClient> registry = new HashMap<>(beans.size() * 2);
+        for (Map.Entry<String, QofClient> entry : beans.entrySet()) {
+            String mode = entry.getValue().getStorageMode();
+            if (!StringUtils.hasText(mode)) {
+                throw new StorageConfigurationException("文件存储客户端[" + entry.getKey() + "]的存储模式不能为空");
+            }
+            mode = mode.trim().toLowerCase();
+            QofClient existing = registry.putIfAbsent(mode, entry.getValue());
+            if (existing != null) {
+                throw new StorageConfigurationException(String.format("存储模式[%s]存在多个文件存储客户端: %s, %s",
+                        mode, existing.getClass().getName(), entry.getValue().getClass().getName()));
+            }
+        }
+        return Collections.unmodifiableMap(registry);
+    }
 }
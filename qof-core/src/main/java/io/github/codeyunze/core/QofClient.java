@@ -1,9 +1,25 @@
 package io.github.codeyunze.core;
 
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.bo.QofChunkUploadBo;
 import io.github.codeyunze.bo.QofFileDownloadBo;
+import io.github.codeyunze.bo.QofPresignedUploadBo;
+import io.github.codeyunze.dto.QofByteRange;
 import io.github.codeyunze.dto.QofFileInfoDto;
+import io.github.codeyunze.dto.QofUploadItem;
+import io.github.codeyunze.exception.FileUploadException;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ClassUtils;
 
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * QOF 客户端操作接口
@@ -13,6 +29,23 @@ import java.io.InputStream;
  */
 public interface QofClient {
 
+    /**
+     * 获取客户端对应的存储模式
+     * <br>
+     * {@link DefaultQofClientFactory} 启动时根据该值注册客户端，自定义客户端可重写该方法显式声明存储模式；
+     * 默认根据类名推导，例如：CosQofClient -> cos
+     *
+     * @return 存储模式 {@link io.github.codeyunze.enums.QofStorageModeEnum#getMode()}
+     */
+    default String getStorageMode() {
+        String className = ClassUtils.getUserClass(getClass()).getSimpleName();
+        String suffix = QofClient.class.getSimpleName();
+        if (className.endsWith(suffix) && className.length() > suffix.length()) {
+            className = className.substring(0, className.length() - suffix.length());
+        }
+        return className.toLowerCase();
+    }
+
     /**
      * 上传文件信息
      *
@@ -22,6 +55,75 @@ public interface QofClient {
      */
     Long upload(InputStream fis, QofFileInfoDto<?> info);
 
+    /**
+     * 上传磁盘上已有的文件
+     * <br>
+     * 文件大小以实际大小为准；默认打开文件输入流上传，存储客户端可直接基于文件写入存储，避免经过输入流复制
+     *
+     * @param source 上传的文件，上传后不会删除
+     * @param info   上传文件的基础信息
+     * @return 文件唯一 id
+     */
+    default Long upload(Path source, QofFileInfoDto<?> info) {
+        try (InputStream fis = new FileInputStream(source.toFile())) {
+            info.setFileSize(Files.size(source));
+            return upload(fis, info);
+        } catch (IOException e) {
+            throw new FileUploadException("读取上传文件失败: " + source, e);
+        }
+    }
+
+    /**
+     * 上传资源，资源位于磁盘上时按文件上传 {@link #upload(Path, QofFileInfoDto)}，否则按输入流上传
+     *
+     * @param resource 上传的资源
+     * @param info     上传文件的基础信息，未指定文件大小时使用资源的长度
+     * @return 文件唯一 id
+     */
+    default Long upload(Resource resource, QofFileInfoDto<?> info) {
+        try {
+            if (resource.isFile()) {
+                return upload(resource.getFile().toPath(), info);
+            }
+            if (info.getFileSize() == null) {
+                info.setFileSize(resource.contentLength());
+            }
+            try (InputStream fis = resource.getInputStream()) {
+                return upload(fis, info);
+            }
+        } catch (IOException e) {
+            throw new FileUploadException("读取上传文件失败: " + resource.getDescription(), e);
+        }
+    }
+
+    /**
+     * 批量上传文件
+     * <br>
+     * 默认逐个上传；任意文件上传失败时，已上传的文件不会回滚
+     *
+     * @param items 上传的文件
+     * @return 文件唯一 id，与上传的文件顺序一致
+     */
+    default List<Long> uploadBatch(List<QofUploadItem> items) {
+        List<Long> fileIds = new ArrayList<>(items.size());
+        for (QofUploadItem item : items) {
+            fileIds.add(upload(item.getInputStream(), item.getFileInfo()));
+        }
+        return fileIds;
+    }
+
+    /**
+     * 秒传：根据文件内容摘要查找同一存储站中内容相同的文件，存在时直接引用，不需要上传文件内容
+     * <br>
+     * 需要启用文件去重（qof.dedup.enabled），只引用公共文件或同一创建者的文件，未找到时返回null，调用方应继续使用 {@link #upload(InputStream, QofFileInfoDto)} 上传
+     *
+     * @param info 上传文件的基础信息，必须包含文件内容摘要（SHA-256）和文件大小
+     * @return 文件唯一 id，未找到内容相同的文件时返回null
+     */
+    default Long instantUpload(QofFileInfoDto<?> info) {
+        return null;
+    }
+
     /**
      * 下载文件
      *
@@ -31,6 +133,36 @@ public interface QofClient {
      */
     QofFileDownloadBo download(Long fileId);
 
+    /**
+     * 下载文件，客户端接受存储对象的压缩编码时直接返回压缩后的内容
+     * <br>
+     * 默认忽略压缩编码，与 {@link #download(Long)} 一致
+     *
+     * @param fileId         文件唯一 id
+     * @param acceptEncoding 客户端接受的压缩编码，格式与 HTTP Accept-Encoding 请求头一致
+     * @return 文件流数据，返回压缩后的内容时 contentEncoding 为压缩编码
+     * @apiNote 返回的 QofFileDownloadBo 中的InputStream需要调用者负责关闭
+     */
+    default QofFileDownloadBo download(Long fileId, String acceptEncoding) {
+        return download(fileId);
+    }
+
+    /**
+     * 下载文件的部分内容
+     * <br>
+     * 默认忽略字节范围，返回完整内容；返回结果的 {@link QofFileDownloadBo#isPartial()} 表示是否只包含部分内容
+     *
+     * @param fileId         文件唯一 id
+     * @param acceptEncoding 客户端接受的压缩编码，格式与 HTTP Accept-Encoding 请求头一致
+     * @param range          字节范围，为null时返回完整内容
+     * @return 文件流数据
+     * @throws io.github.codeyunze.exception.RangeNotSatisfiableException 字节范围超出文件内容
+     * @apiNote 返回的 QofFileDownloadBo 中的InputStream需要调用者负责关闭
+     */
+    default QofFileDownloadBo download(Long fileId, String acceptEncoding, QofByteRange range) {
+        return download(fileId, acceptEncoding);
+    }
+
     /**
      * 预览文件
      *
@@ -40,6 +172,34 @@ public interface QofClient {
      */
     QofFileDownloadBo preview(Long fileId);
 
+    /**
+     * 预览文件的部分内容
+     * <br>
+     * 默认忽略字节范围，返回完整内容；返回结果的 {@link QofFileDownloadBo#isPartial()} 表示是否只包含部分内容
+     *
+     * @param fileId 文件唯一 id
+     * @param range  字节范围，为null时返回完整内容
+     * @return 文件流数据
+     * @throws io.github.codeyunze.exception.RangeNotSatisfiableException 字节范围超出文件内容
+     * @apiNote 返回的 QofFileDownloadBo 中的InputStream需要调用者负责关闭
+     */
+    default QofFileDownloadBo preview(Long fileId, QofByteRange range) {
+        return preview(fileId);
+    }
+
+    /**
+     * 生成预签名的下载地址，客户端重定向到该地址后由对象存储直接返回文件内容
+     * <br>
+     * 默认不支持，返回null，调用方应继续使用 {@link #download(Long)} 或 {@link #preview(Long)}
+     *
+     * @param fileId 文件唯一 id
+     * @param inline true: 预览（浏览器内打开）；  false: 下载（作为附件保存）
+     * @return 下载地址，未启用下载重定向或存储模式不支持时返回null
+     */
+    default String presignDownload(Long fileId, boolean inline) {
+        return null;
+    }
+
     /**
      * 删除文件
      *
@@ -47,4 +207,176 @@ public interface QofClient {
      * @return true: 删除成功；  false: 删除失败；
      */
     boolean delete(Long fileId);
+
+    /**
+     * 异步上传文件
+     * <br>
+     * 默认在调用线程中同步执行 {@link #upload(InputStream, QofFileInfoDto)}，返回已完成的结果
+     *
+     * @param fis  上传文件的输入流，上传完成前调用方不能关闭
+     * @param info 上传文件的基础信息
+     * @return 文件唯一 id
+     */
+    default CompletableFuture<Long> uploadAsync(InputStream fis, QofFileInfoDto<?> info) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        try {
+            future.complete(upload(fis, info));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 异步下载文件
+     * <br>
+     * 默认在调用线程中同步执行 {@link #download(Long)}，返回已完成的结果
+     *
+     * @param fileId 文件唯一 id
+     * @return 文件流数据
+     * @apiNote 返回的 QofFileDownloadBo 中的InputStream需要调用者负责关闭
+     */
+    default CompletableFuture<QofFileDownloadBo> downloadAsync(Long fileId) {
+        CompletableFuture<QofFileDownloadBo> future = new CompletableFuture<>();
+        try {
+            future.complete(download(fileId));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 异步删除文件
+     * <br>
+     * 默认在调用线程中同步执行 {@link #delete(Long)}，返回已完成的结果
+     *
+     * @param fileId 删除文件的唯一 id
+     * @return true: 删除成功；  false: 删除失败；
+     */
+    default CompletableFuture<Boolean> deleteAsync(Long fileId) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        try {
+            future.complete(delete(fileId));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 创建直传会话
+     * <br>
+     * 预先分配文件唯一 id 并生成预签名的上传地址，客户端使用 HTTP PUT 将文件直接上传到对象存储，
+     * 上传完成后调用 {@link #confirmPresignedUpload(Long)} 确认
+     *
+     * @param info 上传文件的基础信息，文件大小和文件类型必须准确
+     * @return 直传会话信息，包含上传地址和上传时必须携带的请求头
+     */
+    default QofPresignedUploadBo initPresignedUpload(QofFileInfoDto<?> info) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持直传");
+    }
+
+    /**
+     * 获取直传会话
+     *
+     * @param uploadId 直传会话 id
+     * @return 直传会话信息，不包含上传地址
+     */
+    default QofPresignedUploadBo getPresignedUpload(Long uploadId) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持直传");
+    }
+
+    /**
+     * 确认直传完成
+     * <br>
+     * 校验对象存储中文件的大小、类型以及文件头（Magic Number）与创建会话时声明的一致后保存文件信息；校验不通过时删除已上传的文件
+     *
+     * @param uploadId 直传会话 id
+     * @return 文件唯一 id
+     */
+    default Long confirmPresignedUpload(Long uploadId) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持直传");
+    }
+
+    /**
+     * 清理过期的直传会话
+     * <br>
+     * 取消上传地址已过期、仍未确认的会话，并删除客户端可能已上传的文件
+     *
+     * @param expireBefore 清理上传地址过期时间早于该时间的会话
+     * @return 清理的会话数量
+     */
+    default int cleanExpiredPresignedUploads(LocalDateTime expireBefore) {
+        return 0;
+    }
+
+    /**
+     * 清理过期的断点续传会话
+     * <br>
+     * 取消已过期、仍未合并的会话，并清理已上传的分片（本地分片文件、对象存储未完成的分片上传）
+     *
+     * @param expireBefore 清理过期时间早于该时间的会话
+     * @return 清理的会话数量
+     */
+    default int cleanExpiredChunkUploads(LocalDateTime expireBefore) {
+        return 0;
+    }
+
+    /**
+     * 创建断点续传会话
+     * <br>
+     * 客户端按返回的分片大小切分文件，通过 {@link #uploadChunk(Long, int, InputStream, long)} 逐个上传分片，
+     * 全部分片上传完成后调用 {@link #completeChunkUpload(Long)} 合并为文件
+     *
+     * @param info 上传文件的基础信息，文件大小必须准确
+     * @return 断点续传会话信息
+     */
+    default QofChunkUploadBo initChunkUpload(QofFileInfoDto<?> info) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 上传分片
+     * <br>
+     * 同一分片可以重复上传，后上传的覆盖之前上传的
+     *
+     * @param uploadId   断点续传会话 id
+     * @param partNumber 分片序号，从1开始
+     * @param fis        分片的输入流
+     * @param partSize   分片大小，除最后一个分片外必须等于会话的分片大小
+     * @return 已上传的分片信息
+     */
+    default QofChunkPartBo uploadChunk(Long uploadId, int partNumber, InputStream fis, long partSize) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 获取断点续传会话，用于中断后查询已上传的分片
+     *
+     * @param uploadId 断点续传会话 id
+     * @return 断点续传会话信息，包含已上传的分片
+     */
+    default QofChunkUploadBo getChunkUpload(Long uploadId) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 完成断点续传，将所有分片合并为文件
+     *
+     * @param uploadId 断点续传会话 id
+     * @return 文件唯一 id
+     */
+    default Long completeChunkUpload(Long uploadId) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
+
+    /**
+     * 取消断点续传，清理已上传的分片
+     *
+     * @param uploadId 断点续传会话 id
+     */
+    default void abortChunkUpload(Long uploadId) {
+        throw new UnsupportedOperationException("存储模式[" + getStorageMode() + "]不支持断点续传");
+    }
 }
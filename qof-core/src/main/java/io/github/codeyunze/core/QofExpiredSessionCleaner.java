@@ -0,0 +1,90 @@
+package io.github.codeyunze.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * 过期上传会话清理
+ * <br>
+ * 客户端创建直传、断点续传会话后可能不再确认或合并，已上传的文件、分片不会保存文件信息，也不会被删除。
+ * 按固定间隔取消过期超过一个间隔的会话，并清理已上传的内容；过期后的一个间隔内仍允许确认
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofExpiredSessionCleaner implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(QofExpiredSessionCleaner.class);
+
+    private final String sessionType;
+
+    private final ObjectProvider<QofClient> qofClients;
+
+    private final Duration interval;
+
+    private final BiFunction<QofClient, LocalDateTime, Integer> cleaner;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param sessionType 会话类型，用于线程名和日志，例如：presigned、chunk
+     * @param qofClients  存储客户端
+     * @param interval    清理间隔
+     * @param cleaner     清理单个存储客户端中过期时间早于指定时间的会话，返回清理的数量
+     */
+    public QofExpiredSessionCleaner(String sessionType, ObjectProvider<QofClient> qofClients, Duration interval,
+                                    BiFunction<QofClient, LocalDateTime, Integer> cleaner) {
+        this.sessionType = sessionType;
+        this.qofClients = qofClients;
+        this.interval = interval;
+        this.cleaner = cleaner;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "qof-" + sessionType + "-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::clean, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 清理所有存储客户端中过期的会话
+     */
+    public void clean() {
+        LocalDateTime expireBefore = LocalDateTime.now().minus(interval);
+        qofClients.forEach(client -> {
+            try {
+                int cleaned = cleaner.apply(client, expireBefore);
+                if (cleaned > 0) {
+                    log.info("清理过期的{}会话，存储模式: {}, 数量: {}", sessionType, client.getStorageMode(), cleaned);
+                }
+            } catch (RuntimeException e) {
+                log.warn("清理过期的{}会话失败，存储模式: {}", sessionType, client.getStorageMode(), e);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
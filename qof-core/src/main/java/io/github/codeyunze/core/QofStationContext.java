@@ -0,0 +1,26 @@
+package io.github.codeyunze.core;
+
+/**
+ * 存储站上下文
+ * <br>
+ * 启动时根据存储站配置一次性解析出操作所需的全部信息（客户端、存储桶、基础路径等），
+ * 文件操作时通过 {@link QofStationRegistry} 一次查询获取，不再逐项解析配置。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public abstract class QofStationContext {
+
+    /**
+     * 存储站名称
+     */
+    private final String station;
+
+    protected QofStationContext(String station) {
+        this.station = station;
+    }
+
+    public String getStation() {
+        return station;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.codeyunze.core;
+
+import io.github.codeyunze.exception.StorageConfigurationException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 存储站上下文注册表
+ * <br>
+ * 与 {@link StorageStationHelper#getStorageStation} 的规则一致：指定的存储站存在时使用该存储站，否则使用默认存储站。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofStationRegistry<T extends QofStationContext> {
+
+    /**
+     * Map<存储站名称, 存储站上下文>
+     */
+    private final Map<String, T> stations;
+
+    /**
+     * 默认存储站名称
+     */
+    private final String defaultStation;
+
+    /**
+     * 默认存储站上下文，默认存储站未配置时为null
+     */
+    private final T defaultContext;
+
+    private QofStationRegistry(Map<String, T> stations, String defaultStation, T defaultContext) {
+        this.stations = stations;
+        this.defaultStation = defaultStation;
+        this.defaultContext = defaultContext;
+    }
+
+    /**
+     * 只有一个存储站配置（未配置multiple）时，所有操作都使用该存储站
+     *
+     * @param context 存储站上下文
+     * @return 注册表
+     */
+    public static <T extends QofStationContext> QofStationRegistry<T> single(T context) {
+        return new QofStationRegistry<>(Collections.emptyMap(), context.getStation(), context);
+    }
+
+    /**
+     * 配置了多个存储站
+     *
+     * @param multiple       多个存储站配置
+     * @param defaultStation 默认存储站名称
+     * @param factory        根据存储站名称创建存储站上下文
+     * @return 注册表
+     */
+    public static <C, T extends QofStationContext> QofStationRegistry<T> multiple(Map<String, C> multiple,
+                                                                                   String defaultStation,
+                                                                                   Function<String, T> factory) {
+        Map<String, T> stations = new HashMap<>(multiple.size() * 2);
+        for (String station : multiple.keySet()) {
+            stations.put(station, factory.apply(station));
+        }
+        return new QofStationRegistry<>(Collections.unmodifiableMap(stations), defaultStation,
+                defaultStation == null ? null : stations.get(defaultStation));
+    }
+
+    /**
+     * 获取文件操作实际使用的存储站名称
+     *
+     * @param fileOperationBase 文件操作基础参数
+     * @return 存储站名称
+     */
+    public String resolveStation(QofFileOperationBase fileOperationBase) {
+        String station = fileOperationBase.getFileStorageStation();
+        return station != null && stations.containsKey(station) ? station : defaultStation;
+    }
+
+    /**
+     * 获取文件操作实际使用的存储站上下文
+     *
+     * @param fileOperationBase 文件操作基础参数
+     * @return 存储站上下文
+     * @throws StorageConfigurationException 如果找不到存储站配置
+     */
+    public T get(QofFileOperationBase fileOperationBase) {
+        String station = fileOperationBase.getFileStorageStation();
+        T context = station == null ? null : stations.get(station);
+        if (context == null) {
+            context = defaultContext;
+        }
+        if (context == null) {
+            throw new StorageConfigurationException("未找到存储站配置: " + defaultStation);
+        }
+        return context;
+    }
+}
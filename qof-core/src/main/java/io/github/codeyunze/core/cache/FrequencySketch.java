@@ -0,0 +1,81 @@
+package io.github.codeyunze.core.cache;
+
+/**
+ * 访问频率估算（Count-Min Sketch）
+ * <br>
+ * 每个键映射到4行计数器中各一个位置，频率取4个计数器的最小值，计数器上限为15。
+ * 累计记录的次数达到采样数量后所有计数器减半，使频率随时间衰减，过去的热点文件不会一直占用缓存。
+ * 非线程安全，由调用方加锁。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int MAX_COUNT = 15;
+
+    private static final int[] SEEDS = {0x97cb3127, 0x6ca8a8c5, 0xc2b2ae35, 0x85ebca6b};
+
+    private final byte[][] counters;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    /**
+     * @param expectedEntries 预计同时统计的键数量
+     */
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(expectedEntries, 64) - 1) << 1;
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /**
+     * 记录一次访问
+     */
+    void increment(long key) {
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(key, i);
+            if (counters[i][index] < MAX_COUNT) {
+                counters[i][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 估算的访问频率
+     */
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, counters[i][indexOf(key, i)]);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(long key, int row) {
+        long hash = (key ^ (key >>> 32)) * SEEDS[row];
+        hash ^= hash >>> 29;
+        return (int) hash & mask;
+    }
+}
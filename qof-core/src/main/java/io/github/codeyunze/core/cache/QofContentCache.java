@@ -0,0 +1,241 @@
+package io.github.codeyunze.core.cache;
+
+import io.github.codeyunze.QofProperties;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 小文件内容的内存缓存
+ * <br>
+ * 按文件 Id 缓存存储对象的原始内容（压缩存储的文件为压缩后的内容），内容保存在堆外的直接缓冲区中，不增加垃圾回收的负担。
+ * 缓存总字节数达到上限时按最近最少使用淘汰，新文件只有在访问频率高于被淘汰的文件时才会放入缓存（TinyLFU），
+ * 偶尔访问一次的大量文件不会把头像、缩略图等热点文件挤出缓存。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofContentCache {
+
+    private final QofProperties.ContentCache config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Map<文件Id, 文件内容>，按访问顺序排列，仅在持有锁时访问
+     */
+    private final LinkedHashMap<Long, ByteBuffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 访问频率估算，仅在持有锁时访问
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * 已缓存的字节数，仅在持有锁时修改
+     */
+    private long weightedSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public QofContentCache(QofProperties.ContentCache config) {
+        this.config = config;
+        long expectedEntries = config.getMaxBytes() / Math.max(Math.min(config.getMaxObjectSize(), 4096), 1);
+        this.sketch = new FrequencySketch((int) Math.min(Math.max(expectedEntries, 1), 1 << 20));
+    }
+
+    /**
+     * 是否启用内存缓存
+     *
+     * @return true: 启用；  false: 未启用；
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * 该大小的文件是否可以缓存
+     *
+     * @param size 文件大小（字节）
+     * @return true: 可以缓存；  false: 不缓存；
+     */
+    public boolean isCacheable(long size) {
+        return config.isEnabled() && size > 0 && size <= config.getMaxObjectSize() && size <= config.getMaxBytes();
+    }
+
+    /**
+     * 获取缓存的文件内容，同时记录一次访问
+     *
+     * @param fileId 文件Id
+     * @return 文件内容（独立的只读视图，可直接读取），未缓存时为null
+     */
+    public ByteBuffer get(Long fileId) {
+        ByteBuffer content;
+        lock.lock();
+        try {
+            sketch.increment(fileId);
+            content = entries.get(fileId);
+        } finally {
+            lock.unlock();
+        }
+        if (content == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return content.asReadOnlyBuffer();
+    }
+
+    /**
+     * 该文件当前是否会被放入缓存，用于在读取存储前判断是否需要将内容读入内存
+     *
+     * @param fileId 文件Id
+     * @param size   文件大小（字节）
+     * @return true: 会放入缓存；  false: 不会放入缓存；
+     */
+    public boolean admits(Long fileId, long size) {
+        if (!isCacheable(size)) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return entries.containsKey(fileId) || admittable(fileId, size);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 放入缓存，访问频率不高于需要淘汰的文件时不放入
+     *
+     * @param fileId  文件Id
+     * @param content 文件内容，放入后不可再修改
+     * @return true: 已放入缓存；  false: 未放入缓存；
+     */
+    public boolean put(Long fileId, ByteBuffer content) {
+        int size = content.remaining();
+        if (!isCacheable(size)) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (entries.containsKey(fileId)) {
+                return true;
+            }
+            if (!admittable(fileId, size)) {
+                return false;
+            }
+            Iterator<ByteBuffer> iterator = entries.values().iterator();
+            while (weightedSize + size > config.getMaxBytes() && iterator.hasNext()) {
+                weightedSize -= iterator.next().remaining();
+                iterator.remove();
+                evictions.increment();
+            }
+            entries.put(fileId, content);
+            weightedSize += size;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 移除缓存的文件内容
+     *
+     * @param fileId 文件Id
+     */
+    public void invalidate(Long fileId) {
+        lock.lock();
+        try {
+            ByteBuffer content = entries.remove(fileId);
+            if (content != null) {
+                weightedSize -= content.remaining();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按最近最少使用的顺序检查需要淘汰的文件，新文件的访问频率必须高于每一个需要淘汰的文件
+     */
+    private boolean admittable(Long fileId, long size) {
+        long required = weightedSize + size - config.getMaxBytes();
+        if (required <= 0) {
+            return true;
+        }
+        int frequency = sketch.frequency(fileId);
+        for (Map.Entry<Long, ByteBuffer> victim : entries.entrySet()) {
+            if (sketch.frequency(victim.getKey()) >= frequency) {
+                return false;
+            }
+            required -= victim.getValue().remaining();
+            if (required <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 命中率，尚未访问时为0
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * 已缓存的文件数量
+     */
+    public int getEntryCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已缓存的字节数
+     */
+    public long getWeightedSize() {
+        lock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,746 @@
+package io.github.codeyunze.core.cache;
+
+import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.utils.BoundedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 对象存储文件的本地磁盘缓存
+ * <br>
+ * 按文件 Id 将 COS、OSS 存储对象的完整内容缓存在本地目录中（压缩存储的文件不缓存），缓存总字节数达到上限后按最近最少使用淘汰。
+ * 未缓存时边向客户端返回边写入缓存文件，读取完成后才放入缓存；同一文件同时未命中时只读取一次对象存储，
+ * 其他请求跟随读取正在写入的缓存文件。启动时恢复目录中已有的缓存文件，并删除未写入完成的临时文件，不会删除缓存目录中的其他文件。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofDiskCache {
+
+    private static final Logger log = LoggerFactory.getLogger(QofDiskCache.class);
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * 分段目录名：文件Id低8位的两位十六进制
+     */
+    private static final Pattern SHARD_NAME = Pattern.compile("[0-9a-f]{2}");
+
+    /**
+     * 缓存文件名：文件Id.32位十六进制随机值
+     */
+    private static final Pattern CACHE_FILE_NAME = Pattern.compile("-?\\d{1,19}\\.[0-9a-f]{32}");
+
+    /**
+     * 临时文件名：.文件Id.32位十六进制随机值.tmp
+     */
+    private static final Pattern TEMP_FILE_NAME = Pattern.compile("\\.-?\\d{1,19}\\.[0-9a-f]{32}\\.tmp");
+
+    private final QofProperties.DiskCache config;
+
+    private final Path directory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Map<文件Id, 缓存文件>，按访问顺序排列，仅在持有锁时访问
+     */
+    private final LinkedHashMap<Long, CachedFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 已缓存的字节数，仅在持有锁时修改
+     */
+    private long weightedSize;
+
+    /**
+     * Map<文件Id, 正在写入的缓存文件>
+     */
+    private final Map<Long, Fill> fills = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    public QofDiskCache(QofProperties.DiskCache config) {
+        this.config = config;
+        this.directory = Paths.get(config.getDirectory()).toAbsolutePath().normalize();
+        if (config.isEnabled()) {
+            restore();
+        }
+    }
+
+    /**
+     * 是否启用磁盘缓存
+     *
+     * @return true: 启用；  false: 未启用；
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * 该大小的文件是否可以缓存
+     *
+     * @param size 文件大小（字节）
+     * @return true: 可以缓存；  false: 不缓存；
+     */
+    public boolean isCacheable(long size) {
+        return config.isEnabled() && size > 0 && size <= config.getMaxObjectSize() && size <= config.getMaxBytes();
+    }
+
+    /**
+     * 读取文件的完整内容
+     * <br>
+     * 已缓存时读取缓存文件；同一文件正在写入缓存时跟随读取正在写入的缓存文件；
+     * 否则从 loader 读取，读取的同时写入缓存文件，读取到文件结束后放入缓存
+     *
+     * @param fileId 文件Id
+     * @param size   文件大小（字节）
+     * @param loader 读取存储对象的完整内容
+     * @return 文件输入流
+     */
+    public InputStream open(Long fileId, long size, Supplier<InputStream> loader) {
+        InputStream cached = openCached(fileId, 0, size - 1);
+        if (cached != null) {
+            return cached;
+        }
+
+        Fill fill = new Fill(fileId, size);
+        Fill existing = fills.putIfAbsent(fileId, fill);
+        if (existing != null) {
+            InputStream follower = existing.follow();
+            if (follower != null) {
+                coalesced.increment();
+                return follower;
+            }
+            // 正在写入的缓存文件已完成或失败，重新查找缓存，仍未命中时直接读取存储对象
+            cached = openCached(fileId, 0, size - 1);
+            return cached != null ? cached : loader.get();
+        }
+
+        misses.increment();
+        InputStream source;
+        try {
+            source = loader.get();
+        } catch (RuntimeException | Error e) {
+            fill.fail(e);
+            throw e;
+        }
+        try {
+            fill.begin();
+        } catch (IOException e) {
+            log.warn("创建缓存文件失败，直接返回存储对象内容，文件Id: {}", fileId, e);
+            fill.fail(e);
+            return source;
+        }
+        return new FillingInputStream(source, fill);
+    }
+
+    /**
+     * 读取已缓存文件的部分内容
+     *
+     * @param fileId     文件Id
+     * @param rangeStart 起始位置（包含）
+     * @param rangeEnd   结束位置（包含）
+     * @return 文件输入流，未缓存时为null
+     */
+    public InputStream openCached(Long fileId, long rangeStart, long rangeEnd) {
+        CachedFile cachedFile;
+        lock.lock();
+        try {
+            cachedFile = entries.get(fileId);
+        } finally {
+            lock.unlock();
+        }
+        if (cachedFile == null) {
+            return null;
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(cachedFile.path, StandardOpenOption.READ);
+            channel.position(rangeStart);
+            hits.increment();
+            return new BoundedInputStream(Channels.newInputStream(channel), rangeEnd - rangeStart + 1);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            // 缓存文件被外部删除
+            log.warn("读取缓存文件失败，文件路径: {}", cachedFile.path, e);
+            invalidate(fileId);
+            return null;
+        }
+    }
+
+    /**
+     * 移除缓存的文件
+     *
+     * @param fileId 文件Id
+     */
+    public void invalidate(Long fileId) {
+        CachedFile cachedFile;
+        lock.lock();
+        try {
+            cachedFile = entries.remove(fileId);
+            if (cachedFile != null) {
+                weightedSize -= cachedFile.size;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (cachedFile != null) {
+            deleteQuietly(cachedFile.path);
+        }
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中（读取对象存储）次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 未命中但跟随其他请求读取正在写入的缓存文件的次数
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * 已缓存的文件数量
+     */
+    public int getEntryCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已缓存的字节数
+     */
+    public long getWeightedSize() {
+        lock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 放入缓存，按最近最少使用淘汰超出总字节数上限的文件
+     */
+    private void add(Long fileId, CachedFile cachedFile) {
+        List<CachedFile> victims = new ArrayList<>();
+        lock.lock();
+        try {
+            CachedFile previous = entries.put(fileId, cachedFile);
+            if (previous != null) {
+                weightedSize -= previous.size;
+                victims.add(previous);
+            }
+            weightedSize += cachedFile.size;
+            Iterator<CachedFile> iterator = entries.values().iterator();
+            while (weightedSize > config.getMaxBytes() && iterator.hasNext()) {
+                CachedFile victim = iterator.next();
+                if (victim == cachedFile) {
+                    continue;
+                }
+                iterator.remove();
+                weightedSize -= victim.size;
+                victims.add(victim);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // 正在读取的缓存文件删除后，已打开的文件仍可继续读取（Windows除外）
+        victims.forEach(victim -> deleteQuietly(victim.path));
+    }
+
+    /**
+     * 缓存文件路径：缓存目录/文件Id低8位/文件Id.随机值，删除旧文件时不会误删重新写入的同一文件
+     */
+    private Path cachePathOf(Long fileId) {
+        return directory.resolve(String.format("%02x", fileId & 0xFF))
+                .resolve(fileId + "." + UUID.randomUUID().toString().replace("-", ""));
+    }
+
+    /**
+     * 恢复目录中已有的缓存文件，按最后修改时间作为访问顺序，删除未写入完成的临时文件
+     * <br>
+     * 只处理分段目录（两位十六进制）中按缓存文件规则命名的文件，其他文件和目录只记录日志，不会删除，
+     * 避免缓存目录误配置为共享目录时删除无关的文件
+     */
+    private void restore() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("创建磁盘缓存目录失败: " + directory, e);
+        }
+        Map<Path, Long> fileIds = new HashMap<>();
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        try (Stream<Path> shards = Files.list(directory)) {
+            for (Path shard : (Iterable<Path>) shards::iterator) {
+                if (!Files.isDirectory(shard, LinkOption.NOFOLLOW_LINKS)
+                        || !SHARD_NAME.matcher(shard.getFileName().toString()).matches()) {
+                    log.warn("磁盘缓存目录中存在无法识别的文件，已跳过: {}", shard);
+                    continue;
+                }
+                collect(shard, fileIds, attributes);
+            }
+        } catch (IOException e) {
+            log.warn("扫描磁盘缓存目录失败: {}", directory, e);
+            return;
+        }
+        List<Path> files = new ArrayList<>(fileIds.keySet());
+        files.sort(Comparator.comparing(file -> attributes.get(file).lastModifiedTime()));
+        for (Path file : files) {
+            add(fileIds.get(file), new CachedFile(file, attributes.get(file).size()));
+        }
+        log.info("恢复磁盘缓存文件{}个，共{}字节，缓存目录: {}", getEntryCount(), getWeightedSize(), directory);
+    }
+
+    /**
+     * 收集分段目录中的缓存文件，删除未写入完成的临时文件
+     */
+    private void collect(Path shard, Map<Path, Long> fileIds, Map<Path, BasicFileAttributes> attributes) throws IOException {
+        try (Stream<Path> stream = Files.list(shard)) {
+            for (Path file : (Iterable<Path>) stream::iterator) {
+                String name = file.getFileName().toString();
+                boolean regularFile = Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS);
+                if (regularFile && TEMP_FILE_NAME.matcher(name).matches()) {
+                    deleteQuietly(file);
+                    continue;
+                }
+                Long fileId = regularFile ? fileIdOf(shard, name) : null;
+                if (fileId == null) {
+                    log.warn("磁盘缓存目录中存在无法识别的文件，已跳过: {}", file);
+                    continue;
+                }
+                try {
+                    attributes.put(file, Files.readAttributes(file, BasicFileAttributes.class));
+                    fileIds.put(file, fileId);
+                } catch (IOException e) {
+                    log.warn("读取缓存文件属性失败: {}", file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 解析缓存文件名中的文件Id
+     *
+     * @return 文件Id，文件名不符合缓存文件规则或不在文件Id对应的分段目录中时为null
+     */
+    private static Long fileIdOf(Path shard, String name) {
+        if (!CACHE_FILE_NAME.matcher(name).matches()) {
+            return null;
+        }
+        try {
+            long fileId = Long.parseLong(name.substring(0, name.indexOf('.')));
+            return shard.getFileName().toString().equals(String.format("%02x", fileId & 0xFF)) ? fileId : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除缓存文件失败: {}", path, e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("关闭缓存文件失败", e);
+        }
+    }
+
+    /**
+     * 已缓存的文件
+     */
+    private static class CachedFile {
+
+        private final Path path;
+
+        private final long size;
+
+        CachedFile(Path path, long size) {
+            this.path = path;
+            this.size = size;
+        }
+    }
+
+    /**
+     * 正在写入的缓存文件，由第一个未命中的请求写入，同时未命中的其他请求跟随读取
+     */
+    private class Fill {
+
+        private final Long fileId;
+
+        private final long size;
+
+        private Path tempFile;
+
+        private FileChannel channel;
+
+        /**
+         * 已写入的字节数，仅在持有当前对象的锁时访问
+         */
+        private long written;
+
+        private boolean started;
+
+        private boolean finished;
+
+        /**
+         * 存储对象已读取完，已写入的内容即完整内容
+         */
+        private boolean ended;
+
+        private Throwable failure;
+
+        /**
+         * 正在跟随读取的请求数量
+         */
+        private int followers;
+
+        Fill(Long fileId, long size) {
+            this.fileId = fileId;
+            this.size = size;
+        }
+
+        synchronized void begin() throws IOException {
+            Path target = cachePathOf(fileId);
+            Files.createDirectories(target.getParent());
+            tempFile = target.resolveSibling("." + target.getFileName() + TEMP_FILE_SUFFIX);
+            channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            started = true;
+            notifyAll();
+        }
+
+        /**
+         * 写入从存储对象读取的内容，写入失败时只放弃缓存，不影响向客户端返回
+         */
+        void append(byte[] b, int off, int len) {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                log.warn("写入缓存文件失败，放弃缓存，文件Id: {}", fileId, e);
+                fail(e);
+                return;
+            }
+            synchronized (this) {
+                written += len;
+                notifyAll();
+            }
+        }
+
+        /**
+         * 存储对象读取完成，大小与文件信息一致时放入缓存
+         */
+        void complete() {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                ended = true;
+                if (written != size) {
+                    log.warn("文件实际大小与文件信息不一致，不放入磁盘缓存，文件Id: {}", fileId);
+                    fail(new IOException("文件实际大小与文件信息不一致"));
+                    return;
+                }
+                Path target = tempFile.resolveSibling(tempFile.getFileName().toString()
+                        .substring(1, tempFile.getFileName().toString().length() - TEMP_FILE_SUFFIX.length()));
+                try {
+                    channel.close();
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.warn("缓存文件重命名失败，放弃缓存，文件Id: {}", fileId, e);
+                    fail(e);
+                    return;
+                }
+                finished = true;
+                tempFile = target;
+                add(fileId, new CachedFile(target, size));
+                fills.remove(fileId, this);
+                notifyAll();
+            }
+        }
+
+        /**
+         * 放弃缓存，删除临时文件，跟随读取的请求读取失败
+         */
+        void fail(Throwable e) {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                failure = e;
+                fills.remove(fileId, this);
+                notifyAll();
+            }
+            closeQuietly(channel);
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+
+        /**
+         * 是否仍在写入且有请求正在跟随读取
+         */
+        synchronized boolean hasFollowers() {
+            return followers > 0 && !finished;
+        }
+
+        /**
+         * 跟随读取正在写入的缓存文件
+         *
+         * @return 文件输入流，缓存文件已完成或写入失败时为null
+         */
+        synchronized InputStream follow() {
+            try {
+                long deadline = System.nanoTime() + config.getFillWaitTimeout().toNanos();
+                while (!started && !finished) {
+                    long waitMillis = (deadline - System.nanoTime()) / 1_000_000;
+                    if (waitMillis <= 0) {
+                        return null;
+                    }
+                    wait(waitMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (finished) {
+                return null;
+            }
+            try {
+                // 在持有锁时打开临时文件，写入完成后的重命名不会影响已打开的文件
+                FileChannel readChannel = FileChannel.open(tempFile, StandardOpenOption.READ);
+                followers++;
+                return new FollowingInputStream(this, readChannel);
+            } catch (IOException e) {
+                log.warn("打开正在写入的缓存文件失败，文件Id: {}", fileId, e);
+                return null;
+            }
+        }
+
+        /**
+         * 等待写入超过指定位置
+         * <br>
+         * 写入失败时，已写入的内容仍可以读取，读取到已写入的位置后：存储对象已读取完则视为文件结束，否则读取失败
+         *
+         * @return 可读取的字节数，文件结束时为-1
+         */
+        synchronized long awaitAvailable(long position) throws IOException {
+            long deadline = System.nanoTime() + config.getFillWaitTimeout().toNanos();
+            while (written <= position && !finished) {
+                long waitMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (waitMillis <= 0) {
+                    throw new IOException("等待缓存文件写入超时，文件Id: " + fileId);
+                }
+                try {
+                    wait(waitMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("等待缓存文件写入时被中断");
+                }
+            }
+            if (written > position) {
+                return written - position;
+            }
+            if (failure != null && !ended) {
+                throw new IOException("缓存文件写入失败，文件Id: " + fileId, failure);
+            }
+            return -1;
+        }
+
+        synchronized void unfollow() {
+            followers--;
+        }
+    }
+
+    /**
+     * 第一个未命中的请求读取的输入流，读取存储对象的同时写入缓存文件
+     * <br>
+     * 未读取完就关闭时，有其他请求跟随读取则继续读取剩余内容写入缓存文件，否则放弃缓存
+     */
+    private class FillingInputStream extends FilterInputStream {
+
+        private final Fill fill;
+
+        FillingInputStream(InputStream in, Fill fill) {
+            super(in);
+            this.fill = fill;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n;
+            try {
+                n = in.read(b, off, len);
+            } catch (IOException | RuntimeException e) {
+                fill.fail(e);
+                throw e;
+            }
+            if (n > 0) {
+                fill.append(b, off, n);
+            } else if (n < 0) {
+                fill.complete();
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 跳过的内容同样需要写入缓存文件
+            byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int count = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (count < 0) {
+                    break;
+                }
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (fill.hasFollowers()) {
+                    byte[] buffer = new byte[8192];
+                    while (read(buffer, 0, buffer.length) >= 0) {
+                        // 读取剩余内容写入缓存文件
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("读取剩余内容失败，放弃缓存，文件Id: {}", fill.fileId, e);
+            } finally {
+                fill.fail(new IOException("读取未完成"));
+                super.close();
+            }
+        }
+    }
+
+    /**
+     * 跟随读取正在写入的缓存文件的输入流
+     */
+    private static class FollowingInputStream extends InputStream {
+
+        private final Fill fill;
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private boolean closed;
+
+        FollowingInputStream(Fill fill, FileChannel channel) {
+            this.fill = fill;
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            long available = fill.awaitAvailable(position);
+            if (available < 0) {
+                return -1;
+            }
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available)), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                fill.unfollow();
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.codeyunze.core.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 存储压缩
+ * <br>
+ * 对象存储上传需要预先知道内容长度，压缩后的大小无法提前得知，因此先压缩到临时文件，再上传临时文件。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public final class StorageCompression {
+
+    /**
+     * gzip 压缩编码，与 HTTP Content-Encoding 一致
+     */
+    public static final String GZIP = "gzip";
+
+    private static final String TEMP_FILE_PREFIX = "qof-compress-";
+
+    private StorageCompression() {
+    }
+
+    /**
+     * 将输入流压缩到临时文件，读取完成后关闭输入流
+     *
+     * @param source     原始内容
+     * @param bufferSize 缓冲区大小
+     * @return 压缩后的临时文件，由调用方负责删除
+     */
+    public static Path gzipToTempFile(InputStream source, int bufferSize) throws IOException {
+        Path tempFile = Files.createTempFile(TEMP_FILE_PREFIX, ".gz");
+        try (InputStream in = source;
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile), bufferSize)) {
+            byte[] buffer = new byte[bufferSize];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return tempFile;
+    }
+
+    /**
+     * 按压缩编码解压输入流
+     *
+     * @param in              存储对象的内容
+     * @param contentEncoding 压缩编码
+     * @param bufferSize      缓冲区大小
+     * @return 原始内容
+     */
+    public static InputStream decompress(InputStream in, String contentEncoding, int bufferSize) throws IOException {
+        if (!GZIP.equalsIgnoreCase(contentEncoding)) {
+            throw new IOException("不支持的压缩编码: " + contentEncoding);
+        }
+        return new GZIPInputStream(in, bufferSize);
+    }
+
+    /**
+     * 客户端是否接受该压缩编码
+     *
+     * @param acceptEncoding  客户端的 Accept-Encoding 请求头
+     * @param contentEncoding 压缩编码
+     * @return true: 接受；   false: 不接受；
+     */
+    public static boolean isAccepted(String acceptEncoding, String contentEncoding) {
+        if (acceptEncoding == null || contentEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(contentEncoding) && !"*".equals(parts[0].trim())) {
+                continue;
+            }
+            // q=0 表示明确不接受
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && isZero(param.substring(2).trim())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String qvalue) {
+        try {
+            return Double.parseDouble(qvalue) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
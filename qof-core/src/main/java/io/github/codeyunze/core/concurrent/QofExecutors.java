@@ -0,0 +1,80 @@
+package io.github.codeyunze.core.concurrent;
+
+import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.exception.StorageConfigurationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文件操作线程池
+ * <br>
+ * 每种存储模式使用独立的有界线程池，某个存储响应变慢时不会占满其他存储模式的线程。
+ * 队列已满时由调用线程自己执行任务，不会无限排队。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofExecutors {
+
+    private final Map<String, QofProperties.TaskPool> taskPools;
+
+    /**
+     * Map<存储模式, 线程池>
+     */
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    /**
+     * @param taskPools 各存储模式的线程池配置，未配置的存储模式使用默认配置
+     */
+    public QofExecutors(Map<String, QofProperties.TaskPool> taskPools) {
+        this.taskPools = taskPools;
+    }
+
+    /**
+     * 获取存储模式对应的线程池
+     *
+     * @param storageMode 存储模式
+     * @return 线程池
+     */
+    public ThreadPoolExecutor getExecutor(String storageMode) {
+        ThreadPoolExecutor executor = executors.get(storageMode);
+        if (executor != null) {
+            return executor;
+        }
+        return executors.computeIfAbsent(storageMode, this::createExecutor);
+    }
+
+    private ThreadPoolExecutor createExecutor(String storageMode) {
+        QofProperties.TaskPool taskPool = taskPools.get(storageMode);
+        if (taskPool == null) {
+            taskPool = new QofProperties.TaskPool();
+        }
+        if (taskPool.getThreads() <= 0 || taskPool.getQueueCapacity() < 0) {
+            throw new StorageConfigurationException("存储模式[" + storageMode + "]的线程池配置[qof.executor." + storageMode
+                    + "]无效，线程数必须大于0，队列容量不能小于0");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(taskPool.getThreads(), taskPool.getThreads(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(taskPool.getQueueCapacity(), 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "qof-" + storageMode + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 关闭所有线程池
+     */
+    public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.codeyunze.core.concurrent;
+
+import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.exception.TransferRejectedException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文件传输准入控制
+ * <br>
+ * 上传、下载开始前按文件大小申请额度，同时受全局额度和存储站额度限制，传输结束后释放。
+ * 额度不足时在配置的时间内排队等待，超时或排队已满时抛出 {@link TransferRejectedException}。
+ * 等待的传输在有额度释放时重新检查，不保证严格按到达顺序放行。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class TransferAdmissionController {
+
+    private final QofProperties.Admission config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    private final Budget global;
+
+    /**
+     * Map<存储模式:存储站, 存储站额度>，未配置额度的存储站为null，仅在持有锁时访问
+     */
+    private final Map<String, Budget> stationBudgets = new HashMap<>();
+
+    /**
+     * 排队等待中的传输数量，仅在持有锁时访问
+     */
+    private int queued;
+
+    public TransferAdmissionController(QofProperties.Admission config) {
+        this.config = config;
+        this.global = new Budget(config.getMaxConcurrentTransfers(), config.getMaxInFlightBytes());
+    }
+
+    /**
+     * 是否启用准入控制
+     *
+     * @return true: 启用；  false: 未启用；
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * 申请传输额度
+     *
+     * @param storageMode    存储模式
+     * @param storageStation 存储站
+     * @param bytes          传输的字节数，未知时为0
+     * @return 传输许可，传输结束后必须关闭；未启用准入控制时返回 {@link Permit#NONE}
+     * @throws TransferRejectedException 额度不足且排队超时，或排队已满
+     */
+    public Permit acquire(String storageMode, String storageStation, long bytes) {
+        if (!config.isEnabled()) {
+            return Permit.NONE;
+        }
+        long requested = Math.max(bytes, 0);
+        lock.lock();
+        try {
+            Budget station = stationBudget(storageMode, storageStation);
+            if (tryReserve(station, requested)) {
+                return new Permit(this, station, requested);
+            }
+            long waitNanos = config.getMaxWait() == null ? 0 : config.getMaxWait().toNanos();
+            if (waitNanos <= 0 || queued >= config.getMaxQueued()) {
+                throw rejected(storageStation);
+            }
+            queued++;
+            try {
+                while (!tryReserve(station, requested)) {
+                    if (waitNanos <= 0) {
+                        throw rejected(storageStation);
+                    }
+                    waitNanos = released.awaitNanos(waitNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransferRejectedException("等待传输额度时被中断", config.getRetryAfter());
+            } finally {
+                queued--;
+            }
+            return new Permit(this, station, requested);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前同时进行的传输数量
+     */
+    public int getInFlightTransfers() {
+        lock.lock();
+        try {
+            return global.transfers;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前在途字节数
+     */
+    public long getInFlightBytes() {
+        lock.lock();
+        try {
+            return global.bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Budget stationBudget(String storageMode, String storageStation) {
+        if (storageStation == null) {
+            return null;
+        }
+        String key = storageMode + ":" + storageStation;
+        if (stationBudgets.containsKey(key)) {
+            return stationBudgets.get(key);
+        }
+        QofProperties.AdmissionLimit limit = config.getStations().get(storageStation);
+        Budget budget = limit == null ? null : new Budget(limit.getMaxConcurrentTransfers(), limit.getMaxInFlightBytes());
+        stationBudgets.put(key, budget);
+        return budget;
+    }
+
+    private boolean tryReserve(Budget station, long bytes) {
+        if (!global.fits(bytes) || (station != null && !station.fits(bytes))) {
+            return false;
+        }
+        global.add(1, bytes);
+        if (station != null) {
+            station.add(1, bytes);
+        }
+        return true;
+    }
+
+    private void release(Budget station, long bytes) {
+        lock.lock();
+        try {
+            global.add(-1, -bytes);
+            if (station != null) {
+                station.add(-1, -bytes);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TransferRejectedException rejected(String storageStation) {
+        return new TransferRejectedException("存储站[" + storageStation + "]传输繁忙，请稍后重试", config.getRetryAfter());
+    }
+
+    /**
+     * 一组额度及其使用情况
+     */
+    private static class Budget {
+
+        private final int maxTransfers;
+
+        private final long maxBytes;
+
+        private int transfers;
+
+        private long bytes;
+
+        Budget(int maxTransfers, long maxBytes) {
+            this.maxTransfers = maxTransfers;
+            this.maxBytes = maxBytes;
+        }
+
+        boolean fits(long requested) {
+            if (maxTransfers > 0 && transfers >= maxTransfers) {
+                return false;
+            }
+            // 超过字节额度的单个文件只在没有其他在途字节时放行，避免永远无法传输
+            return maxBytes <= 0 || bytes == 0 || bytes + requested <= maxBytes;
+        }
+
+        void add(int transfers, long bytes) {
+            this.transfers += transfers;
+            this.bytes += bytes;
+        }
+    }
+
+    /**
+     * 传输许可，关闭时释放额度，重复关闭不会重复释放
+     */
+    public static class Permit implements AutoCloseable {
+
+        /**
+         * 未启用准入控制时使用的许可，关闭时不做任何处理
+         */
+        public static final Permit NONE = new Permit(null, null, 0);
+
+        private final TransferAdmissionController controller;
+
+        private final Budget station;
+
+        private final long bytes;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(TransferAdmissionController controller, Budget station, long bytes) {
+            this.controller = controller;
+            this.station = station;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (controller != null && closed.compareAndSet(false, true)) {
+                controller.release(station, bytes);
+            }
+        }
+    }
+}
@@ -2,17 +2,31 @@ package io.github.codeyunze.core.cos;
 
 import com.qcloud.cos.COSClient;
 import com.qcloud.cos.exception.CosClientException;
+import com.qcloud.cos.http.HttpMethodName;
 import com.qcloud.cos.exception.CosServiceException;
+import com.qcloud.cos.model.AbortMultipartUploadRequest;
 import com.qcloud.cos.model.COSObject;
+import com.qcloud.cos.model.CompleteMultipartUploadRequest;
+import com.qcloud.cos.model.GeneratePresignedUrlRequest;
 import com.qcloud.cos.model.GetObjectRequest;
+import com.qcloud.cos.model.InitiateMultipartUploadRequest;
 import com.qcloud.cos.model.ObjectMetadata;
+import com.qcloud.cos.model.PartETag;
 import com.qcloud.cos.model.PutObjectRequest;
+import com.qcloud.cos.model.ResponseHeaderOverrides;
+import com.qcloud.cos.model.UploadPartRequest;
 import io.github.codeyunze.QofConstant;
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.bo.QofChunkUploadBo;
 import io.github.codeyunze.bo.QofFileDownloadBo;
 import io.github.codeyunze.bo.QofFileInfoBo;
+import io.github.codeyunze.bo.QofPresignedUploadBo;
+import io.github.codeyunze.bo.QofStorageObjectBo;
 import io.github.codeyunze.core.AbstractQofClient;
 import io.github.codeyunze.core.QofFileOperationBase;
-import io.github.codeyunze.core.StorageStationHelper;
+import io.github.codeyunze.core.QofStationRegistry;
+import io.github.codeyunze.core.multipart.MultipartUploadPolicy;
+import io.github.codeyunze.core.multipart.ParallelPartUploader;
 import io.github.codeyunze.dto.QofFileInfoDto;
 import io.github.codeyunze.exception.FileUploadException;
 import io.github.codeyunze.exception.FileDownloadException;
@@ -22,12 +36,26 @@ import io.github.codeyunze.utils.StrUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import javax.annotation.Resource;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -38,7 +66,7 @@ import java.util.Map;
  */
 @Service
 @ConditionalOnProperty(prefix = "qof.cos", name = QofConstant.ENABLE, havingValue = QofConstant.ENABLE_VALUE)
-public class CosQofClient extends AbstractQofClient {
+public class CosQofClient extends AbstractQofClient implements InitializingBean {
 
     private static final Logger log = LoggerFactory.getLogger(CosQofClient.class);
 
@@ -48,69 +76,62 @@ public class CosQofClient extends AbstractQofClient {
     @Resource
     private Map<String, COSClient> cosClientMap;
 
+    @Resource
+    private ParallelPartUploader parallelPartUploader;
+
+    /**
+     * 各存储站上下文
+     */
+    private QofStationRegistry<CosStationContext> stations;
+
     public CosQofClient(QofExtService qofExtService) {
         super(qofExtService);
     }
 
-    private COSClient getClient(QofFileOperationBase fileOperationBase) {
-        String fileStorageStation = StorageStationHelper.getStorageStation(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation()
-        );
-        String clientKey = fileStorageStation + StrUtils.toUpperCase(QofConstant.StorageMode.COS);
-        COSClient client = cosClientMap.get(clientKey);
-        if (client == null) {
-            throw new IllegalStateException("未找到COS客户端，存储站: " + fileStorageStation);
-        }
-        return client;
-    }
-
-    private String getBucketName(QofFileOperationBase fileOperationBase) {
-        return StorageStationHelper.getConfigValue(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation(),
-                (v) -> fileProperties.getBucketName(),
-                CosQofConfig::getBucketName,
-                "bucket-name"
-        );
-    }
-
-    private String getFilePath(QofFileOperationBase fileOperationBase) {
-        String filepath = StorageStationHelper.getConfigValue(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation(),
-                (v) -> fileProperties.getFilepath(),
-                CosQofConfig::getFilepath,
-                "filepath"
-        );
-        return filepath + fileOperationBase.getFilePath();
-    }
-
-    private Long getTrafficLimit(QofFileOperationBase fileOperationBase) {
-        Long limit = StorageStationHelper.getConfigValue(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation(),
-                (v) -> fileProperties.getTrafficLimit(),
-                CosQofConfig::getTrafficLimit,
-                "traffic-limit"
-        );
-        return limit != null ? limit : fileProperties.getTrafficLimit();
+    @Override
+    public void afterPropertiesSet() {
+        if (CollectionUtils.isEmpty(fileProperties.getMultiple())) {
+            COSClient client = cosClientMap.get(QofConstant.DEFAULT + StrUtils.toUpperCase(QofConstant.StorageMode.COS));
+            this.stations = QofStationRegistry.single(new CosStationContext(fileProperties.getDefaultStorageStation(), client,
+                    fileProperties.getBucketName(), fileProperties.getFilepath(), fileProperties.getTrafficLimit(),
+                    multipartPolicy(fileProperties)));
+            return;
+        }
+        this.stations = QofStationRegistry.multiple(fileProperties.getMultiple(), fileProperties.getDefaultStorageStation(),
+                station -> {
+                    CosQofConfig config = fileProperties.getMultiple().get(station);
+                    COSClient client = cosClientMap.get(station + StrUtils.toUpperCase(QofConstant.StorageMode.COS));
+                    return new CosStationContext(station, client,
+                            config.getBucketName() != null ? config.getBucketName() : fileProperties.getBucketName(),
+                            config.getFilepath() != null ? config.getFilepath() : fileProperties.getFilepath(),
+                            config.getTrafficLimit() != null ? config.getTrafficLimit() : fileProperties.getTrafficLimit(),
+                            multipartPolicy(config));
+                });
+    }
+
+    private static MultipartUploadPolicy multipartPolicy(CosQofConfig config) {
+        return new MultipartUploadPolicy(config.getMultipartThreshold(), config.getMultipartPartSize(),
+                config.getMultipartConcurrency());
+    }
+
+    @Override
+    public String getStorageMode() {
+        return QofConstant.StorageMode.COS;
+    }
+
+    @Override
+    protected String resolveStorageStation(QofFileOperationBase fileOperationBase) {
+        // 如果用户传入的存储站在配置中不存在，会使用默认存储站
+        return stations.resolveStation(fileOperationBase);
     }
 
     @Override
     protected Long doUpload(InputStream fis, QofFileInfoDto<?> info) {
         // 获取实际使用的存储站（如果用户传入的存储站在配置中不存在，会使用默认存储站）
         // 更新到info中，确保保存到数据库时使用的是实际使用的存储站
-        String actualStorageStation = StorageStationHelper.getStorageStation(
-                info,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation()
-        );
-        info.setFileStorageStation(actualStorageStation);
+        info.setFileStorageStation(resolveStorageStation(info));
+        CosStationContext station = stations.get(info);
+        String key = station.getKey(info);
         
         ObjectMetadata objectMetadata = new ObjectMetadata();
         // 上传的流如果能够获取准确的流长度，则推荐一定填写 content-length
@@ -118,59 +139,321 @@ public class CosQofClient extends AbstractQofClient {
         objectMetadata.setContentLength(info.getFileSize());
         // 设置单链接限速（如有需要），不需要可忽略
         try (InputStream inputStream = fis) {
-            PutObjectRequest putObjectRequest = new PutObjectRequest(getBucketName(info), getFilePath(info), inputStream, objectMetadata);
-            Long trafficLimit = getTrafficLimit(info);
+            // 大文件使用分片并行上传
+            if (station.getMultipartPolicy().isMultipart(info.getFileSize())) {
+                multipartUpload(station, key, inputStream, info.getFileSize());
+                return info.getFileId();
+            }
+            PutObjectRequest putObjectRequest = new PutObjectRequest(station.getBucketName(), key, inputStream, objectMetadata);
+            Long trafficLimit = station.getTrafficLimit();
             if (trafficLimit != null && trafficLimit > 0) {
                 putObjectRequest.setTrafficLimit(trafficLimit.intValue());
             }
-            COSClient client = getClient(info);
-            client.putObject(putObjectRequest);
+            station.getClient().putObject(putObjectRequest);
         } catch (CosServiceException e) {
-            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", getFilePath(info), e.getErrorCode(), e.getErrorMessage(), e);
+            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
             throw new FileUploadException("文件上传失败，请稍后重试", e);
         } catch (CosClientException e) {
-            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", getFilePath(info), e.getMessage(), e);
+            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
             throw new FileUploadException("文件上传失败，请稍后重试", e);
         } catch (IOException e) {
-            log.error("文件流处理异常，文件路径: {}", getFilePath(info), e);
+            log.error("文件流处理异常，文件路径: {}", key, e);
             throw new FileUploadException("文件上传失败，请稍后重试", e);
         }
         return info.getFileId();
     }
 
+    /**
+     * 基于文件上传，SDK可在请求失败时重新读取文件重试
+     */
+    @Override
+    protected Long doUploadFile(Path source, QofFileInfoDto<?> info) {
+        // 获取实际使用的存储站（如果用户传入的存储站在配置中不存在，会使用默认存储站）
+        // 更新到info中，确保保存到数据库时使用的是实际使用的存储站
+        info.setFileStorageStation(resolveStorageStation(info));
+        CosStationContext station = stations.get(info);
+        String key = station.getKey(info);
+        File file = source.toFile();
+        try {
+            // 大文件使用分片并行上传
+            if (station.getMultipartPolicy().isMultipart(info.getFileSize())) {
+                multipartUpload(station, key, file, info.getFileSize());
+                return info.getFileId();
+            }
+            PutObjectRequest putObjectRequest = new PutObjectRequest(station.getBucketName(), key, file);
+            Long trafficLimit = station.getTrafficLimit();
+            if (trafficLimit != null && trafficLimit > 0) {
+                putObjectRequest.setTrafficLimit(trafficLimit.intValue());
+            }
+            station.getClient().putObject(putObjectRequest);
+        } catch (CosServiceException e) {
+            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        } catch (CosClientException e) {
+            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        return info.getFileId();
+    }
+
+    /**
+     * 基于文件的分片并行上传，分片由SDK直接从文件的指定位置读取，任一分片失败时取消本次分片上传
+     */
+    private void multipartUpload(CosStationContext station, String key, File file, long fileSize) {
+        COSClient client = station.getClient();
+        String bucketName = station.getBucketName();
+        Long trafficLimit = station.getTrafficLimit();
+        MultipartUploadPolicy policy = station.getMultipartPolicy();
+        String uploadId = client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)).getUploadId();
+        try {
+            List<PartETag> partETags = parallelPartUploader.upload(fileSize, policy.getPartSize(fileSize), policy.getConcurrency(),
+                    (partNumber, offset, length) -> {
+                        UploadPartRequest uploadPartRequest = new UploadPartRequest();
+                        uploadPartRequest.setBucketName(bucketName);
+                        uploadPartRequest.setKey(key);
+                        uploadPartRequest.setUploadId(uploadId);
+                        uploadPartRequest.setPartNumber(partNumber);
+                        uploadPartRequest.setFile(file);
+                        uploadPartRequest.setFileOffset(offset);
+                        uploadPartRequest.setPartSize(length);
+                        if (trafficLimit != null && trafficLimit > 0) {
+                            uploadPartRequest.setTrafficLimit(trafficLimit.intValue());
+                        }
+                        return client.uploadPart(uploadPartRequest).getPartETag();
+                    });
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+        } catch (RuntimeException e) {
+            try {
+                client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException abortException) {
+                log.warn("取消COS分片上传失败，文件路径: {}, uploadId: {}", key, uploadId, abortException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 分片并行上传，任一分片失败时取消本次分片上传，清理已上传的分片
+     */
+    private void multipartUpload(CosStationContext station, String key, InputStream inputStream, long fileSize) throws IOException {
+        COSClient client = station.getClient();
+        String bucketName = station.getBucketName();
+        Long trafficLimit = station.getTrafficLimit();
+        MultipartUploadPolicy policy = station.getMultipartPolicy();
+        String uploadId = client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)).getUploadId();
+        try {
+            List<PartETag> partETags = parallelPartUploader.upload(inputStream, policy.getPartSize(fileSize), policy.getConcurrency(),
+                    (partNumber, buffer, length) -> {
+                        UploadPartRequest uploadPartRequest = new UploadPartRequest();
+                        uploadPartRequest.setBucketName(bucketName);
+                        uploadPartRequest.setKey(key);
+                        uploadPartRequest.setUploadId(uploadId);
+                        uploadPartRequest.setPartNumber(partNumber);
+                        uploadPartRequest.setInputStream(new ByteArrayInputStream(buffer, 0, length));
+                        uploadPartRequest.setPartSize(length);
+                        if (trafficLimit != null && trafficLimit > 0) {
+                            uploadPartRequest.setTrafficLimit(trafficLimit.intValue());
+                        }
+                        return client.uploadPart(uploadPartRequest).getPartETag();
+                    });
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+        } catch (IOException | RuntimeException e) {
+            try {
+                client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException abortException) {
+                log.warn("取消COS分片上传失败，文件路径: {}, uploadId: {}", key, uploadId, abortException);
+            }
+            throw e;
+        }
+    }
+
     @Override
     protected QofFileDownloadBo doDownload(QofFileInfoBo<?> fileBo) {
+        return getObject(fileBo, -1, -1);
+    }
+
+    @Override
+    protected QofFileDownloadBo doDownloadRange(QofFileInfoBo<?> fileBo, long rangeStart, long rangeEnd) {
+        return getObject(fileBo, rangeStart, rangeEnd);
+    }
+
+    /**
+     * 读取存储对象
+     *
+     * @param rangeStart 起始位置（包含），小于0时读取完整内容
+     * @param rangeEnd   结束位置（包含）
+     */
+    private QofFileDownloadBo getObject(QofFileInfoBo<?> fileBo, long rangeStart, long rangeEnd) {
+        CosStationContext station = stations.get(fileBo);
+        String key = station.getKey(fileBo);
         try {
-            GetObjectRequest getObjectRequest = new GetObjectRequest(getBucketName(fileBo), getFilePath(fileBo));
-            COSObject cosObject = getClient(fileBo).getObject(getObjectRequest);
+            GetObjectRequest getObjectRequest = new GetObjectRequest(station.getBucketName(), key);
+            if (rangeStart >= 0) {
+                getObjectRequest.setRange(rangeStart, rangeEnd);
+            }
+            COSObject cosObject = station.getClient().getObject(getObjectRequest);
 
             QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
             BeanUtils.copyProperties(fileBo, fileDownloadBo);
             fileDownloadBo.setInputStream(cosObject.getObjectContent());
             return fileDownloadBo;
         } catch (CosServiceException e) {
-            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", getFilePath(fileBo), e.getErrorCode(), e.getErrorMessage(), e);
+            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
             throw new FileDownloadException("文件下载失败，请稍后重试", e);
         } catch (CosClientException e) {
-            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", getFilePath(fileBo), e.getMessage(), e);
+            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
             throw new FileDownloadException("文件下载失败，请稍后重试", e);
         }
     }
 
     @Override
     protected boolean doDelete(QofFileInfoBo<?> fileBo) {
+        CosStationContext station = stations.get(fileBo);
+        String key = station.getKey(fileBo);
         try {
-            getClient(fileBo).deleteObject(getBucketName(fileBo), getFilePath(fileBo));
+            station.getClient().deleteObject(station.getBucketName(), key);
             return true;
         } catch (CosServiceException e) {
-            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", getFilePath(fileBo), e.getErrorCode(), e.getErrorMessage(), e);
+            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
             throw new FileDeleteException("文件删除失败，请稍后重试", e);
         } catch (CosClientException e) {
-            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", getFilePath(fileBo), e.getMessage(), e);
+            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
             throw new FileDeleteException("文件删除失败，请稍后重试", e);
         } catch (Exception e) {
-            log.error("文件删除异常，文件路径: {}", getFilePath(fileBo), e);
+            log.error("文件删除异常，文件路径: {}", key, e);
             throw new FileDeleteException("文件删除失败，请稍后重试", e);
         }
     }
+
+    @Override
+    protected String doInitChunkUpload(QofChunkUploadBo uploadBo) {
+        CosStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        try {
+            return station.getClient().initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(station.getBucketName(), key)).getUploadId();
+        } catch (CosClientException e) {
+            log.error("COS初始化分片上传失败，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected String doUploadChunk(QofChunkUploadBo uploadBo, int partNumber, InputStream fis, long partSize) {
+        CosStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        try (InputStream inputStream = fis) {
+            UploadPartRequest uploadPartRequest = new UploadPartRequest();
+            uploadPartRequest.setBucketName(station.getBucketName());
+            uploadPartRequest.setKey(key);
+            uploadPartRequest.setUploadId(uploadBo.getStorageUploadId());
+            uploadPartRequest.setPartNumber(partNumber);
+            uploadPartRequest.setInputStream(inputStream);
+            uploadPartRequest.setPartSize(partSize);
+            Long trafficLimit = station.getTrafficLimit();
+            if (trafficLimit != null && trafficLimit > 0) {
+                uploadPartRequest.setTrafficLimit(trafficLimit.intValue());
+            }
+            return station.getClient().uploadPart(uploadPartRequest).getETag();
+        } catch (CosServiceException e) {
+            log.error("COS服务异常，文件路径: {}, 分片: {}, 错误码: {}, 错误信息: {}", key, partNumber, e.getErrorCode(), e.getErrorMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        } catch (CosClientException e) {
+            log.error("COS客户端异常，文件路径: {}, 分片: {}, 异常信息: {}", key, partNumber, e.getMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        } catch (IOException e) {
+            log.error("文件流处理异常，文件路径: {}, 分片: {}", key, partNumber, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected void doCompleteChunkUpload(QofChunkUploadBo uploadBo, List<QofChunkPartBo> parts) {
+        CosStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        List<PartETag> partETags = new ArrayList<>(parts.size());
+        for (QofChunkPartBo part : parts) {
+            partETags.add(new PartETag(part.getPartNumber(), part.getEtag()));
+        }
+        try {
+            station.getClient().completeMultipartUpload(new CompleteMultipartUploadRequest(station.getBucketName(), key,
+                    uploadBo.getStorageUploadId(), partETags));
+        } catch (CosClientException e) {
+            log.error("COS合并分片失败，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected void doAbortChunkUpload(QofChunkUploadBo uploadBo) {
+        CosStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        try {
+            station.getClient().abortMultipartUpload(new AbortMultipartUploadRequest(station.getBucketName(), key,
+                    uploadBo.getStorageUploadId()));
+        } catch (CosClientException e) {
+            log.error("取消COS分片上传失败，文件路径: {}, uploadId: {}", key, uploadBo.getStorageUploadId(), e);
+            throw new FileUploadException("取消上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected String doPresignUpload(QofPresignedUploadBo uploadBo) {
+        CosStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        Date expiration = Date.from(uploadBo.getExpireTime().atZone(ZoneId.systemDefault()).toInstant());
+        try {
+            // 上传时必须携带的请求头参与签名
+            URL url = station.getClient().generatePresignedUrl(station.getBucketName(), key, expiration,
+                    HttpMethodName.PUT, uploadBo.getUploadHeaders(), new HashMap<>());
+            return url.toString();
+        } catch (CosClientException e) {
+            log.error("生成COS上传地址失败，文件路径: {}", key, e);
+            throw new FileUploadException("生成上传地址失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected QofStorageObjectBo doStatObject(QofFileOperationBase fileOperationBase) {
+        CosStationContext station = stations.get(fileOperationBase);
+        String key = station.getKey(fileOperationBase);
+        try {
+            ObjectMetadata objectMetadata = station.getClient().getObjectMetadata(station.getBucketName(), key);
+            QofStorageObjectBo storageObject = new QofStorageObjectBo();
+            storageObject.setContentLength(objectMetadata.getContentLength());
+            storageObject.setContentType(objectMetadata.getContentType());
+            storageObject.setETag(objectMetadata.getETag());
+            return storageObject;
+        } catch (CosServiceException e) {
+            if (e.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            log.error("COS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
+            throw new FileDownloadException("查询文件失败，请稍后重试", e);
+        } catch (CosClientException e) {
+            log.error("COS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
+            throw new FileDownloadException("查询文件失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected String doPresignDownload(QofFileInfoBo<?> fileBo, String contentDisposition, LocalDateTime expireTime) {
+        CosStationContext station = stations.get(fileBo);
+        String key = station.getKey(fileBo);
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(station.getBucketName(), key, HttpMethodName.GET);
+        request.setExpiration(Date.from(expireTime.atZone(ZoneId.systemDefault()).toInstant()));
+        ResponseHeaderOverrides responseHeaders = new ResponseHeaderOverrides();
+        responseHeaders.setContentDisposition(contentDisposition);
+        responseHeaders.setContentType(fileBo.getFileType());
+        if (StringUtils.hasText(fileBo.getContentEncoding())) {
+            responseHeaders.setContentEncoding(fileBo.getContentEncoding());
+        }
+        request.setResponseHeaders(responseHeaders);
+        try {
+            return station.getClient().generatePresignedUrl(request).toString();
+        } catch (CosClientException e) {
+            log.error("生成COS下载地址失败，文件路径: {}", key, e);
+            throw new FileDownloadException("文件下载失败，请稍后重试", e);
+        }
+    }
 }
@@ -44,6 +44,76 @@ public class CosQofConfig {
      */
     private Long trafficLimit;
 
+    /**
+     * 连接池最大连接数
+     * <br>
+     * 为null时使用COS SDK默认值（1024）
+     */
+    private Integer maxConnections;
+
+    /**
+     * 建立连接超时时间（单位：毫秒）
+     * <br>
+     * 为null时使用COS SDK默认值（30000）
+     */
+    private Integer connectionTimeout;
+
+    /**
+     * 读取数据超时时间（单位：毫秒）
+     * <br>
+     * 为null时使用COS SDK默认值（30000）
+     */
+    private Integer socketTimeout;
+
+    /**
+     * 从连接池获取连接的超时时间（单位：毫秒）
+     * <br>
+     * 连接池耗尽时请求最多等待该时间，为null时使用SDK默认值（不限制）
+     */
+    private Integer connectionRequestTimeout;
+
+    /**
+     * 空闲连接存活时间（单位：毫秒）
+     * <br>
+     * 超过该时间的空闲连接会被后台线程关闭，为null时使用SDK默认值（60000）
+     */
+    private Long idleConnectionTime;
+
+    /**
+     * 请求失败最大重试次数
+     * <br>
+     * 为null时使用SDK默认值（3）
+     */
+    private Integer maxErrorRetry;
+
+    /**
+     * 单个请求整体超时时间（单位：毫秒）
+     * <br>
+     * 为null时不启用请求整体超时
+     */
+    private Integer requestTimeout;
+
+    /**
+     * 分片上传阈值（单位：字节）
+     * <br>
+     * 文件大小达到该值时使用分片并行上传，为null时默认64MB，设置为0或负数表示不使用分片上传
+     */
+    private Long multipartThreshold;
+
+    /**
+     * 分片大小（单位：字节）
+     * <br>
+     * 为null时默认8MB，最小1MB；文件过大导致分片数量超过10000时会自动增大分片
+     */
+    private Long multipartPartSize;
+
+    /**
+     * 单个文件同时上传的分片数量
+     * <br>
+     * 为null时默认4，单个文件上传占用的内存约为 分片大小 * 该值
+     */
+    private Integer multipartConcurrency;
+
     public String getPreviewAddress() {
         return previewAddress;
     }
@@ -99,4 +169,84 @@ public class CosQofConfig {
     public void setTrafficLimit(Long trafficLimit) {
         this.trafficLimit = trafficLimit;
     }
+
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(Integer maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public Integer getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Integer connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public Integer getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(Integer socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public Integer getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Integer connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Long getIdleConnectionTime() {
+        return idleConnectionTime;
+    }
+
+    public void setIdleConnectionTime(Long idleConnectionTime) {
+        this.idleConnectionTime = idleConnectionTime;
+    }
+
+    public Integer getMaxErrorRetry() {
+        return maxErrorRetry;
+    }
+
+    public void setMaxErrorRetry(Integer maxErrorRetry) {
+        this.maxErrorRetry = maxErrorRetry;
+    }
+
+    public Integer getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Integer requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Long getMultipartThreshold() {
+        return multipartThreshold;
+    }
+
+    public void setMultipartThreshold(Long multipartThreshold) {
+        this.multipartThreshold = multipartThreshold;
+    }
+
+    public Long getMultipartPartSize() {
+        return multipartPartSize;
+    }
+
+    public void setMultipartPartSize(Long multipartPartSize) {
+        this.multipartPartSize = multipartPartSize;
+    }
+
+    public Integer getMultipartConcurrency() {
+        return multipartConcurrency;
+    }
+
+    public void setMultipartConcurrency(Integer multipartConcurrency) {
+        this.multipartConcurrency = multipartConcurrency;
+    }
 }
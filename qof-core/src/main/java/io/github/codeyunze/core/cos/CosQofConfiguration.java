@@ -78,6 +78,31 @@ public class CosQofConfiguration implements DisposableBean {
         COSCredentials cred = new BasicCOSCredentials(config.getSecretId(), config.getSecretKey());
         // 设置bucket的区域, COS地域的简称请参照 https://www.qcloud.com/document/product/436/6224
         ClientConfig clientConfig = new ClientConfig(new Region(config.getRegion()));
+        // 连接池、超时、重试配置，未配置的项使用SDK默认值
+        if (config.getMaxConnections() != null) {
+            clientConfig.setMaxConnectionsCount(config.getMaxConnections());
+        }
+        if (config.getConnectionTimeout() != null) {
+            clientConfig.setConnectionTimeout(config.getConnectionTimeout());
+        }
+        if (config.getSocketTimeout() != null) {
+            clientConfig.setSocketTimeout(config.getSocketTimeout());
+        }
+        if (config.getConnectionRequestTimeout() != null) {
+            clientConfig.setConnectionRequestTimeout(config.getConnectionRequestTimeout());
+        }
+        if (config.getIdleConnectionTime() != null) {
+            // 启用空闲连接监控线程，定期关闭空闲超时的连接
+            clientConfig.setUseConnectionMonitor(true);
+            clientConfig.setIdleConnectionAlive(config.getIdleConnectionTime().intValue());
+        }
+        if (config.getMaxErrorRetry() != null) {
+            clientConfig.setMaxErrorRetry(config.getMaxErrorRetry());
+        }
+        if (config.getRequestTimeout() != null) {
+            clientConfig.setRequestTimeOutEnable(true);
+            clientConfig.setRequestTimeout(config.getRequestTimeout());
+        }
         // 生成cos客户端
         return new COSClient(cred, clientConfig);
     }
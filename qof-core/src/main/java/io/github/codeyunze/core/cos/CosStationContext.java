@@ -0,0 +1,70 @@
+package io.github.codeyunze.core.cos;
+
+import com.qcloud.cos.COSClient;
+import io.github.codeyunze.core.QofFileOperationBase;
+import io.github.codeyunze.core.QofStationContext;
+import io.github.codeyunze.core.multipart.MultipartUploadPolicy;
+
+/**
+ * 腾讯云COS存储站上下文
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class CosStationContext extends QofStationContext {
+
+    private final COSClient client;
+
+    private final String bucketName;
+
+    /**
+     * 文件存储路径
+     */
+    private final String filepath;
+
+    /**
+     * 单链接限速，null或不大于0表示不限速
+     */
+    private final Long trafficLimit;
+
+    private final MultipartUploadPolicy multipartPolicy;
+
+    public CosStationContext(String station, COSClient client, String bucketName, String filepath, Long trafficLimit,
+                             MultipartUploadPolicy multipartPolicy) {
+        super(station);
+        this.client = client;
+        this.bucketName = bucketName;
+        this.filepath = filepath;
+        this.trafficLimit = trafficLimit;
+        this.multipartPolicy = multipartPolicy;
+    }
+
+    public COSClient getClient() {
+        if (client == null) {
+            throw new IllegalStateException("未找到COS客户端，存储站: " + getStation());
+        }
+        return client;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public Long getTrafficLimit() {
+        return trafficLimit;
+    }
+
+    public MultipartUploadPolicy getMultipartPolicy() {
+        return multipartPolicy;
+    }
+
+    /**
+     * 获取文件在存储桶中的对象键
+     *
+     * @param fileOperationBase 文件操作基础参数
+     * @return 对象键
+     */
+    public String getKey(QofFileOperationBase fileOperationBase) {
+        return filepath + fileOperationBase.getFilePath();
+    }
+}
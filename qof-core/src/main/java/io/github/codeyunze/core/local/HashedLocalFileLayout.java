@@ -0,0 +1,56 @@
+package io.github.codeyunze.core.local;
+
+import io.github.codeyunze.exception.StorageConfigurationException;
+
+/**
+ * 按文件id哈希分散的目录布局
+ * <br>
+ * 每级子目录取文件id哈希值的一个字节（两位十六进制，共256个），两级时单个文件目录被分散到65536个子目录，
+ * 例如：202610/3f/a2/2111606932736901120.pdf。
+ * 雪花id的低位在低并发时几乎不变，直接取模会集中到少数目录，因此先对文件id做一次位混合。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class HashedLocalFileLayout implements LocalFileLayout {
+
+    /**
+     * 最大子目录级数，每级占用哈希值的一个字节
+     */
+    public static final int MAX_LEVELS = 4;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int levels;
+
+    public HashedLocalFileLayout(int levels) {
+        if (levels < 1 || levels > MAX_LEVELS) {
+            throw new StorageConfigurationException("目录布局配置信息[qof.local.layout.levels]必须在1到" + MAX_LEVELS + "之间");
+        }
+        this.levels = levels;
+    }
+
+    @Override
+    public String resolveFilePath(String directoryAddress, Long fileId, String suffix) {
+        long hash = mix(fileId);
+        StringBuilder path = new StringBuilder(directoryAddress.length() + levels * 3 + 24);
+        path.append(directoryAddress);
+        for (int level = 0; level < levels; level++) {
+            int bucket = (int) (hash >>> (56 - level * 8)) & 0xFF;
+            path.append('/').append(HEX[bucket >>> 4]).append(HEX[bucket & 0x0F]);
+        }
+        return path.append('/').append(fileId).append(suffix).toString();
+    }
+
+    /**
+     * 64位整数的位混合（MurmurHash3 的 fmix64），使相邻的文件id均匀分布
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
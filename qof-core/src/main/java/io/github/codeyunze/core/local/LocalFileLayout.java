@@ -0,0 +1,40 @@
+package io.github.codeyunze.core.local;
+
+import io.github.codeyunze.enums.QofFileLayoutEnum;
+
+/**
+ * 本地存储的文件目录布局
+ * <br>
+ * 决定新上传的文件在存储根目录下的存放路径，文件路径会随文件信息一起保存，
+ * 调整布局后已有文件仍按原来的路径读取。
+ * 声明该类型的Bean即可替换默认的布局。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@FunctionalInterface
+public interface LocalFileLayout {
+
+    /**
+     * 生成文件存储路径
+     *
+     * @param directoryAddress 文件目录
+     * @param fileId           文件唯一 id
+     * @param suffix           文件后缀（含点号，可能为空字符串）
+     * @return 文件存储路径
+     */
+    String resolveFilePath(String directoryAddress, Long fileId, String suffix);
+
+    /**
+     * 根据配置创建目录布局
+     *
+     * @param layout 目录布局配置
+     * @return 目录布局
+     */
+    static LocalFileLayout of(LocalQofProperties.Layout layout) {
+        if (layout.getType() == QofFileLayoutEnum.HASHED) {
+            return new HashedLocalFileLayout(layout.getLevels());
+        }
+        return (directoryAddress, fileId, suffix) -> directoryAddress + "/" + fileId + suffix;
+    }
+}
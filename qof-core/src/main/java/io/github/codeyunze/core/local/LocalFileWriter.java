@@ -0,0 +1,318 @@
+package io.github.codeyunze.core.local;
+
+import io.github.codeyunze.enums.QofFsyncPolicyEnum;
+import io.github.codeyunze.utils.HeaderPeekInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地文件写入器
+ * <br>
+ * 文件内容先写入目标文件所在目录下的临时文件，写入完成后原子重命名为目标文件，
+ * 写入过程中发生异常或进程退出都不会在目标路径留下不完整的文件。
+ * 数据源为文件时通过 {@link FileChannel#transferFrom} 由操作系统直接复制，不经过堆内缓冲区。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class LocalFileWriter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFileWriter.class);
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final LocalQofProperties.Write config;
+
+    private final int bufferSize;
+
+    /**
+     * 等待刷盘的文件，仅刷盘策略为 batched 时使用
+     */
+    private final Queue<Path> pendingSync = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService syncScheduler;
+
+    public LocalFileWriter(LocalQofProperties.Write config, int bufferSize) {
+        this.config = config;
+        this.bufferSize = bufferSize;
+        if (config.getFsync() == QofFsyncPolicyEnum.BATCHED) {
+            long interval = config.getFsyncInterval().toMillis();
+            this.syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "qof-local-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.syncScheduler.scheduleWithFixedDelay(this::syncPending, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.syncScheduler = null;
+        }
+    }
+
+    /**
+     * 将输入流写入目标文件，写入完成后关闭输入流
+     *
+     * @param source   文件输入流
+     * @param target   目标文件
+     * @param fileSize 声明的文件大小，用于预分配文件长度
+     * @return 写入的字节数
+     * @throws IOException 写入失败
+     */
+    public long write(InputStream source, Path target, long fileSize) throws IOException {
+        try (InputStream inputStream = source) {
+            return write(target, fileSize, channel -> transfer(inputStream, channel));
+        }
+    }
+
+    /**
+     * 将磁盘上已有的文件复制为目标文件，源文件保持不变
+     * <br>
+     * 配置了创建硬链接时，优先创建指向源文件的硬链接，不复制文件内容；源文件与目标文件不在同一文件系统等无法创建硬链接时，仍复制文件内容
+     *
+     * @param source 源文件
+     * @param target 目标文件
+     * @throws IOException 复制失败
+     */
+    public void copy(Path source, Path target) throws IOException {
+        if (config.isLinkSource()) {
+            Path tempFile = tempFileOf(target);
+            try {
+                Files.createLink(tempFile, source);
+            } catch (IOException | UnsupportedOperationException e) {
+                log.debug("无法创建硬链接，复制文件内容，源文件: {}, 原因: {}", source, e.getMessage());
+                tempFile = null;
+            }
+            if (tempFile != null) {
+                try {
+                    if (config.getFsync() == QofFsyncPolicyEnum.PER_FILE) {
+                        forceFile(tempFile);
+                    }
+                    moveAtomically(tempFile, target);
+                } catch (IOException | RuntimeException e) {
+                    deleteQuietly(tempFile);
+                    throw e;
+                }
+                afterWrite(target);
+                return;
+            }
+        }
+        // 先读取文件大小再打开文件，write 负责关闭输入流
+        long fileSize = Files.size(source);
+        write(new FileInputStream(source.toFile()), target, fileSize);
+    }
+
+    /**
+     * 将内容写入目标文件
+     *
+     * @param target   目标文件
+     * @param fileSize 声明的文件大小，用于预分配文件长度
+     * @param content  写入文件内容，返回写入的字节数
+     * @return 写入的字节数
+     * @throws IOException 写入失败
+     */
+    public long write(Path target, long fileSize, ContentWriter content) throws IOException {
+        Path tempFile = tempFileOf(target);
+        long written;
+        try {
+            // 使用 RandomAccessFile 以便预分配文件长度
+            try (RandomAccessFile file = new RandomAccessFile(tempFile.toFile(), "rw")) {
+                if (config.isPreallocate() && fileSize > 0) {
+                    file.setLength(fileSize);
+                }
+                FileChannel channel = file.getChannel();
+                written = content.writeTo(channel);
+                if (channel.size() != written) {
+                    // 声明的大小与实际写入的不一致时，去掉预分配的多余部分
+                    channel.truncate(written);
+                }
+                if (config.getFsync() == QofFsyncPolicyEnum.PER_FILE) {
+                    channel.force(true);
+                }
+            }
+            moveAtomically(tempFile, target);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+
+        afterWrite(target);
+        return written;
+    }
+
+    /**
+     * 目标文件所在目录下的临时文件，以点号开头
+     */
+    private static Path tempFileOf(Path target) {
+        return target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * 目标文件生成后按刷盘策略刷盘
+     */
+    private void afterWrite(Path target) {
+        if (config.getFsync() == QofFsyncPolicyEnum.PER_FILE) {
+            // 刷新目录，确保重命名操作持久化
+            syncDirectory(target.getParent());
+        } else if (config.getFsync() == QofFsyncPolicyEnum.BATCHED) {
+            pendingSync.add(target);
+        }
+    }
+
+    private long transfer(InputStream source, FileChannel target) throws IOException {
+        long headerLength = 0;
+        if (source instanceof HeaderPeekInputStream) {
+            // 先写入检测文件类型时缓存的文件头，剩余内容直接从原始流复制
+            HeaderPeekInputStream peekStream = (HeaderPeekInputStream) source;
+            ByteBuffer header = peekStream.takeRemainingHeader();
+            while (header.hasRemaining()) {
+                headerLength += target.write(header);
+            }
+            source = peekStream.getSource();
+        }
+        return headerLength + transferRemaining(source, target);
+    }
+
+    private long transferRemaining(InputStream source, FileChannel target) throws IOException {
+        if (source instanceof FileInputStream) {
+            // 数据源为文件时从其当前位置开始由操作系统直接复制
+            FileChannel sourceChannel = ((FileInputStream) source).getChannel();
+            long position = sourceChannel.position();
+            long count = sourceChannel.size() - position;
+            long start = target.position();
+            long transferred = 0;
+            while (transferred < count) {
+                long n = target.transferFrom(sourceChannel, start + transferred, count - transferred);
+                if (n <= 0) {
+                    break;
+                }
+                transferred += n;
+            }
+            target.position(start + transferred);
+            return transferred;
+        }
+
+        byte[] buffer = new byte[bufferSize];
+        long transferred = 0;
+        int n;
+        while ((n = source.read(buffer)) != -1) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, n);
+            while (byteBuffer.hasRemaining()) {
+                target.write(byteBuffer);
+            }
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("文件系统不支持原子重命名，文件路径: {}", target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 对等待刷盘的文件及其所在目录统一刷盘
+     */
+    private void syncPending() {
+        Set<Path> files = new LinkedHashSet<>();
+        Path file;
+        while ((file = pendingSync.poll()) != null) {
+            files.add(file);
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Path path : files) {
+            try {
+                forceFile(path);
+            } catch (NoSuchFileException e) {
+                // 刷盘前文件已被删除
+            } catch (IOException e) {
+                log.warn("文件刷盘失败，文件路径: {}", path, e);
+            }
+            directories.add(path.getParent());
+        }
+        directories.forEach(LocalFileWriter::syncDirectory);
+    }
+
+    private static void forceFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 部分操作系统（例如Windows）不支持对目录刷盘
+            log.debug("目录刷盘失败，目录: {}", directory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败: {}", path, e);
+        }
+    }
+
+    /**
+     * 停止定期刷盘，并对尚未刷盘的文件刷盘
+     */
+    @Override
+    public void close() {
+        if (syncScheduler == null) {
+            return;
+        }
+        syncScheduler.shutdown();
+        try {
+            syncScheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        syncPending();
+    }
+
+    /**
+     * 文件内容写入操作
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * 写入文件内容
+         *
+         * @param target 临时文件的通道
+         * @return 写入的字节数
+         * @throws IOException 写入失败
+         */
+        long writeTo(FileChannel target) throws IOException;
+    }
+}
@@ -1,29 +1,41 @@
 package io.github.codeyunze.core.local;
 
 import io.github.codeyunze.QofConstant;
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.bo.QofChunkUploadBo;
 import io.github.codeyunze.bo.QofFileDownloadBo;
 import io.github.codeyunze.bo.QofFileInfoBo;
 import io.github.codeyunze.core.AbstractQofClient;
 import io.github.codeyunze.core.QofFileOperationBase;
-import io.github.codeyunze.core.StorageStationHelper;
+import io.github.codeyunze.core.QofStationRegistry;
 import io.github.codeyunze.dto.QofFileInfoDto;
 import io.github.codeyunze.exception.DataNotExistException;
 import io.github.codeyunze.exception.FileUploadException;
 import io.github.codeyunze.exception.FileDownloadException;
 import io.github.codeyunze.service.QofExtService;
+import io.github.codeyunze.utils.BoundedInputStream;
+import io.github.codeyunze.utils.ContentLengthInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
 
 import javax.annotation.Resource;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 本地文件操作接口实现
@@ -33,57 +45,128 @@ import java.nio.file.StandardCopyOption;
  */
 @Service
 @ConditionalOnProperty(prefix = "qof.local", name = QofConstant.ENABLE, havingValue = QofConstant.ENABLE_VALUE)
-public class LocalQofClient extends AbstractQofClient {
+public class LocalQofClient extends AbstractQofClient implements InitializingBean, DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(LocalQofClient.class);
 
+    /**
+     * 断点续传分片存放目录，位于存储根目录下
+     */
+    private static final String CHUNK_DIRECTORY = ".chunks";
+
+    private static final String CHUNK_PART_SUFFIX = ".part";
+
     @Resource
     private LocalQofProperties fileProperties;
 
+    /**
+     * 各存储站上下文
+     */
+    private QofStationRegistry<LocalStationContext> stations;
+
+    private LocalFileWriter fileWriter;
+
+    private LocalFileLayout fileLayout;
+
     public LocalQofClient(QofExtService qofExtService) {
         super(qofExtService);
     }
 
-    private String getFilePath(QofFileOperationBase fileOperationBase) {
-        return StorageStationHelper.getConfigValue(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation(),
-                (v) -> fileProperties.getFilepath(),
-                LocalQofConfig::getFilepath,
-                "filepath"
-        );
+    /**
+     * 使用自定义的目录布局，未声明时按配置创建
+     */
+    @Autowired(required = false)
+    public void setFileLayout(LocalFileLayout fileLayout) {
+        this.fileLayout = fileLayout;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.fileWriter = new LocalFileWriter(fileProperties.getWrite(), getBufferSize());
+        if (this.fileLayout == null) {
+            this.fileLayout = LocalFileLayout.of(fileProperties.getLayout());
+        }
+        if (CollectionUtils.isEmpty(fileProperties.getMultiple())) {
+            this.stations = QofStationRegistry.single(
+                    new LocalStationContext(fileProperties.getDefaultStorageStation(), fileProperties.getFilepath()));
+            return;
+        }
+        this.stations = QofStationRegistry.multiple(fileProperties.getMultiple(), fileProperties.getDefaultStorageStation(),
+                station -> {
+                    LocalQofConfig config = fileProperties.getMultiple().get(station);
+                    return new LocalStationContext(station,
+                            config.getFilepath() != null ? config.getFilepath() : fileProperties.getFilepath());
+                });
+    }
+
+    @Override
+    public void destroy() {
+        fileWriter.close();
+    }
+
+    @Override
+    public String getStorageMode() {
+        return QofConstant.StorageMode.LOCAL;
+    }
+
+    @Override
+    protected String resolveStorageStation(QofFileOperationBase fileOperationBase) {
+        // 如果用户传入的存储站在配置中不存在，会使用默认存储站
+        return stations.resolveStation(fileOperationBase);
+    }
+
+    @Override
+    protected String buildFilePath(String directoryAddress, Long fileId, String suffix) {
+        return fileLayout.resolveFilePath(directoryAddress, fileId, suffix);
     }
 
     @Override
     protected Long doUpload(InputStream fis, QofFileInfoDto<?> info) {
+        Path filePath = resolveUploadPath(info);
+        try {
+            // 先写入临时文件再原子重命名为目标文件，如果文件已经存在，则覆盖
+            fileWriter.write(fis, filePath, info.getFileSize());
+        } catch (IOException e) {
+            log.error("文件上传失败，文件路径: {}", filePath, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        return info.getFileId();
+    }
+
+    @Override
+    protected Long doUploadFile(Path source, QofFileInfoDto<?> info) {
+        Path filePath = resolveUploadPath(info);
+        try {
+            // 由操作系统直接复制文件内容，或按配置创建硬链接
+            fileWriter.copy(source, filePath);
+        } catch (IOException e) {
+            log.error("文件上传失败，文件路径: {}", filePath, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        return info.getFileId();
+    }
+
+    /**
+     * 解析上传文件的存储路径，并确保所在目录存在
+     */
+    private Path resolveUploadPath(QofFileInfoDto<?> info) {
         // 获取实际使用的存储站（如果用户传入的存储站在配置中不存在，会使用默认存储站）
         // 更新到info中，确保保存到数据库时使用的是实际使用的存储站
-        String actualStorageStation = StorageStationHelper.getStorageStation(
-                info,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation()
-        );
-        info.setFileStorageStation(actualStorageStation);
-        
-        // 确保上传目录存在，使用Path.normalize()规范化路径
-        Path basePath = Paths.get(getFilePath(info)).toAbsolutePath().normalize();
-        
-        // 清理directoryAddress，移除前导的/或\，确保它是相对路径
-        String directoryAddress = info.getDirectoryAddress();
-        if (directoryAddress != null) {
-            // 移除前导的/或\，以及Windows路径分隔符
-            directoryAddress = directoryAddress.replaceFirst("^[/\\\\]+", "");
-        }
-        
-        Path uploadPath = basePath.resolve(directoryAddress).normalize();
+        info.setFileStorageStation(resolveStorageStation(info));
         
+        // 存储根目录已在启动时规范化为绝对路径，确保跨平台兼容
+        Path basePath = stations.get(info).getBasePath();
+
+        // filePath已经在AbstractQofClient中按目录布局生成，清理filePath，移除前导的/或\，确保它是相对路径
+        Path filePath = basePath.resolve(info.getFilePath().replaceFirst("^[/\\\\]+", "")).normalize();
+
         // 验证路径安全性，防止路径遍历攻击（使用绝对路径进行比较，确保跨平台兼容）
-        if (!uploadPath.startsWith(basePath)) {
-            log.error("路径遍历攻击检测，基础路径: {}, 目标路径: {}", basePath, uploadPath);
+        if (!filePath.startsWith(basePath)) {
+            log.error("路径遍历攻击检测，基础路径: {}, 目标路径: {}", basePath, filePath);
             throw new FileUploadException("文件上传失败，请稍后重试", new SecurityException("非法路径"));
         }
-        
+
+        Path uploadPath = filePath.getParent();
         if (!Files.exists(uploadPath)) {
             try {
                 // 创建目录
@@ -93,50 +176,80 @@ public class LocalQofClient extends AbstractQofClient {
                 throw new FileUploadException("文件上传失败，请稍后重试", e);
             }
         }
+        return filePath;
+    }
 
-        // 从filePath中提取扩展名（filePath已经在AbstractQofClient中设置，格式为：directoryAddress/fileId.suffix）
-        String suffix = "";
-        String filePathStr = info.getFilePath();
-        if (filePathStr != null && filePathStr.contains(".")) {
-            int lastDotIndex = filePathStr.lastIndexOf(".");
-            if (lastDotIndex >= 0 && lastDotIndex < filePathStr.length() - 1) {
-                suffix = filePathStr.substring(lastDotIndex);
-            }
+    @Override
+    protected QofFileDownloadBo doDownload(QofFileInfoBo<?> fileBo) {
+        QofFileDownloadBo fileDownloadBo = newFileDownloadBo(fileBo);
+        Path filePath = fileDownloadBo.getLocalFile();
+        try {
+            fileDownloadBo.setInputStream(Files.newInputStream(filePath));
+        } catch (IOException e) {
+            log.error("下载文件时发生错误，文件路径: {}", filePath, e);
+            throw new FileDownloadException("文件下载失败，请稍后重试", e);
         }
-        
-        // 如果filePath中没有扩展名，尝试从fileName中提取
-        if (suffix.isEmpty() && info.getFileName() != null && info.getFileName().contains(".")) {
-            int lastDotIndex = info.getFileName().lastIndexOf(".");
-            if (lastDotIndex >= 0 && lastDotIndex < info.getFileName().length() - 1) {
-                suffix = info.getFileName().substring(lastDotIndex);
-            }
+
+        return fileDownloadBo;
+    }
+
+    /**
+     * 从指定位置开始读取文件，不读取起始位置之前的内容
+     */
+    @Override
+    protected QofFileDownloadBo doDownloadRange(QofFileInfoBo<?> fileBo, long rangeStart, long rangeEnd) {
+        QofFileDownloadBo fileDownloadBo = newFileDownloadBo(fileBo);
+        Path filePath = fileDownloadBo.getLocalFile();
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(filePath, StandardOpenOption.READ);
+            channel.position(rangeStart);
+            fileDownloadBo.setInputStream(new BoundedInputStream(Channels.newInputStream(channel), rangeEnd - rangeStart + 1));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            log.error("下载文件时发生错误，文件路径: {}", filePath, e);
+            throw new FileDownloadException("文件下载失败，请稍后重试", e);
         }
-        
-        String fileName = info.getFileId() + suffix;
+        return fileDownloadBo;
+    }
 
-        // 定义目标文件路径，使用normalize()规范化
-        Path filePath = uploadPath.resolve(fileName).normalize();
-        
-        // 再次验证路径安全性（使用绝对路径进行比较）
-        if (!filePath.startsWith(basePath)) {
-            log.error("路径遍历攻击检测，基础路径: {}, 目标路径: {}", basePath, filePath);
-            throw new FileUploadException("文件上传失败，请稍后重试", new SecurityException("非法路径"));
+    /**
+     * 本地文件由操作系统的页缓存缓存，并可由容器直接发送，不再放入内存缓存和磁盘缓存
+     */
+    @Override
+    protected boolean isContentCacheable() {
+        return false;
+    }
+
+    /**
+     * 下载结果中记录实际使用的存储站和本地文件，Web层可据此直接发送文件
+     */
+    private QofFileDownloadBo newFileDownloadBo(QofFileInfoBo<?> fileBo) {
+        Path filePath = resolveDownloadPath(fileBo);
+        QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
+        BeanUtils.copyProperties(fileBo, fileDownloadBo);
+        fileDownloadBo.setFileStorageStation(resolveStorageStation(fileBo));
+        fileDownloadBo.setLocalFile(filePath);
+        return fileDownloadBo;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
         }
-        
-        try (InputStream inputStream = fis) {
-            // 使用NIO将输入流复制到目标文件，如果文件已经存在，则覆盖
-            Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            channel.close();
         } catch (IOException e) {
-            log.error("文件上传失败，文件路径: {}", filePath, e);
-            throw new FileUploadException("文件上传失败，请稍后重试", e);
+            log.warn("关闭文件失败: {}", e.getMessage());
         }
-        return info.getFileId();
     }
 
-    @Override
-    protected QofFileDownloadBo doDownload(QofFileInfoBo<?> fileBo) {
-        // 使用Path.normalize()规范化路径，转换为绝对路径以确保跨平台兼容
-        Path basePath = Paths.get(getFilePath(fileBo)).toAbsolutePath().normalize();
+    /**
+     * 获取下载文件的绝对路径，并校验路径安全性和文件是否存在
+     */
+    private Path resolveDownloadPath(QofFileInfoBo<?> fileBo) {
+        // 存储根目录已在启动时规范化为绝对路径，确保跨平台兼容
+        Path basePath = stations.get(fileBo).getBasePath();
         
         // 清理filePath，移除前导的/或\，确保它是相对路径
         String filePathStr = fileBo.getFilePath();
@@ -156,23 +269,13 @@ public class LocalQofClient extends AbstractQofClient {
             log.warn("文件不存在，文件路径: {}", filePath);
             throw new DataNotExistException("文件不存在");
         }
-
-        QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
-        BeanUtils.copyProperties(fileBo, fileDownloadBo);
-        try {
-            fileDownloadBo.setInputStream(Files.newInputStream(filePath));
-        } catch (IOException e) {
-            log.error("下载文件时发生错误，文件路径: {}", filePath, e);
-            throw new FileDownloadException("文件下载失败，请稍后重试", e);
-        }
-
-        return fileDownloadBo;
+        return filePath;
     }
 
     @Override
     protected boolean doDelete(QofFileInfoBo<?> fileBo) {
-        // 使用Path.normalize()规范化路径，转换为绝对路径以确保跨平台兼容
-        Path basePath = Paths.get(getFilePath(fileBo)).toAbsolutePath().normalize();
+        // 存储根目录已在启动时规范化为绝对路径，确保跨平台兼容
+        Path basePath = stations.get(fileBo).getBasePath();
         
         // 清理filePath，移除前导的/或\，确保它是相对路径
         String filePathStr = fileBo.getFilePath();
@@ -198,4 +301,95 @@ public class LocalQofClient extends AbstractQofClient {
             return false;
         }
     }
+
+    @Override
+    protected String doInitChunkUpload(QofChunkUploadBo uploadBo) {
+        Path chunkPath = resolveChunkPath(uploadBo);
+        try {
+            Files.createDirectories(chunkPath);
+        } catch (IOException e) {
+            log.error("创建分片目录失败: {}", chunkPath, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        return null;
+    }
+
+    @Override
+    protected String doUploadChunk(QofChunkUploadBo uploadBo, int partNumber, InputStream fis, long partSize) {
+        Path partPath = resolveChunkPath(uploadBo).resolve(partNumber + CHUNK_PART_SUFFIX);
+        try {
+            // 限制读取长度为分片大小，先写入临时文件再原子重命名，避免超长或不完整的内容覆盖已上传的分片
+            fileWriter.write(new ContentLengthInputStream(fis, partSize), partPath, partSize);
+        } catch (IOException e) {
+            log.error("分片上传失败，分片路径: {}", partPath, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        return null;
+    }
+
+    @Override
+    protected void doCompleteChunkUpload(QofChunkUploadBo uploadBo, List<QofChunkPartBo> parts) {
+        Path basePath = stations.get(uploadBo).getBasePath();
+        Path chunkPath = resolveChunkPath(uploadBo);
+
+        // 清理filePath，移除前导的/或\，确保它是相对路径
+        Path filePath = basePath.resolve(uploadBo.getFilePath().replaceFirst("^[/\\\\]+", "")).normalize();
+        if (!filePath.startsWith(basePath)) {
+            log.error("路径遍历攻击检测，基础路径: {}, 目标路径: {}", basePath, filePath);
+            throw new FileUploadException("文件上传失败，请稍后重试", new SecurityException("非法路径"));
+        }
+
+        try {
+            Files.createDirectories(filePath.getParent());
+            // 按分片序号依次追加到临时文件，合并完成后原子重命名为目标文件
+            fileWriter.write(filePath, uploadBo.getFileSize(), target -> {
+                long written = 0;
+                for (QofChunkPartBo part : parts) {
+                    try (FileChannel source = FileChannel.open(chunkPath.resolve(part.getPartNumber() + CHUNK_PART_SUFFIX),
+                            StandardOpenOption.READ)) {
+                        long position = 0;
+                        long size = source.size();
+                        while (position < size) {
+                            position += source.transferTo(position, size - position, target);
+                        }
+                        written += size;
+                    }
+                }
+                return written;
+            });
+        } catch (IOException e) {
+            log.error("分片合并失败，文件路径: {}", filePath, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        deleteChunkPath(chunkPath);
+    }
+
+    @Override
+    protected void doAbortChunkUpload(QofChunkUploadBo uploadBo) {
+        deleteChunkPath(resolveChunkPath(uploadBo));
+    }
+
+    /**
+     * 分片存放目录：存储根目录/.chunks/会话id
+     */
+    private Path resolveChunkPath(QofChunkUploadBo uploadBo) {
+        return stations.get(uploadBo).getBasePath().resolve(CHUNK_DIRECTORY).resolve(String.valueOf(uploadBo.getUploadId()));
+    }
+
+    private void deleteChunkPath(Path chunkPath) {
+        if (!Files.exists(chunkPath)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(chunkPath)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("删除分片失败: {}", path, e);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("清理分片目录失败: {}", chunkPath, e);
+        }
+    }
 }
@@ -1,11 +1,15 @@
 package io.github.codeyunze.core.local;
 
+import io.github.codeyunze.enums.QofFileLayoutEnum;
+import io.github.codeyunze.enums.QofFsyncPolicyEnum;
+import io.github.codeyunze.enums.QofLocalServeModeEnum;
 import io.github.codeyunze.exception.StorageConfigurationException;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.util.Map;
 
 /**
@@ -35,6 +39,21 @@ public class LocalQofProperties extends LocalQofConfig implements InitializingBe
      */
     Map<String, LocalQofConfig> multiple;
 
+    /**
+     * 文件写入配置
+     */
+    private Write write = new Write();
+
+    /**
+     * 文件目录布局配置
+     */
+    private Layout layout = new Layout();
+
+    /**
+     * 文件发送配置
+     */
+    private Serve serve = new Serve();
+
     public boolean isEnable() {
         return enable;
     }
@@ -51,6 +70,30 @@ public class LocalQofProperties extends LocalQofConfig implements InitializingBe
         this.multiple = multiple;
     }
 
+    public Write getWrite() {
+        return write;
+    }
+
+    public void setWrite(Write write) {
+        this.write = write;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public void setLayout(Layout layout) {
+        this.layout = layout;
+    }
+
+    public Serve getServe() {
+        return serve;
+    }
+
+    public void setServe(Serve serve) {
+        this.serve = serve;
+    }
+
     public String getDefaultStorageStation() {
         return defaultStorageStation;
     }
@@ -65,6 +108,11 @@ public class LocalQofProperties extends LocalQofConfig implements InitializingBe
             return;
         }
 
+        if (this.write.getFsync() == QofFsyncPolicyEnum.BATCHED
+                && (this.write.getFsyncInterval() == null || this.write.getFsyncInterval().isNegative() || this.write.getFsyncInterval().isZero())) {
+            throw new StorageConfigurationException("刷盘周期配置信息[qof.local.write.fsync-interval]必须大于0");
+        }
+
         // 检查/补全配置信息是否齐全
         if (CollectionUtils.isEmpty(this.multiple)) {
             if (!StringUtils.hasText(this.getFilepath())) {
@@ -86,6 +134,142 @@ public class LocalQofProperties extends LocalQofConfig implements InitializingBe
             }
         }
     }
-}
 
+    /**
+     * 文件写入配置
+     * <br>
+     * 文件先写入同目录下的临时文件，写入完成后原子重命名为目标文件，写入中断不会留下不完整的文件
+     */
+    public static class Write {
+
+        /**
+         * 刷盘策略
+         * 默认值：none
+         */
+        private QofFsyncPolicyEnum fsync = QofFsyncPolicyEnum.NONE;
+
+        /**
+         * 刷盘策略为 batched 时的刷盘周期
+         * 默认值：1秒
+         */
+        private Duration fsyncInterval = Duration.ofSeconds(1);
+
+        /**
+         * 是否按文件大小预先分配文件长度
+         * 默认值：false
+         */
+        private boolean preallocate = false;
+
+        /**
+         * 上传磁盘上已有的文件时，是否创建指向源文件的硬链接代替复制文件内容
+         * 默认值：false
+         * 硬链接与源文件共享文件内容，之后修改源文件会同时修改已上传的文件，仅适用于上传后不再修改的源文件
+         */
+        private boolean linkSource = false;
+
+        public QofFsyncPolicyEnum getFsync() {
+            return fsync;
+        }
+
+        public void setFsync(QofFsyncPolicyEnum fsync) {
+            this.fsync = fsync;
+        }
+
+        public Duration getFsyncInterval() {
+            return fsyncInterval;
+        }
+
+        public void setFsyncInterval(Duration fsyncInterval) {
+            this.fsyncInterval = fsyncInterval;
+        }
+
+        public boolean isPreallocate() {
+            return preallocate;
+        }
+
+        public void setPreallocate(boolean preallocate) {
+            this.preallocate = preallocate;
+        }
+
+        public boolean isLinkSource() {
+            return linkSource;
+        }
+
+        public void setLinkSource(boolean linkSource) {
+            this.linkSource = linkSource;
+        }
+    }
+
+    /**
+     * 文件目录布局配置
+     * <br>
+     * 只影响新上传的文件，已有文件仍按保存的文件路径读取
+     */
+    public static class Layout {
+
+        /**
+         * 目录布局
+         * 默认值：directory
+         */
+        private QofFileLayoutEnum type = QofFileLayoutEnum.DIRECTORY;
+
+        /**
+         * 目录布局为 hashed 时的子目录级数，每级256个子目录
+         * 默认值：2
+         */
+        private int levels = 2;
 
+        public QofFileLayoutEnum getType() {
+            return type;
+        }
+
+        public void setType(QofFileLayoutEnum type) {
+            this.type = type;
+        }
+
+        public int getLevels() {
+            return levels;
+        }
+
+        public void setLevels(int levels) {
+            this.levels = levels;
+        }
+    }
+
+    /**
+     * 文件发送配置
+     * <br>
+     * 下载、预览接口发送本地文件的方式，不经过应用的内存复制文件内容
+     */
+    public static class Serve {
+
+        /**
+         * 发送方式
+         * 默认值：sendfile
+         */
+        private QofLocalServeModeEnum mode = QofLocalServeModeEnum.SENDFILE;
+
+        /**
+         * 发送方式为 x-accel-redirect 时 Nginx 内部 location 的前缀，
+         * 重定向地址为：前缀/存储站/文件路径
+         * 默认值：/qof-internal
+         */
+        private String internalLocation = "/qof-internal";
+
+        public QofLocalServeModeEnum getMode() {
+            return mode;
+        }
+
+        public void setMode(QofLocalServeModeEnum mode) {
+            this.mode = mode;
+        }
+
+        public String getInternalLocation() {
+            return internalLocation;
+        }
+
+        public void setInternalLocation(String internalLocation) {
+            this.internalLocation = internalLocation;
+        }
+    }
+}
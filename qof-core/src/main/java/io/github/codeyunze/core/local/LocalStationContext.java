@@ -0,0 +1,39 @@
+package io.github.codeyunze.core.local;
+
+import io.github.codeyunze.core.QofStationContext;
+import io.github.codeyunze.exception.StorageConfigurationException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 本地存储站上下文
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class LocalStationContext extends QofStationContext {
+
+    /**
+     * 规范化后的文件存储根目录（绝对路径），未配置时为null
+     */
+    private final Path basePath;
+
+    public LocalStationContext(String station, String filepath) {
+        super(station);
+        this.basePath = filepath == null ? null : Paths.get(filepath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 获取文件存储根目录
+     *
+     * @return 规范化后的绝对路径
+     * @throws StorageConfigurationException 如果未配置文件存储路径
+     */
+    public Path getBasePath() {
+        if (basePath == null) {
+            throw new StorageConfigurationException("缺少文件存储路径配置信息，存储站: " + getStation());
+        }
+        return basePath;
+    }
+}
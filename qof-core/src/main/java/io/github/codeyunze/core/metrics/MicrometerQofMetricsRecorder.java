@@ -0,0 +1,177 @@
+package io.github.codeyunze.core.metrics;
+
+import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.exception.TransferRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Micrometer 的文件操作指标记录器
+ * <p>
+ * 记录的指标（均带有 operation、mode、station 标签）：
+ * <ul>
+ *     <li>qof.client.operation：操作总耗时，额外带有 outcome（success/error）标签</li>
+ *     <li>qof.client.phase：各处理阶段耗时，额外带有 phase 标签</li>
+ *     <li>qof.client.bytes：成功上传/下载的字节数</li>
+ *     <li>qof.client.errors：失败次数，额外带有 exception 标签</li>
+ *     <li>qof.client.rejections：传输额度不足被拒绝的次数，排队等待时间见 phase=admission 的阶段耗时</li>
+ * </ul>
+ * 同一组标签的指标只创建一次并缓存，记录时不再重复查找注册表。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class MicrometerQofMetricsRecorder implements QofMetricsRecorder {
+
+    public static final String OPERATION_TIMER = "qof.client.operation";
+
+    public static final String PHASE_TIMER = "qof.client.phase";
+
+    public static final String BYTES_COUNTER = "qof.client.bytes";
+
+    public static final String ERRORS_COUNTER = "qof.client.errors";
+
+    public static final String REJECTIONS_COUNTER = "qof.client.rejections";
+
+    /**
+     * 无法确定存储模式、存储站时使用的标签值
+     */
+    private static final String UNKNOWN = "unknown";
+
+    private static final QofOperation[] OPERATIONS = QofOperation.values();
+
+    private static final QofPhase[] PHASES = QofPhase.values();
+
+    private final MeterRegistry registry;
+
+    private final QofProperties.Metrics properties;
+
+    /**
+     * Map<存储模式, Map<存储站, 各操作的指标>>
+     */
+    private final Map<String, Map<String, OperationMeters[]>> meters = new ConcurrentHashMap<>();
+
+    public MicrometerQofMetricsRecorder(MeterRegistry registry, QofProperties.Metrics properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void record(QofOperation operation, String storageMode, String storageStation,
+                       QofOperationTimings timings, long bytes, Throwable error) {
+        String mode = storageMode == null ? UNKNOWN : storageMode;
+        String station = storageStation == null ? UNKNOWN : storageStation;
+        OperationMeters operationMeters = getMeters(mode, station)[operation.ordinal()];
+
+        timings.finish();
+        long totalNanos = timings.getTotalNanos();
+        if (totalNanos >= 0) {
+            (error == null ? operationMeters.success : operationMeters.error).record(totalNanos, TimeUnit.NANOSECONDS);
+        }
+        for (QofPhase phase : PHASES) {
+            long phaseNanos = timings.getPhaseNanos(phase);
+            if (phaseNanos >= 0) {
+                operationMeters.phaseTimer(phase).record(phaseNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (error == null) {
+            if (bytes > 0) {
+                operationMeters.bytes.increment(bytes);
+            }
+        } else {
+            registry.counter(ERRORS_COUNTER, operationMeters.tags.and("exception", error.getClass().getSimpleName()))
+                    .increment();
+            if (error instanceof TransferRejectedException) {
+                operationMeters.rejections.increment();
+            }
+        }
+    }
+
+    private OperationMeters[] getMeters(String mode, String station) {
+        Map<String, OperationMeters[]> stationMeters = meters.get(mode);
+        if (stationMeters == null) {
+            stationMeters = meters.computeIfAbsent(mode, k -> new ConcurrentHashMap<>());
+        }
+        OperationMeters[] operationMeters = stationMeters.get(station);
+        if (operationMeters == null) {
+            operationMeters = stationMeters.computeIfAbsent(station, k -> createMeters(mode, station));
+        }
+        return operationMeters;
+    }
+
+    private OperationMeters[] createMeters(String mode, String station) {
+        OperationMeters[] operationMeters = new OperationMeters[OPERATIONS.length];
+        for (QofOperation operation : OPERATIONS) {
+            operationMeters[operation.ordinal()] = new OperationMeters(
+                    Tags.of("operation", operation.getTag(), "mode", mode, "station", station));
+        }
+        return operationMeters;
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram(properties.isPercentileHistogram())
+                .minimumExpectedValue(properties.getMinimumExpectedValue())
+                .maximumExpectedValue(properties.getMaximumExpectedValue())
+                .register(registry);
+    }
+
+    /**
+     * 一组标签（操作类型、存储模式、存储站）下的全部指标
+     */
+    private class OperationMeters {
+
+        private final Tags tags;
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final Timer[] phases = new Timer[PHASES.length];
+
+        private final Counter bytes;
+
+        private final Counter rejections;
+
+        OperationMeters(Tags tags) {
+            this.tags = tags;
+            this.success = timer(OPERATION_TIMER, "文件操作总耗时", tags.and("outcome", "success"));
+            this.error = timer(OPERATION_TIMER, "文件操作总耗时", tags.and("outcome", "error"));
+            this.bytes = Counter.builder(BYTES_COUNTER)
+                    .description("成功上传/下载的字节数")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry);
+            this.rejections = Counter.builder(REJECTIONS_COUNTER)
+                    .description("传输额度不足被拒绝的次数")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        /**
+         * 阶段指标按需创建，避免为操作中不存在的阶段注册空指标
+         */
+        Timer phaseTimer(QofPhase phase) {
+            Timer timer = phases[phase.ordinal()];
+            if (timer == null) {
+                timer = timer(PHASE_TIMER, "文件操作各阶段耗时", tags.and("phase", phase.getTag()));
+                phases[phase.ordinal()] = timer;
+            }
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.codeyunze.core.metrics;
+
+import io.github.codeyunze.core.cache.QofContentCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 小文件内存缓存的指标
+ * <p>
+ * 记录的指标：
+ * <ul>
+ *     <li>qof.cache.requests：读取缓存的次数，带有 result（hit/miss）标签</li>
+ *     <li>qof.cache.hit.ratio：启动以来的命中率</li>
+ *     <li>qof.cache.evictions：淘汰次数</li>
+ *     <li>qof.cache.size：已缓存的字节数</li>
+ *     <li>qof.cache.entries：已缓存的文件数量</li>
+ * </ul>
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofContentCacheMetrics implements MeterBinder {
+
+    public static final String REQUESTS_COUNTER = "qof.cache.requests";
+
+    public static final String HIT_RATIO_GAUGE = "qof.cache.hit.ratio";
+
+    public static final String EVICTIONS_COUNTER = "qof.cache.evictions";
+
+    public static final String SIZE_GAUGE = "qof.cache.size";
+
+    public static final String ENTRIES_GAUGE = "qof.cache.entries";
+
+    private final QofContentCache contentCache;
+
+    public QofContentCacheMetrics(QofContentCache contentCache) {
+        this.contentCache = contentCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(REQUESTS_COUNTER, contentCache, QofContentCache::getHitCount)
+                .description("小文件内存缓存命中次数")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(REQUESTS_COUNTER, contentCache, QofContentCache::getMissCount)
+                .description("小文件内存缓存未命中次数")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder(HIT_RATIO_GAUGE, contentCache, QofContentCache::getHitRatio)
+                .description("小文件内存缓存命中率")
+                .register(registry);
+        FunctionCounter.builder(EVICTIONS_COUNTER, contentCache, QofContentCache::getEvictionCount)
+                .description("小文件内存缓存淘汰次数")
+                .register(registry);
+        Gauge.builder(SIZE_GAUGE, contentCache, QofContentCache::getWeightedSize)
+                .description("小文件内存缓存已缓存的字节数")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(ENTRIES_GAUGE, contentCache, QofContentCache::getEntryCount)
+                .description("小文件内存缓存已缓存的文件数量")
+                .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.codeyunze.core.metrics;
+
+/**
+ * 文件操作指标记录器
+ * <br>
+ * 默认在项目中存在 Micrometer 的 MeterRegistry 时使用 {@link MicrometerQofMetricsRecorder}，
+ * 否则使用 {@link #NOOP}。如需接入其他监控系统，可自行注册该类型的Bean。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public interface QofMetricsRecorder {
+
+    /**
+     * 不记录任何指标
+     */
+    QofMetricsRecorder NOOP = new QofMetricsRecorder() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void record(QofOperation operation, String storageMode, String storageStation,
+                           QofOperationTimings timings, long bytes, Throwable error) {
+        }
+    };
+
+    /**
+     * 是否启用指标记录，未启用时不会统计各阶段耗时
+     *
+     * @return true: 启用；  false: 未启用；
+     */
+    boolean isEnabled();
+
+    /**
+     * 记录一次文件操作
+     *
+     * @param operation      操作类型
+     * @param storageMode    存储模式
+     * @param storageStation 实际使用的存储站，无法确定时为null
+     * @param timings        分阶段耗时
+     * @param bytes          操作涉及的文件大小（字节），未知时为0
+     * @param error          操作失败时的异常，成功时为null
+     */
+    void record(QofOperation operation, String storageMode, String storageStation,
+                QofOperationTimings timings, long bytes, Throwable error);
+}
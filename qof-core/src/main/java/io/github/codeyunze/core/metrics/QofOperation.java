@@ -0,0 +1,40 @@
+package io.github.codeyunze.core.metrics;
+
+/**
+ * 文件操作类型
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public enum QofOperation {
+
+    /**
+     * 上传
+     */
+    UPLOAD("upload"),
+    /**
+     * 下载
+     */
+    DOWNLOAD("download"),
+    /**
+     * 预览
+     */
+    PREVIEW("preview"),
+    /**
+     * 删除
+     */
+    DELETE("delete");
+
+    /**
+     * 指标标签值
+     */
+    private final String tag;
+
+    QofOperation(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.codeyunze.core.metrics;
+
+import java.util.Arrays;
+
+/**
+ * 单次文件操作的分阶段耗时
+ * <br>
+ * 每次操作创建一个实例，非线程安全。未启用指标时使用 {@link #DISABLED}，所有记录方法都不做任何处理。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public final class QofOperationTimings {
+
+    private static final QofPhase[] PHASES = QofPhase.values();
+
+    /**
+     * 未启用耗时统计时使用的共享实例
+     */
+    public static final QofOperationTimings DISABLED = new QofOperationTimings(false);
+
+    private final boolean enabled;
+
+    private final long startNanos;
+
+    private long lastNanos;
+
+    private long endNanos = -1;
+
+    /**
+     * 各阶段耗时（纳秒），-1 表示该阶段未执行
+     */
+    private final long[] phaseNanos;
+
+    private QofOperationTimings(boolean enabled) {
+        this.enabled = enabled;
+        this.startNanos = enabled ? System.nanoTime() : 0;
+        this.lastNanos = startNanos;
+        this.phaseNanos = new long[PHASES.length];
+        Arrays.fill(this.phaseNanos, -1);
+    }
+
+    /**
+     * 开始统计一次操作的耗时
+     *
+     * @param enabled 是否启用耗时统计
+     * @return 耗时统计对象
+     */
+    public static QofOperationTimings start(boolean enabled) {
+        return enabled ? new QofOperationTimings(true) : DISABLED;
+    }
+
+    /**
+     * 将上一个记录点到现在的耗时计入指定阶段
+     *
+     * @param phase 处理阶段
+     */
+    public void mark(QofPhase phase) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        int index = phase.ordinal();
+        long elapsed = now - lastNanos;
+        phaseNanos[index] = phaseNanos[index] < 0 ? elapsed : phaseNanos[index] + elapsed;
+        lastNanos = now;
+    }
+
+    /**
+     * 结束统计
+     */
+    public void finish() {
+        if (enabled && endNanos < 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 获取指定阶段的耗时
+     *
+     * @param phase 处理阶段
+     * @return 耗时（纳秒），-1 表示该阶段未执行
+     */
+    public long getPhaseNanos(QofPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * 获取总耗时
+     *
+     * @return 耗时（纳秒）
+     */
+    public long getTotalNanos() {
+        if (!enabled) {
+            return -1;
+        }
+        return (endNanos < 0 ? System.nanoTime() : endNanos) - startNanos;
+    }
+}
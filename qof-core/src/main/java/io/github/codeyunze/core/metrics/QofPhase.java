@@ -0,0 +1,60 @@
+package io.github.codeyunze.core.metrics;
+
+/**
+ * 文件操作的处理阶段
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public enum QofPhase {
+
+    /**
+     * 校验：文件名、文件大小、文件类型是否支持预览等
+     */
+    VALIDATION("validation"),
+    /**
+     * 文件类型检测：读取文件头（Magic Number）校验文件真实类型
+     */
+    TYPE_DETECTION("type_detection"),
+    /**
+     * 扩展操作：{@link io.github.codeyunze.service.QofExtService} 中除文件信息持久化以外的前置/后置操作
+     */
+    EXTENSION_HOOK("extension_hook"),
+    /**
+     * 查询文件信息
+     */
+    METADATA_LOOKUP("metadata_lookup"),
+    /**
+     * 存储压缩：上传前压缩可压缩类型的文件，或下载时解压
+     */
+    COMPRESSION("compression"),
+    /**
+     * 内存缓存：从内存缓存读取小文件的内容
+     */
+    CONTENT_CACHE("content_cache"),
+    /**
+     * 准入控制：排队等待传输额度
+     */
+    ADMISSION("admission"),
+    /**
+     * 存储读写：本地磁盘或对象存储
+     */
+    STORAGE_IO("storage_io"),
+    /**
+     * 文件信息持久化
+     */
+    PERSISTENCE("persistence");
+
+    /**
+     * 指标标签值
+     */
+    private final String tag;
+
+    QofPhase(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
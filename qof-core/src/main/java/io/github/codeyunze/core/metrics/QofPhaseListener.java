@@ -0,0 +1,31 @@
+package io.github.codeyunze.core.metrics;
+
+import io.github.codeyunze.core.QofFileOperationBase;
+
+/**
+ * 文件操作分阶段耗时监听器
+ * <br>
+ * 每次文件操作（上传、下载、预览、删除）结束后回调，可用于定位慢请求具体耗时在哪个阶段，
+ * 如文件类型检测、对象存储读写或文件信息持久化。注册该类型的Bean即可生效；
+ * 未注册任何监听器且未启用指标时，不会统计分阶段耗时。
+ * <p>
+ * 监听器在业务线程中同步执行，实现应尽量轻量，抛出的异常会被忽略。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public interface QofPhaseListener {
+
+    /**
+     * 文件操作结束
+     *
+     * @param operation         操作类型
+     * @param storageMode       存储模式
+     * @param storageStation    实际使用的存储站，无法确定时为null
+     * @param fileOperationBase 文件信息，查询文件信息失败时为null
+     * @param timings           分阶段耗时，通过 {@link QofOperationTimings#getPhaseNanos(QofPhase)} 获取各阶段耗时
+     * @param error             操作失败时的异常，成功时为null
+     */
+    void onOperationComplete(QofOperation operation, String storageMode, String storageStation,
+                             QofFileOperationBase fileOperationBase, QofOperationTimings timings, Throwable error);
+}
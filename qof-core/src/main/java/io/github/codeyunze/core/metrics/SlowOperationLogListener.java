@@ -0,0 +1,53 @@
+package io.github.codeyunze.core.metrics;
+
+import io.github.codeyunze.core.QofFileOperationBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢操作日志监听器
+ * <br>
+ * 文件操作总耗时超过阈值时，输出各阶段耗时，配置项为[qof.metrics.slow-operation-threshold]
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class SlowOperationLogListener implements QofPhaseListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowOperationLogListener.class);
+
+    private static final QofPhase[] PHASES = QofPhase.values();
+
+    private final long thresholdNanos;
+
+    public SlowOperationLogListener(Duration threshold) {
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void onOperationComplete(QofOperation operation, String storageMode, String storageStation,
+                                    QofFileOperationBase fileOperationBase, QofOperationTimings timings, Throwable error) {
+        long totalNanos = timings.getTotalNanos();
+        if (totalNanos < thresholdNanos || !log.isWarnEnabled()) {
+            return;
+        }
+        StringBuilder phases = new StringBuilder();
+        for (QofPhase phase : PHASES) {
+            long phaseNanos = timings.getPhaseNanos(phase);
+            if (phaseNanos < 0) {
+                continue;
+            }
+            if (phases.length() > 0) {
+                phases.append(", ");
+            }
+            phases.append(phase.getTag()).append('=').append(TimeUnit.NANOSECONDS.toMillis(phaseNanos)).append("ms");
+        }
+        log.warn("文件操作耗时过长，操作: {}, 存储模式: {}, 存储站: {}, 文件ID: {}, 总耗时: {}ms, 各阶段耗时: [{}], 是否失败: {}",
+                operation.getTag(), storageMode, storageStation,
+                fileOperationBase == null ? null : fileOperationBase.getFileId(),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos), phases, error != null);
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.codeyunze.core.multipart;
+
+import io.github.codeyunze.exception.StorageConfigurationException;
+
+/**
+ * 分片上传策略
+ * <br>
+ * 文件大小达到阈值时使用分片上传，分片大小根据文件大小计算，保证分片数量不超过对象存储的上限。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class MultipartUploadPolicy {
+
+    /**
+     * 默认分片上传阈值：64MB
+     */
+    public static final long DEFAULT_THRESHOLD = 64L * 1024 * 1024;
+
+    /**
+     * 默认分片大小：8MB
+     */
+    public static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * 默认单个文件同时上传的分片数量
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /**
+     * 最小分片大小：1MB（COS要求除最后一个分片外不小于1MB，OSS要求不小于100KB）
+     */
+    public static final long MIN_PART_SIZE = 1024L * 1024;
+
+    /**
+     * 单个文件最大分片数量（COS、OSS均为10000）
+     */
+    public static final int MAX_PARTS = 10000;
+
+    /**
+     * 分片在内存中缓冲，单个分片不能超过数组的最大长度
+     */
+    private static final long MAX_PART_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long threshold;
+
+    private final long partSize;
+
+    private final int concurrency;
+
+    /**
+     * @param threshold   分片上传阈值（单位：字节），为null时使用默认值，不大于0表示不使用分片上传
+     * @param partSize    分片大小（单位：字节），为null时使用默认值
+     * @param concurrency 单个文件同时上传的分片数量，为null时使用默认值
+     */
+    public MultipartUploadPolicy(Long threshold, Long partSize, Integer concurrency) {
+        this.threshold = threshold == null ? DEFAULT_THRESHOLD : threshold;
+        this.partSize = partSize == null ? DEFAULT_PART_SIZE : partSize;
+        this.concurrency = concurrency == null ? DEFAULT_CONCURRENCY : concurrency;
+        if (this.partSize < MIN_PART_SIZE || this.partSize > MAX_PART_SIZE) {
+            throw new StorageConfigurationException("分片大小[multipart-part-size]需在" + MIN_PART_SIZE + "到" + MAX_PART_SIZE + "字节之间");
+        }
+        if (this.concurrency <= 0) {
+            throw new StorageConfigurationException("分片上传并发数[multipart-concurrency]必须大于0");
+        }
+    }
+
+    /**
+     * 是否使用分片上传
+     *
+     * @param fileSize 文件大小（字节）
+     * @return true: 使用分片上传；  false: 使用简单上传；
+     */
+    public boolean isMultipart(Long fileSize) {
+        return threshold > 0 && fileSize != null && fileSize >= threshold;
+    }
+
+    /**
+     * 计算分片大小
+     * <br>
+     * 在配置的分片大小基础上，保证分片数量不超过 {@link #MAX_PARTS}
+     *
+     * @param fileSize 文件大小（字节）
+     * @return 分片大小（字节）
+     */
+    public int getPartSize(long fileSize) {
+        long minPartSize = (fileSize + MAX_PARTS - 1) / MAX_PARTS;
+        long size = Math.max(partSize, minPartSize);
+        if (size > MAX_PART_SIZE) {
+            throw new StorageConfigurationException("文件过大，无法进行分片上传: " + fileSize);
+        }
+        return (int) size;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+}
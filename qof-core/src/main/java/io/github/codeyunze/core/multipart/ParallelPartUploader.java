@@ -0,0 +1,268 @@
+package io.github.codeyunze.core.multipart;
+
+import io.github.codeyunze.exception.FileUploadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 分片并行上传器
+ * <br>
+ * 调用线程按顺序从输入流读取分片，交给共享的线程池并行上传。每个文件同时在途的分片数量受并发数限制，
+ * 分片缓冲区循环复用，单个文件占用的内存不超过 并发数 * 分片大小。
+ * 线程池繁忙时由调用线程自己上传分片，不会无限排队。
+ * 上传磁盘上的文件时只按文件位置划分分片，由分片上传操作直接读取文件。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class ParallelPartUploader {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelPartUploader.class);
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param maxThreads 线程池最大线程数
+     */
+    public ParallelPartUploader(int maxThreads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "qof-part-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 分片上传操作
+     *
+     * @param <P> 分片上传结果，如分片的ETag
+     */
+    @FunctionalInterface
+    public interface PartUploadFunction<P> {
+
+        /**
+         * 上传一个分片
+         *
+         * @param partNumber 分片编号，从1开始
+         * @param buffer     分片数据，方法返回后缓冲区会被复用
+         * @param length     分片数据长度
+         * @return 分片上传结果
+         */
+        P upload(int partNumber, byte[] buffer, int length);
+    }
+
+    /**
+     * 基于文件的分片上传操作
+     *
+     * @param <P> 分片上传结果，如分片的ETag
+     */
+    @FunctionalInterface
+    public interface FilePartUploadFunction<P> {
+
+        /**
+         * 上传一个分片
+         *
+         * @param partNumber 分片编号，从1开始
+         * @param offset     分片在文件中的起始位置
+         * @param length     分片数据长度
+         * @return 分片上传结果
+         */
+        P upload(int partNumber, long offset, long length);
+    }
+
+    /**
+     * 并行上传文件的全部分片
+     * <p>
+     * 分片内容由上传操作直接从文件读取，不占用分片缓冲区，SDK可在分片上传失败时重新读取文件重试。
+     * 任一分片上传失败时停止提交，等待已提交的分片结束后抛出异常，由调用方负责取消分片上传任务。
+     *
+     * @param fileSize    文件大小（字节）
+     * @param partSize    分片大小（字节）
+     * @param concurrency 单个文件同时上传的分片数量
+     * @param function    分片上传操作
+     * @return 按分片编号排序的分片上传结果
+     */
+    public <P> List<P> upload(long fileSize, long partSize, int concurrency, FilePartUploadFunction<P> function) {
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<Future<P>> futures = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            for (long offset = 0; offset < fileSize && failure.get() == null; offset += partSize, partNumber++) {
+                // 在途分片已达上限时，等待有分片上传完成
+                permits.acquire();
+                final int currentPartNumber = partNumber;
+                final long currentOffset = offset;
+                final long length = Math.min(partSize, fileSize - offset);
+                futures.add(executor.submit(() -> {
+                    try {
+                        return function.upload(currentPartNumber, currentOffset, length);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new FileUploadException("分片上传被中断", e));
+        } finally {
+            // 无论成功与否，都等待已提交的分片结束，避免取消分片上传任务后仍有分片写入
+            awaitAll(futures);
+        }
+
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+        List<P> results = new ArrayList<>(futures.size());
+        for (Future<P> future : futures) {
+            results.add(getResult(future));
+        }
+        return results;
+    }
+
+    /**
+     * 并行上传输入流中的全部分片
+     * <p>
+     * 任一分片上传失败时停止读取，等待已提交的分片结束后抛出异常，由调用方负责取消分片上传任务。
+     *
+     * @param inputStream 文件输入流
+     * @param partSize    分片大小（字节）
+     * @param concurrency 单个文件同时上传的分片数量
+     * @param function    分片上传操作
+     * @return 按分片编号排序的分片上传结果
+     * @throws IOException 读取输入流失败
+     */
+    public <P> List<P> upload(InputStream inputStream, int partSize, int concurrency,
+                              PartUploadFunction<P> function) throws IOException {
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(concurrency);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<Future<P>> futures = new ArrayList<>();
+        int allocated = 0;
+        try {
+            for (int partNumber = 1; failure.get() == null; partNumber++) {
+                byte[] buffer = buffers.poll();
+                if (buffer == null) {
+                    if (allocated < concurrency) {
+                        buffer = new byte[partSize];
+                        allocated++;
+                    } else {
+                        // 在途分片已达上限，等待有分片上传完成后复用其缓冲区
+                        buffer = buffers.take();
+                    }
+                }
+                int length = readFully(inputStream, buffer);
+                if (length == 0) {
+                    break;
+                }
+                final int currentPartNumber = partNumber;
+                final byte[] currentBuffer = buffer;
+                futures.add(executor.submit(() -> {
+                    try {
+                        return function.upload(currentPartNumber, currentBuffer, length);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        buffers.offer(currentBuffer);
+                    }
+                }));
+                if (length < partSize) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new FileUploadException("分片上传被中断", e));
+        } finally {
+            // 无论成功与否，都等待已提交的分片结束，避免取消分片上传任务后仍有分片写入
+            awaitAll(futures);
+        }
+
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+        List<P> results = new ArrayList<>(futures.size());
+        for (Future<P> future : futures) {
+            results.add(getResult(future));
+        }
+        return results;
+    }
+
+    /**
+     * 关闭线程池
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int n = inputStream.read(buffer, total, buffer.length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
+    private static void awaitAll(List<? extends Future<?>> futures) {
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    log.debug("分片上传失败: {}", e.getCause().getMessage());
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <P> P getResult(Future<P> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileUploadException("分片上传被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new FileUploadException("分片上传失败", cause);
+        }
+    }
+}
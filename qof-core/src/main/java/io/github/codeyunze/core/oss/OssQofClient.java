@@ -1,18 +1,33 @@
 package io.github.codeyunze.core.oss;
 
 import com.aliyun.oss.ClientException;
+import com.aliyun.oss.HttpMethod;
 import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSErrorCode;
 import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.GeneratePresignedUrlRequest;
 import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
 import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.ResponseHeaderOverrides;
+import com.aliyun.oss.model.UploadPartRequest;
 import io.github.codeyunze.QofConstant;
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.bo.QofChunkUploadBo;
 import io.github.codeyunze.bo.QofFileDownloadBo;
 import io.github.codeyunze.bo.QofFileInfoBo;
+import io.github.codeyunze.bo.QofPresignedUploadBo;
+import io.github.codeyunze.bo.QofStorageObjectBo;
 import io.github.codeyunze.core.AbstractQofClient;
 import io.github.codeyunze.core.QofFileOperationBase;
-import io.github.codeyunze.core.StorageStationHelper;
+import io.github.codeyunze.core.QofStationRegistry;
+import io.github.codeyunze.core.multipart.MultipartUploadPolicy;
+import io.github.codeyunze.core.multipart.ParallelPartUploader;
 import io.github.codeyunze.dto.QofFileInfoDto;
 import io.github.codeyunze.exception.FileUploadException;
 import io.github.codeyunze.exception.FileDownloadException;
@@ -22,12 +37,24 @@ import io.github.codeyunze.utils.StrUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import javax.annotation.Resource;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -38,7 +65,7 @@ import java.util.Map;
  */
 @Service
 @ConditionalOnProperty(prefix = "qof.oss", name = QofConstant.ENABLE, havingValue = QofConstant.ENABLE_VALUE)
-public class OssQofClient extends AbstractQofClient {
+public class OssQofClient extends AbstractQofClient implements InitializingBean {
 
     private static final Logger log = LoggerFactory.getLogger(OssQofClient.class);
 
@@ -48,128 +75,350 @@ public class OssQofClient extends AbstractQofClient {
     @Resource
     private Map<String, OSS> ossClientMap;
 
+    @Resource
+    private ParallelPartUploader parallelPartUploader;
+
+    /**
+     * 各存储站上下文
+     */
+    private QofStationRegistry<OssStationContext> stations;
+
     public OssQofClient(QofExtService qofExtService) {
         super(qofExtService);
     }
 
-    private OSS getClient(QofFileOperationBase fileOperationBase) {
-        String fileStorageStation = StorageStationHelper.getStorageStation(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation()
-        );
-        String clientKey = fileStorageStation + StrUtils.toUpperCase(QofConstant.StorageMode.OSS);
-        OSS client = ossClientMap.get(clientKey);
-        if (client == null) {
-            throw new IllegalStateException("未找到OSS客户端，存储站: " + fileStorageStation);
-        }
-        return client;
-    }
-
-    private String getBucketName(QofFileOperationBase fileOperationBase) {
-        return StorageStationHelper.getConfigValue(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation(),
-                (v) -> fileProperties.getBucketName(),
-                OssQofConfig::getBucketName,
-                "bucket-name"
-        );
-    }
-
-    private String getFilePath(QofFileOperationBase fileOperationBase) {
-        String filepath = StorageStationHelper.getConfigValue(
-                fileOperationBase,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation(),
-                (v) -> fileProperties.getFilepath(),
-                OssQofConfig::getFilepath,
-                "filepath"
-        );
-        
-        // 构建完整路径
-        String fullPath = filepath + fileOperationBase.getFilePath();
-        
-        // OSS对象名称不能以/开头，需要去掉开头的斜杠
-        if (fullPath.startsWith("/")) {
-            fullPath = fullPath.substring(1);
+    @Override
+    public void afterPropertiesSet() {
+        if (CollectionUtils.isEmpty(fileProperties.getMultiple())) {
+            OSS client = ossClientMap.get(QofConstant.DEFAULT + StrUtils.toUpperCase(QofConstant.StorageMode.OSS));
+            this.stations = QofStationRegistry.single(new OssStationContext(fileProperties.getDefaultStorageStation(), client,
+                    fileProperties.getBucketName(), fileProperties.getFilepath(), multipartPolicy(fileProperties)));
+            return;
         }
-        
-        return fullPath;
+        this.stations = QofStationRegistry.multiple(fileProperties.getMultiple(), fileProperties.getDefaultStorageStation(),
+                station -> {
+                    OssQofConfig config = fileProperties.getMultiple().get(station);
+                    OSS client = ossClientMap.get(station + StrUtils.toUpperCase(QofConstant.StorageMode.OSS));
+                    return new OssStationContext(station, client,
+                            config.getBucketName() != null ? config.getBucketName() : fileProperties.getBucketName(),
+                            config.getFilepath() != null ? config.getFilepath() : fileProperties.getFilepath(),
+                            multipartPolicy(config));
+                });
+    }
+
+    private static MultipartUploadPolicy multipartPolicy(OssQofConfig config) {
+        return new MultipartUploadPolicy(config.getMultipartThreshold(), config.getMultipartPartSize(),
+                config.getMultipartConcurrency());
+    }
+
+    @Override
+    public String getStorageMode() {
+        return QofConstant.StorageMode.OSS;
+    }
+
+    @Override
+    protected String resolveStorageStation(QofFileOperationBase fileOperationBase) {
+        // 如果用户传入的存储站在配置中不存在，会使用默认存储站
+        return stations.resolveStation(fileOperationBase);
     }
 
     @Override
     protected Long doUpload(InputStream fis, QofFileInfoDto<?> info) {
         // 获取实际使用的存储站（如果用户传入的存储站在配置中不存在，会使用默认存储站）
         // 更新到info中，确保保存到数据库时使用的是实际使用的存储站
-        String actualStorageStation = StorageStationHelper.getStorageStation(
-                info,
-                fileProperties.getMultiple(),
-                fileProperties.getDefaultStorageStation()
-        );
-        info.setFileStorageStation(actualStorageStation);
+        info.setFileStorageStation(resolveStorageStation(info));
+        OssStationContext station = stations.get(info);
+        String key = station.getKey(info);
         
         ObjectMetadata objectMetadata = new ObjectMetadata();
         // 上传的流如果能够获取准确的流长度，则推荐一定填写 content-length
         objectMetadata.setContentLength(info.getFileSize());
         
         try (InputStream inputStream = fis) {
+            // 大文件使用分片并行上传
+            if (station.getMultipartPolicy().isMultipart(info.getFileSize())) {
+                multipartUpload(station, key, inputStream, info.getFileSize());
+                return info.getFileId();
+            }
             PutObjectRequest putObjectRequest = new PutObjectRequest(
-                    getBucketName(info),
-                    getFilePath(info),
+                    station.getBucketName(),
+                    key,
                     inputStream,
                     objectMetadata
             );
             
-            OSS client = getClient(info);
-            client.putObject(putObjectRequest);
+            station.getClient().putObject(putObjectRequest);
         } catch (OSSException e) {
-            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", getFilePath(info), e.getErrorCode(), e.getErrorMessage(), e);
+            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
             throw new FileUploadException("文件上传失败，请稍后重试", e);
         } catch (ClientException e) {
-            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", getFilePath(info), e.getMessage(), e);
+            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
             throw new FileUploadException("文件上传失败，请稍后重试", e);
         } catch (IOException e) {
-            log.error("文件流处理异常，文件路径: {}", getFilePath(info), e);
+            log.error("文件流处理异常，文件路径: {}", key, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+        return info.getFileId();
+    }
+
+    /**
+     * 基于文件上传，SDK可在请求失败时重新读取文件重试
+     */
+    @Override
+    protected Long doUploadFile(Path source, QofFileInfoDto<?> info) {
+        // 获取实际使用的存储站（如果用户传入的存储站在配置中不存在，会使用默认存储站）
+        // 更新到info中，确保保存到数据库时使用的是实际使用的存储站
+        info.setFileStorageStation(resolveStorageStation(info));
+        OssStationContext station = stations.get(info);
+        String key = station.getKey(info);
+        File file = source.toFile();
+        try {
+            // 大文件使用分片并行上传
+            if (station.getMultipartPolicy().isMultipart(info.getFileSize())) {
+                multipartUpload(station, key, file, info.getFileSize());
+                return info.getFileId();
+            }
+            station.getClient().putObject(new PutObjectRequest(station.getBucketName(), key, file));
+        } catch (OSSException e) {
+            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        } catch (ClientException e) {
+            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
             throw new FileUploadException("文件上传失败，请稍后重试", e);
         }
         return info.getFileId();
     }
 
+    /**
+     * 基于文件的分片并行上传，每个分片单独打开文件并定位到分片起始位置，SDK重试时可重新读取，任一分片失败时取消本次分片上传
+     */
+    private void multipartUpload(OssStationContext station, String key, File file, long fileSize) {
+        OSS client = station.getClient();
+        String bucketName = station.getBucketName();
+        MultipartUploadPolicy policy = station.getMultipartPolicy();
+        String uploadId = client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)).getUploadId();
+        try {
+            List<PartETag> partETags = parallelPartUploader.upload(fileSize, policy.getPartSize(fileSize), policy.getConcurrency(),
+                    (partNumber, offset, length) -> {
+                        try (FileInputStream partStream = new FileInputStream(file)) {
+                            partStream.getChannel().position(offset);
+                            return client.uploadPart(new UploadPartRequest(bucketName, key, uploadId, partNumber,
+                                    partStream, length)).getPartETag();
+                        } catch (IOException e) {
+                            throw new FileUploadException("读取上传文件失败: " + file, e);
+                        }
+                    });
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+        } catch (RuntimeException e) {
+            try {
+                client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException abortException) {
+                log.warn("取消OSS分片上传失败，文件路径: {}, uploadId: {}", key, uploadId, abortException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 分片并行上传，任一分片失败时取消本次分片上传，清理已上传的分片
+     */
+    private void multipartUpload(OssStationContext station, String key, InputStream inputStream, long fileSize) throws IOException {
+        OSS client = station.getClient();
+        String bucketName = station.getBucketName();
+        MultipartUploadPolicy policy = station.getMultipartPolicy();
+        String uploadId = client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)).getUploadId();
+        try {
+            List<PartETag> partETags = parallelPartUploader.upload(inputStream, policy.getPartSize(fileSize), policy.getConcurrency(),
+                    (partNumber, buffer, length) -> client.uploadPart(new UploadPartRequest(bucketName, key, uploadId, partNumber,
+                            new ByteArrayInputStream(buffer, 0, length), length)).getPartETag());
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+        } catch (IOException | RuntimeException e) {
+            try {
+                client.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException abortException) {
+                log.warn("取消OSS分片上传失败，文件路径: {}, uploadId: {}", key, uploadId, abortException);
+            }
+            throw e;
+        }
+    }
+
     @Override
     protected QofFileDownloadBo doDownload(QofFileInfoBo<?> fileBo) {
+        return getObject(fileBo, -1, -1);
+    }
+
+    @Override
+    protected QofFileDownloadBo doDownloadRange(QofFileInfoBo<?> fileBo, long rangeStart, long rangeEnd) {
+        return getObject(fileBo, rangeStart, rangeEnd);
+    }
+
+    /**
+     * 读取存储对象
+     *
+     * @param rangeStart 起始位置（包含），小于0时读取完整内容
+     * @param rangeEnd   结束位置（包含）
+     */
+    private QofFileDownloadBo getObject(QofFileInfoBo<?> fileBo, long rangeStart, long rangeEnd) {
+        OssStationContext station = stations.get(fileBo);
+        String key = station.getKey(fileBo);
         try {
-            GetObjectRequest getObjectRequest = new GetObjectRequest(getBucketName(fileBo), getFilePath(fileBo));
-            OSSObject ossObject = getClient(fileBo).getObject(getObjectRequest);
+            GetObjectRequest getObjectRequest = new GetObjectRequest(station.getBucketName(), key);
+            if (rangeStart >= 0) {
+                getObjectRequest.setRange(rangeStart, rangeEnd);
+            }
+            OSSObject ossObject = station.getClient().getObject(getObjectRequest);
 
             QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
             BeanUtils.copyProperties(fileBo, fileDownloadBo);
             fileDownloadBo.setInputStream(ossObject.getObjectContent());
             return fileDownloadBo;
         } catch (OSSException e) {
-            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", getFilePath(fileBo), e.getErrorCode(), e.getErrorMessage(), e);
+            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
             throw new FileDownloadException("文件下载失败，请稍后重试", e);
         } catch (ClientException e) {
-            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", getFilePath(fileBo), e.getMessage(), e);
+            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
             throw new FileDownloadException("文件下载失败，请稍后重试", e);
         }
     }
 
     @Override
     protected boolean doDelete(QofFileInfoBo<?> fileBo) {
+        OssStationContext station = stations.get(fileBo);
+        String key = station.getKey(fileBo);
         try {
-            getClient(fileBo).deleteObject(getBucketName(fileBo), getFilePath(fileBo));
+            station.getClient().deleteObject(station.getBucketName(), key);
             return true;
         } catch (OSSException e) {
-            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", getFilePath(fileBo), e.getErrorCode(), e.getErrorMessage(), e);
+            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
             throw new FileDeleteException("文件删除失败，请稍后重试", e);
         } catch (ClientException e) {
-            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", getFilePath(fileBo), e.getMessage(), e);
+            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
             throw new FileDeleteException("文件删除失败，请稍后重试", e);
         } catch (Exception e) {
-            log.error("文件删除异常，文件路径: {}", getFilePath(fileBo), e);
+            log.error("文件删除异常，文件路径: {}", key, e);
             throw new FileDeleteException("文件删除失败，请稍后重试", e);
         }
     }
-}
 
+    @Override
+    protected String doInitChunkUpload(QofChunkUploadBo uploadBo) {
+        OssStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        try {
+            return station.getClient().initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(station.getBucketName(), key)).getUploadId();
+        } catch (OSSException | ClientException e) {
+            log.error("OSS初始化分片上传失败，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected String doUploadChunk(QofChunkUploadBo uploadBo, int partNumber, InputStream fis, long partSize) {
+        OssStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        try (InputStream inputStream = fis) {
+            return station.getClient().uploadPart(new UploadPartRequest(station.getBucketName(), key,
+                    uploadBo.getStorageUploadId(), partNumber, inputStream, partSize)).getETag();
+        } catch (OSSException e) {
+            log.error("OSS服务异常，文件路径: {}, 分片: {}, 错误码: {}, 错误信息: {}", key, partNumber, e.getErrorCode(), e.getErrorMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        } catch (ClientException e) {
+            log.error("OSS客户端异常，文件路径: {}, 分片: {}, 异常信息: {}", key, partNumber, e.getMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        } catch (IOException e) {
+            log.error("文件流处理异常，文件路径: {}, 分片: {}", key, partNumber, e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected void doCompleteChunkUpload(QofChunkUploadBo uploadBo, List<QofChunkPartBo> parts) {
+        OssStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        List<PartETag> partETags = new ArrayList<>(parts.size());
+        for (QofChunkPartBo part : parts) {
+            partETags.add(new PartETag(part.getPartNumber(), part.getEtag()));
+        }
+        try {
+            station.getClient().completeMultipartUpload(new CompleteMultipartUploadRequest(station.getBucketName(), key,
+                    uploadBo.getStorageUploadId(), partETags));
+        } catch (OSSException | ClientException e) {
+            log.error("OSS合并分片失败，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
+            throw new FileUploadException("文件上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected void doAbortChunkUpload(QofChunkUploadBo uploadBo) {
+        OssStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        try {
+            station.getClient().abortMultipartUpload(new AbortMultipartUploadRequest(station.getBucketName(), key,
+                    uploadBo.getStorageUploadId()));
+        } catch (OSSException | ClientException e) {
+            log.error("取消OSS分片上传失败，文件路径: {}, uploadId: {}", key, uploadBo.getStorageUploadId(), e);
+            throw new FileUploadException("取消上传失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected String doPresignUpload(QofPresignedUploadBo uploadBo) {
+        OssStationContext station = stations.get(uploadBo);
+        String key = station.getKey(uploadBo);
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(station.getBucketName(), key, HttpMethod.PUT);
+        request.setExpiration(Date.from(uploadBo.getExpireTime().atZone(ZoneId.systemDefault()).toInstant()));
+        // 内容类型参与签名，上传时必须携带一致的 Content-Type
+        request.setContentType(uploadBo.getFileType());
+        try {
+            return station.getClient().generatePresignedUrl(request).toString();
+        } catch (ClientException e) {
+            log.error("生成OSS上传地址失败，文件路径: {}", key, e);
+            throw new FileUploadException("生成上传地址失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected QofStorageObjectBo doStatObject(QofFileOperationBase fileOperationBase) {
+        OssStationContext station = stations.get(fileOperationBase);
+        String key = station.getKey(fileOperationBase);
+        try {
+            ObjectMetadata objectMetadata = station.getClient().getObjectMetadata(station.getBucketName(), key);
+            QofStorageObjectBo storageObject = new QofStorageObjectBo();
+            storageObject.setContentLength(objectMetadata.getContentLength());
+            storageObject.setContentType(objectMetadata.getContentType());
+            storageObject.setETag(objectMetadata.getETag());
+            return storageObject;
+        } catch (OSSException e) {
+            if (OSSErrorCode.NO_SUCH_KEY.equals(e.getErrorCode())) {
+                return null;
+            }
+            log.error("OSS服务异常，文件路径: {}, 错误码: {}, 错误信息: {}", key, e.getErrorCode(), e.getErrorMessage(), e);
+            throw new FileDownloadException("查询文件失败，请稍后重试", e);
+        } catch (ClientException e) {
+            log.error("OSS客户端异常，文件路径: {}, 异常信息: {}", key, e.getMessage(), e);
+            throw new FileDownloadException("查询文件失败，请稍后重试", e);
+        }
+    }
+
+    @Override
+    protected String doPresignDownload(QofFileInfoBo<?> fileBo, String contentDisposition, LocalDateTime expireTime) {
+        OssStationContext station = stations.get(fileBo);
+        String key = station.getKey(fileBo);
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(station.getBucketName(), key, HttpMethod.GET);
+        request.setExpiration(Date.from(expireTime.atZone(ZoneId.systemDefault()).toInstant()));
+        ResponseHeaderOverrides responseHeaders = new ResponseHeaderOverrides();
+        responseHeaders.setContentDisposition(contentDisposition);
+        responseHeaders.setContentType(fileBo.getFileType());
+        if (StringUtils.hasText(fileBo.getContentEncoding())) {
+            responseHeaders.setContentEncoding(fileBo.getContentEncoding());
+        }
+        request.setResponseHeaders(responseHeaders);
+        try {
+            return station.getClient().generatePresignedUrl(request).toString();
+        } catch (ClientException e) {
+            log.error("生成OSS下载地址失败，文件路径: {}", key, e);
+            throw new FileDownloadException("文件下载失败，请稍后重试", e);
+        }
+    }
+}
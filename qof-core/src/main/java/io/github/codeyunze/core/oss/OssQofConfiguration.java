@@ -1,6 +1,7 @@
 package io.github.codeyunze.core.oss;
 
 import cn.hutool.core.text.CharPool;
+import com.aliyun.oss.ClientBuilderConfiguration;
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSClientBuilder;
 import io.github.codeyunze.QofConstant;
@@ -71,11 +72,37 @@ public class OssQofConfiguration implements DisposableBean {
      * @return 客户端
      */
     private OSS createOssClient(OssQofConfig config) {
+        // 连接池、超时、重试配置，未配置的项使用SDK默认值
+        ClientBuilderConfiguration clientConfig = new ClientBuilderConfiguration();
+        if (config.getMaxConnections() != null) {
+            clientConfig.setMaxConnections(config.getMaxConnections());
+        }
+        if (config.getConnectionTimeout() != null) {
+            clientConfig.setConnectionTimeout(config.getConnectionTimeout());
+        }
+        if (config.getSocketTimeout() != null) {
+            clientConfig.setSocketTimeout(config.getSocketTimeout());
+        }
+        if (config.getConnectionRequestTimeout() != null) {
+            clientConfig.setConnectionRequestTimeout(config.getConnectionRequestTimeout());
+        }
+        if (config.getIdleConnectionTime() != null) {
+            // SDK默认开启后台回收线程，这里只调整空闲连接的存活时间
+            clientConfig.setIdleConnectionTime(config.getIdleConnectionTime());
+        }
+        if (config.getMaxErrorRetry() != null) {
+            clientConfig.setMaxErrorRetry(config.getMaxErrorRetry());
+        }
+        if (config.getRequestTimeout() != null) {
+            clientConfig.setRequestTimeoutEnabled(true);
+            clientConfig.setRequestTimeout(config.getRequestTimeout());
+        }
         // 创建OSS客户端实例
         return new OSSClientBuilder().build(
                 config.getEndpoint(),
                 config.getAccessKeyId(),
-                config.getAccessKeySecret()
+                config.getAccessKeySecret(),
+                clientConfig
         );
     }
 
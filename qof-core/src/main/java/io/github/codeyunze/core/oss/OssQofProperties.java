@@ -124,7 +124,46 @@ public class OssQofProperties extends OssQofConfig implements InitializingBean {
                     throw new StorageConfigurationException("缺少OSS存储桶配置信息[qof.oss.multiple." + entry.getKey() + ".bucket-name]");
                 }
             }
+
+            inheritCommonConfig();
         }
     }
-}
 
+    /**
+     * 存储站未单独配置连接池、超时、重试、分片上传参数时，使用公共配置
+     */
+    private void inheritCommonConfig() {
+        for (OssQofConfig config : this.multiple.values()) {
+            if (config.getMaxConnections() == null) {
+                config.setMaxConnections(this.getMaxConnections());
+            }
+            if (config.getConnectionTimeout() == null) {
+                config.setConnectionTimeout(this.getConnectionTimeout());
+            }
+            if (config.getSocketTimeout() == null) {
+                config.setSocketTimeout(this.getSocketTimeout());
+            }
+            if (config.getConnectionRequestTimeout() == null) {
+                config.setConnectionRequestTimeout(this.getConnectionRequestTimeout());
+            }
+            if (config.getIdleConnectionTime() == null) {
+                config.setIdleConnectionTime(this.getIdleConnectionTime());
+            }
+            if (config.getMaxErrorRetry() == null) {
+                config.setMaxErrorRetry(this.getMaxErrorRetry());
+            }
+            if (config.getRequestTimeout() == null) {
+                config.setRequestTimeout(this.getRequestTimeout());
+            }
+            if (config.getMultipartThreshold() == null) {
+                config.setMultipartThreshold(this.getMultipartThreshold());
+            }
+            if (config.getMultipartPartSize() == null) {
+                config.setMultipartPartSize(this.getMultipartPartSize());
+            }
+            if (config.getMultipartConcurrency() == null) {
+                config.setMultipartConcurrency(this.getMultipartConcurrency());
+            }
+        }
+    }
+}
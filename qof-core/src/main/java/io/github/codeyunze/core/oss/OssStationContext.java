@@ -0,0 +1,65 @@
+package io.github.codeyunze.core.oss;
+
+import com.aliyun.oss.OSS;
+import io.github.codeyunze.core.QofFileOperationBase;
+import io.github.codeyunze.core.QofStationContext;
+import io.github.codeyunze.core.multipart.MultipartUploadPolicy;
+
+/**
+ * 阿里云OSS存储站上下文
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class OssStationContext extends QofStationContext {
+
+    private final OSS client;
+
+    private final String bucketName;
+
+    /**
+     * 文件存储路径
+     */
+    private final String filepath;
+
+    private final MultipartUploadPolicy multipartPolicy;
+
+    public OssStationContext(String station, OSS client, String bucketName, String filepath,
+                             MultipartUploadPolicy multipartPolicy) {
+        super(station);
+        this.client = client;
+        this.bucketName = bucketName;
+        this.filepath = filepath;
+        this.multipartPolicy = multipartPolicy;
+    }
+
+    public OSS getClient() {
+        if (client == null) {
+            throw new IllegalStateException("未找到OSS客户端，存储站: " + getStation());
+        }
+        return client;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public MultipartUploadPolicy getMultipartPolicy() {
+        return multipartPolicy;
+    }
+
+    /**
+     * 获取文件在存储桶中的对象名称
+     *
+     * @param fileOperationBase 文件操作基础参数
+     * @return 对象名称
+     */
+    public String getKey(QofFileOperationBase fileOperationBase) {
+        String fullPath = filepath + fileOperationBase.getFilePath();
+        // OSS对象名称不能以/开头，需要去掉开头的斜杠
+        if (fullPath.startsWith("/")) {
+            fullPath = fullPath.substring(1);
+        }
+        return fullPath;
+    }
+}
@@ -54,12 +54,35 @@ public class CoreFileValidationService {
      * @throws FileUploadException 如果校验失败
      */
     public void validateBeforeUpload(InputStream inputStream, QofFileInfoDto<?> fileInfoDto) {
+        validateFileInfo(fileInfoDto);
+        validateFileContent(inputStream, fileInfoDto);
+    }
+
+    /**
+     * 校验文件基础信息，不读取文件流
+     * 包括：文件名安全性、文件大小
+     *
+     * @param fileInfoDto 文件信息 DTO
+     * @throws FileUploadException 如果校验失败
+     */
+    public void validateFileInfo(QofFileInfoDto<?> fileInfoDto) {
         // 1. 校验文件名安全性
         validateFileName(fileInfoDto.getFileName());
 
         // 2. 校验文件大小
         validateFileSize(fileInfoDto.getFileSize());
+    }
 
+    /**
+     * 校验文件内容
+     * 包括：文件类型（Magic Number检测）
+     *
+     * @param inputStream 文件输入流（如果为null，则跳过Magic Number检测）
+     *                    注意：流需要支持mark/reset，以便Magic Number检测后可以重置
+     * @param fileInfoDto 文件信息 DTO
+     * @throws FileUploadException 如果校验失败
+     */
+    public void validateFileContent(InputStream inputStream, QofFileInfoDto<?> fileInfoDto) {
         // 3. 校验文件类型（Magic Number检测）
         // 注意：Magic Number检测会读取流，流必须支持mark/reset以便后续重置
         if (inputStream != null && fileInfoDto.getFileType() != null) {
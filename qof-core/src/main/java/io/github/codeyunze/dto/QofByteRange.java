@@ -0,0 +1,104 @@
+package io.github.codeyunze.dto;
+
+/**
+ * 文件内容的字节范围，语义与 HTTP Range 请求头中的单个范围一致
+ * <br>
+ * 起止位置均从0开始且包含结束位置，实际范围需要根据文件大小确定
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public final class QofByteRange {
+
+    /**
+     * 起始位置，为null时表示文件末尾的 suffixLength 个字节
+     */
+    private final Long start;
+
+    /**
+     * 结束位置，为null时表示到文件末尾
+     */
+    private final Long end;
+
+    private final long suffixLength;
+
+    private QofByteRange(Long start, Long end, long suffixLength) {
+        this.start = start;
+        this.end = end;
+        this.suffixLength = suffixLength;
+    }
+
+    /**
+     * 从指定位置开始的范围，例如 bytes=100-199、bytes=100-
+     *
+     * @param start 起始位置
+     * @param end   结束位置，为null时表示到文件末尾
+     * @return 字节范围
+     */
+    public static QofByteRange of(long start, Long end) {
+        if (start < 0 || (end != null && end < start)) {
+            throw new IllegalArgumentException("无效的字节范围: " + start + "-" + (end == null ? "" : end));
+        }
+        return new QofByteRange(start, end, 0);
+    }
+
+    /**
+     * 文件末尾指定长度的范围，例如 bytes=-500
+     *
+     * @param suffixLength 末尾的字节数
+     * @return 字节范围
+     */
+    public static QofByteRange suffix(long suffixLength) {
+        if (suffixLength < 0) {
+            throw new IllegalArgumentException("无效的字节范围: -" + suffixLength);
+        }
+        return new QofByteRange(null, null, suffixLength);
+    }
+
+    /**
+     * 范围在文件中是否存在至少一个字节
+     *
+     * @param fileSize 文件大小
+     * @return true: 存在；  false: 不存在；
+     */
+    public boolean isSatisfiable(long fileSize) {
+        if (start == null) {
+            return suffixLength > 0 && fileSize > 0;
+        }
+        return start < fileSize;
+    }
+
+    /**
+     * 获取实际的起始位置
+     *
+     * @param fileSize 文件大小
+     * @return 起始位置
+     */
+    public long getStart(long fileSize) {
+        if (start == null) {
+            return Math.max(fileSize - suffixLength, 0);
+        }
+        return start;
+    }
+
+    /**
+     * 获取实际的结束位置（包含）
+     *
+     * @param fileSize 文件大小
+     * @return 结束位置
+     */
+    public long getEnd(long fileSize) {
+        if (start == null || end == null) {
+            return fileSize - 1;
+        }
+        return Math.min(end, fileSize - 1);
+    }
+
+    @Override
+    public String toString() {
+        if (start == null) {
+            return "bytes=-" + suffixLength;
+        }
+        return "bytes=" + start + "-" + (end == null ? "" : end);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.codeyunze.dto;
+
+import org.hibernate.validator.constraints.Length;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 断点续传会话创建信息
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofChunkUploadInitDto extends QofFileUploadDto {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文件类型
+     * <p>
+     * 例如： image/png
+     */
+    @Length(max = 100, message = "文件类型超过最大长度限制")
+    @NotBlank(message = "文件类型不能为空")
+    private String fileType;
+
+    /**
+     * 文件大小(单位byte字节)
+     */
+    @NotNull(message = "文件大小不能为空")
+    @Min(value = 1, message = "文件大小无效或文件为空")
+    private Long fileSize;
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.codeyunze.dto;
+
+import org.hibernate.validator.constraints.Length;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+
+/**
+ * 秒传文件信息
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofInstantUploadDto extends QofFileUploadDto {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文件内容的 SHA-256 摘要（十六进制）
+     */
+    @NotBlank(message = "文件内容摘要不能为空")
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "文件内容摘要必须为SHA-256十六进制字符串")
+    private String contentHash;
+
+    /**
+     * 文件大小(单位byte字节)
+     */
+    @NotNull(message = "文件大小不能为空")
+    @Min(value = 1, message = "文件大小无效或文件为空")
+    private Long fileSize;
+
+    /**
+     * 文件类型，为空时使用已存在文件的类型
+     * <p>
+     * 例如： image/png
+     */
+    @Length(max = 100, message = "文件类型超过最大长度限制")
+    private String fileType;
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.codeyunze.dto;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 流式上传文件信息
+ * <br>
+ * 流式上传边接收边上传，无法提前获知文件大小，需要客户端声明
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofStreamUploadDto extends QofFileUploadDto {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文件大小(单位byte字节)，必须与实际上传的内容一致
+     */
+    @NotNull(message = "文件大小不能为空")
+    @Min(value = 1, message = "文件大小无效或文件为空")
+    private Long fileSize;
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+}
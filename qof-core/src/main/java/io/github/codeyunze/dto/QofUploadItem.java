@@ -0,0 +1,35 @@
+package io.github.codeyunze.dto;
+
+import java.io.InputStream;
+
+/**
+ * 批量上传的单个文件
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofUploadItem {
+
+    /**
+     * 上传文件的输入流，由调用方负责关闭
+     */
+    private final InputStream inputStream;
+
+    /**
+     * 上传文件的基础信息
+     */
+    private final QofFileInfoDto<?> fileInfo;
+
+    public QofUploadItem(InputStream inputStream, QofFileInfoDto<?> fileInfo) {
+        this.inputStream = inputStream;
+        this.fileInfo = fileInfo;
+    }
+
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    public QofFileInfoDto<?> getFileInfo() {
+        return fileInfo;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.codeyunze.entity;
+
+import cn.hutool.core.date.DatePattern;
+import com.baomidou.mybatisplus.extension.activerecord.Model;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 系统-文件断点续传分片表(SysFileChunkPart)表实体类
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class SysFileChunkPart extends Model<SysFileChunkPart> {
+
+    /**
+     * 主键标识
+     */
+    private Long id;
+
+    /**
+     * 创建时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    @DateTimeFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime createTime;
+
+    /**
+     * 断点续传会话 id
+     */
+    private Long uploadId;
+
+    /**
+     * 分片序号，从1开始
+     */
+    private Integer partNumber;
+
+    /**
+     * 分片大小(单位byte字节)
+     */
+    private Long partSize;
+
+    /**
+     * 对象存储返回的分片 ETag，本地存储为空
+     */
+    private String etag;
+
+    /**
+     * 获取主键值
+     *
+     * @return 主键值
+     */
+    @Override
+    public Serializable pkVal() {
+        return this.id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public Long getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(Long uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Integer getPartNumber() {
+        return partNumber;
+    }
+
+    public void setPartNumber(Integer partNumber) {
+        this.partNumber = partNumber;
+    }
+
+    public Long getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(Long partSize) {
+        this.partSize = partSize;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+}
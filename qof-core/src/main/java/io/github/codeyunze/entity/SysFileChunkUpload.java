@@ -0,0 +1,270 @@
+package io.github.codeyunze.entity;
+
+import cn.hutool.core.date.DatePattern;
+import com.baomidou.mybatisplus.extension.activerecord.Model;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 系统-文件断点续传会话表(SysFileChunkUpload)表实体类
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class SysFileChunkUpload extends Model<SysFileChunkUpload> {
+
+    /**
+     * 主键标识，即断点续传会话 id
+     */
+    private Long id;
+
+    /**
+     * 创建时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    @DateTimeFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    @DateTimeFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime updateTime;
+
+    /**
+     * 合并完成后的文件唯一 id
+     */
+    private Long fileId;
+
+    /**
+     * 文件名称
+     */
+    private String fileName;
+
+    /**
+     * 文件类型(image/png、image/jpeg)
+     */
+    private String fileType;
+
+    /**
+     * 文件标签
+     */
+    private String fileLabel;
+
+    /**
+     * 文件大小(单位byte字节)
+     */
+    private Long fileSize;
+
+    /**
+     * 文件路径
+     */
+    private String filePath;
+
+    /**
+     * 文件存储模式(local、cos、oss)
+     */
+    private String fileStorageMode;
+
+    /**
+     * 文件存储站
+     */
+    private String fileStorageStation;
+
+    /**
+     * 是否公开访问：1-公开，0-不公开
+     */
+    private Integer publicAccess;
+
+    /**
+     * 创建者ID
+     */
+    private Long createId;
+
+    /**
+     * 分片大小(单位byte字节)，最后一个分片可以小于该值
+     */
+    private Long partSize;
+
+    /**
+     * 分片数量
+     */
+    private Integer partCount;
+
+    /**
+     * 对象存储的分片上传 uploadId（COS、OSS），本地存储为空
+     */
+    private String storageUploadId;
+
+    /**
+     * 会话状态：0上传中，1已完成，2已取消，3合并中
+     * <br>
+     * 对应{@link io.github.codeyunze.QofConstant.ChunkUploadStatus}
+     */
+    private Integer status;
+
+    /**
+     * 会话过期时间，过期后仍未合并的会话会被清理
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    @DateTimeFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime expireTime;
+
+    /**
+     * 获取主键值
+     *
+     * @return 主键值
+     */
+    @Override
+    public Serializable pkVal() {
+        return this.id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    public Long getFileId() {
+        return fileId;
+    }
+
+    public void setFileId(Long fileId) {
+        this.fileId = fileId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileType() {
+        return fileType;
+    }
+
+    public void setFileType(String fileType) {
+        this.fileType = fileType;
+    }
+
+    public String getFileLabel() {
+        return fileLabel;
+    }
+
+    public void setFileLabel(String fileLabel) {
+        this.fileLabel = fileLabel;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFileStorageMode() {
+        return fileStorageMode;
+    }
+
+    public void setFileStorageMode(String fileStorageMode) {
+        this.fileStorageMode = fileStorageMode;
+    }
+
+    public String getFileStorageStation() {
+        return fileStorageStation;
+    }
+
+    public void setFileStorageStation(String fileStorageStation) {
+        this.fileStorageStation = fileStorageStation;
+    }
+
+    public Integer getPublicAccess() {
+        return publicAccess;
+    }
+
+    public void setPublicAccess(Integer publicAccess) {
+        this.publicAccess = publicAccess;
+    }
+
+    public Long getCreateId() {
+        return createId;
+    }
+
+    public void setCreateId(Long createId) {
+        this.createId = createId;
+    }
+
+    public Long getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(Long partSize) {
+        this.partSize = partSize;
+    }
+
+    public Integer getPartCount() {
+        return partCount;
+    }
+
+    public void setPartCount(Integer partCount) {
+        this.partCount = partCount;
+    }
+
+    public String getStorageUploadId() {
+        return storageUploadId;
+    }
+
+    public void setStorageUploadId(String storageUploadId) {
+        this.storageUploadId = storageUploadId;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpireTime() {
+        return expireTime;
+    }
+
+    public void setExpireTime(LocalDateTime expireTime) {
+        this.expireTime = expireTime;
+    }
+}
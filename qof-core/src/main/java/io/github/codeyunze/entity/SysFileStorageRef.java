@@ -0,0 +1,125 @@
+package io.github.codeyunze.entity;
+
+import cn.hutool.core.date.DatePattern;
+import com.baomidou.mybatisplus.extension.activerecord.Model;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 系统-存储对象引用表(SysFileStorageRef)表实体类
+ * <br>
+ * 启用去重时记录每个存储对象被多少个文件引用，引用与删除通过条件更新引用数互斥
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class SysFileStorageRef extends Model<SysFileStorageRef> {
+
+    /**
+     * 主键标识
+     */
+    private Long id;
+
+    /**
+     * 创建时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    @DateTimeFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @JsonFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    @DateTimeFormat(pattern = DatePattern.NORM_DATETIME_PATTERN)
+    private LocalDateTime updateTime;
+
+    /**
+     * 文件存储模式(local、cos、oss)
+     */
+    private String fileStorageMode;
+
+    /**
+     * 文件存储站，未指定存储站时为空字符串
+     */
+    private String fileStorageStation;
+
+    /**
+     * 文件路径
+     */
+    private String filePath;
+
+    /**
+     * 引用数，为0时存储对象正在删除，不能再被引用
+     */
+    private Integer refCount;
+
+    /**
+     * 获取主键值
+     *
+     * @return 主键值
+     */
+    @Override
+    public Serializable pkVal() {
+        return this.id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    public String getFileStorageMode() {
+        return fileStorageMode;
+    }
+
+    public void setFileStorageMode(String fileStorageMode) {
+        this.fileStorageMode = fileStorageMode;
+    }
+
+    public String getFileStorageStation() {
+        return fileStorageStation;
+    }
+
+    public void setFileStorageStation(String fileStorageStation) {
+        this.fileStorageStation = fileStorageStation;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.codeyunze.enums;
+
+/**
+ * 本地存储的文件目录布局
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public enum QofFileLayoutEnum {
+
+    /**
+     * 文件直接存放在文件目录下：文件目录/文件id.后缀
+     */
+    DIRECTORY,
+    /**
+     * 文件按文件id的哈希值分散到文件目录下的多级子目录：文件目录/3f/a2/文件id.后缀
+     */
+    HASHED
+}
@@ -0,0 +1,23 @@
+package io.github.codeyunze.enums;
+
+/**
+ * 本地存储写入文件后的刷盘策略
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public enum QofFsyncPolicyEnum {
+
+    /**
+     * 不主动刷盘，由操作系统决定何时写入磁盘
+     */
+    NONE,
+    /**
+     * 每个文件写入完成后立即刷盘，上传返回时文件已持久化
+     */
+    PER_FILE,
+    /**
+     * 后台定期对这段时间内写入的文件统一刷盘，系统崩溃或断电时可能丢失最近一个周期内写入的文件
+     */
+    BATCHED
+}
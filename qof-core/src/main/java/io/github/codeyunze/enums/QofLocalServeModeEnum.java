@@ -0,0 +1,29 @@
+package io.github.codeyunze.enums;
+
+/**
+ * 本地存储的文件下载、预览时文件内容的发送方式
+ * <br>
+ * 除 stream 外，文件内容都在请求处理结束后由容器或前置服务器发送，发送过程不受传输准入控制限制
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public enum QofLocalServeModeEnum {
+
+    /**
+     * 应用读取文件内容后写入响应
+     */
+    STREAM,
+    /**
+     * 交给Servlet容器直接发送文件（Tomcat sendfile），容器不支持时按 stream 处理
+     */
+    SENDFILE,
+    /**
+     * 只返回 X-Accel-Redirect 响应头，由前置的 Nginx 发送文件
+     */
+    X_ACCEL_REDIRECT,
+    /**
+     * 只返回 X-Sendfile 响应头，由前置的 Apache（mod_xsendfile）、Lighttpd 等发送文件
+     */
+    X_SENDFILE
+}
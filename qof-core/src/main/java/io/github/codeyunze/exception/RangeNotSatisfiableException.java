@@ -0,0 +1,24 @@
+package io.github.codeyunze.exception;
+
+/**
+ * 请求的字节范围超出文件内容异常
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class RangeNotSatisfiableException extends RuntimeException {
+
+    /**
+     * 文件大小（字节）
+     */
+    private final long fileSize;
+
+    public RangeNotSatisfiableException(String message, long fileSize) {
+        super(message);
+        this.fileSize = fileSize;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+}
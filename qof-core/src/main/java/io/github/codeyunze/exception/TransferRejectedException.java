@@ -0,0 +1,28 @@
+package io.github.codeyunze.exception;
+
+import java.time.Duration;
+
+/**
+ * 文件传输被拒绝异常
+ * <br>
+ * 同时进行的文件传输数量或在途字节数已达上限，且在允许的等待时间内没有空闲额度
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class TransferRejectedException extends RuntimeException {
+
+    /**
+     * 建议客户端重试的间隔
+     */
+    private final Duration retryAfter;
+
+    public TransferRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
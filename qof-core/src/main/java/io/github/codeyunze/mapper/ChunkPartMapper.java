@@ -0,0 +1,29 @@
+package io.github.codeyunze.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.entity.SysFileChunkPart;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 系统-文件断点续传分片表(SysFileChunkPart)表数据库访问层
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@Mapper
+public interface ChunkPartMapper extends BaseMapper<SysFileChunkPart> {
+
+    /**
+     * 根据断点续传会话 id 获取已上传的分片
+     *
+     * @param uploadId 断点续传会话 id
+     * @return 已上传的分片，按分片序号升序
+     */
+    @Select("select part_number, part_size, etag from sys_file_chunk_part where upload_id = #{uploadId} order by part_number")
+    List<QofChunkPartBo> selectByUploadId(@Param("uploadId") Long uploadId);
+}
@@ -22,7 +22,21 @@ public interface FilesMapper extends BaseMapper<SysFiles> {
      * @param fileId 文件Id
      * @return 文件基础信息
      */
-    @Select("select id as file_id, create_time, file_name, file_path, file_type, file_label, file_size, file_storage_station, public_access, create_id from sys_files where invalid = 0 and id = #{fileId}")
+    @Select("select id as file_id, create_time, file_name, file_path, file_type, file_label, file_size, content_hash, content_encoding, file_storage_mode, file_storage_station, public_access, create_id from sys_files where invalid = 0 and id = #{fileId}")
     QofFileInfoBo<?> selectByFileId(@Param("fileId") Long fileId);
+
+    /**
+     * 根据文件内容摘要获取同一存储站中已存在的文件信息
+     *
+     * @param fileStorageMode    文件存储模式
+     * @param fileStorageStation 文件存储站
+     * @param contentHash        文件内容摘要
+     * @return 文件基础信息
+     */
+    @Select("select id as file_id, create_time, file_name, file_path, file_type, file_label, file_size, content_hash, content_encoding, file_storage_mode, file_storage_station, public_access, create_id from sys_files "
+            + "where invalid = 0 and file_storage_mode = #{fileStorageMode} and file_storage_station = #{fileStorageStation} and content_hash = #{contentHash} limit 1")
+    QofFileInfoBo<?> selectByContentHash(@Param("fileStorageMode") String fileStorageMode,
+                                         @Param("fileStorageStation") String fileStorageStation,
+                                         @Param("contentHash") String contentHash);
 }
 
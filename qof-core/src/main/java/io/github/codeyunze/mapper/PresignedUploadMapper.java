@@ -0,0 +1,16 @@
+package io.github.codeyunze.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import io.github.codeyunze.entity.SysFilePresignedUpload;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 系统-文件直传会话表(SysFilePresignedUpload)表数据库访问层
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@Mapper
+public interface PresignedUploadMapper extends BaseMapper<SysFilePresignedUpload> {
+
+}
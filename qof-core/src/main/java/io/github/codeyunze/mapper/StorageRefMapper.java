@@ -0,0 +1,16 @@
+package io.github.codeyunze.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import io.github.codeyunze.entity.SysFileStorageRef;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 系统-存储对象引用表(SysFileStorageRef)表数据库访问层
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@Mapper
+public interface StorageRefMapper extends BaseMapper<SysFileStorageRef> {
+
+}
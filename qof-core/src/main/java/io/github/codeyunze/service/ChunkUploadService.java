@@ -0,0 +1,62 @@
+package io.github.codeyunze.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.bo.QofChunkUploadBo;
+import io.github.codeyunze.entity.SysFileChunkUpload;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 系统-文件断点续传会话表(SysFileChunkUpload)表服务接口
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public interface ChunkUploadService extends IService<SysFileChunkUpload> {
+
+    /**
+     * 新增断点续传会话
+     *
+     * @param uploadBo 会话信息，未指定会话 id 时自动生成并回填
+     * @return 会话 id
+     */
+    Long save(QofChunkUploadBo uploadBo);
+
+    /**
+     * 根据会话 id 获取断点续传会话，包含已上传的分片
+     *
+     * @param uploadId 会话 id
+     * @return 会话信息，不存在时返回null
+     */
+    QofChunkUploadBo getByUploadId(Long uploadId);
+
+    /**
+     * 记录已上传的分片，同一分片重复上传时覆盖之前的记录
+     *
+     * @param uploadId 会话 id
+     * @param partBo   分片信息
+     */
+    void savePart(Long uploadId, QofChunkPartBo partBo);
+
+    /**
+     * 更新会话状态，仅当会话处于期望状态时才更新，避免重复合并或合并已取消的会话
+     *
+     * @param uploadId     会话 id
+     * @param expectStatus 期望的当前状态
+     * @param status       新状态
+     * @return true: 更新成功；  false: 会话不处于期望状态；
+     */
+    boolean updateStatus(Long uploadId, Integer expectStatus, Integer status);
+
+    /**
+     * 查询已过期、仍处于上传中状态的断点续传会话，按过期时间升序，不包含已上传的分片
+     *
+     * @param fileStorageMode 文件存储模式
+     * @param expireBefore    过期时间早于该时间的会话
+     * @param limit           最多返回的会话数量
+     * @return 过期的会话
+     */
+    List<QofChunkUploadBo> listExpired(String fileStorageMode, LocalDateTime expireBefore, int limit);
+}
@@ -26,6 +26,14 @@ public interface FilesService extends IService<SysFiles> {
      */
     QofFileInfoBo<?> save(QofFileInfoDto<?> fileDto);
 
+    /**
+     * 批量新增数据，所有数据在同一事务中写入
+     *
+     * @param fileDtos 新增基础数据
+     * @return 文件基础信息
+     */
+    List<QofFileInfoBo<?>> saveAll(List<QofFileInfoDto<?>> fileDtos);
+
     /**
      * 根据文件 Id 获取文件信息
      *
@@ -34,6 +42,26 @@ public interface FilesService extends IService<SysFiles> {
      */
     QofFileInfoBo<?> getByFileId(Long fileId);
 
+    /**
+     * 根据文件内容摘要获取同一存储站中已存在的文件信息
+     *
+     * @param fileStorageMode    文件存储模式
+     * @param fileStorageStation 文件存储站
+     * @param contentHash        文件内容摘要
+     * @return 文件基础信息，不存在时返回null
+     */
+    QofFileInfoBo<?> getByContentHash(String fileStorageMode, String fileStorageStation, String contentHash);
+
+    /**
+     * 统计引用同一存储对象的有效文件数量
+     *
+     * @param fileStorageMode    文件存储模式
+     * @param fileStorageStation 文件存储站
+     * @param filePath           文件路径
+     * @return 有效文件数量
+     */
+    long countByFilePath(String fileStorageMode, String fileStorageStation, String filePath);
+
     /**
      * 根据文件 Id 删除文件信息
      *
@@ -61,9 +89,10 @@ public interface FilesService extends IService<SysFiles> {
      *
      * @param fileId   文件 ID
      * @param createId 创建者ID（可选，当文件不公开时必须提供）
+     * @return 文件基础信息
      * @throws io.github.codeyunze.exception.FileAccessDeniedException 如果访问被拒绝
      */
-    void checkFileAccessPermission(Long fileId, Long createId);
+    QofFileInfoBo<?> checkFileAccessPermission(Long fileId, Long createId);
 
     /**
      * 获取文件预览地址
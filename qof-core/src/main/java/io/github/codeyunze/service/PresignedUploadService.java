@@ -0,0 +1,53 @@
+package io.github.codeyunze.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import io.github.codeyunze.bo.QofPresignedUploadBo;
+import io.github.codeyunze.entity.SysFilePresignedUpload;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 系统-文件直传会话表(SysFilePresignedUpload)表服务接口
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public interface PresignedUploadService extends IService<SysFilePresignedUpload> {
+
+    /**
+     * 新增直传会话
+     *
+     * @param uploadBo 会话信息，未指定会话 id 时自动生成并回填
+     * @return 会话 id
+     */
+    Long save(QofPresignedUploadBo uploadBo);
+
+    /**
+     * 根据会话 id 获取直传会话
+     *
+     * @param uploadId 会话 id
+     * @return 会话信息，不存在时返回null
+     */
+    QofPresignedUploadBo getByUploadId(Long uploadId);
+
+    /**
+     * 更新会话状态，仅当会话处于期望状态时才更新，避免重复确认
+     *
+     * @param uploadId     会话 id
+     * @param expectStatus 期望的当前状态
+     * @param status       新状态
+     * @return true: 更新成功；  false: 会话不处于期望状态；
+     */
+    boolean updateStatus(Long uploadId, Integer expectStatus, Integer status);
+
+    /**
+     * 查询上传地址已过期、仍处于等待上传状态的直传会话，按过期时间升序
+     *
+     * @param fileStorageMode 文件存储模式
+     * @param expireBefore    过期时间早于该时间的会话
+     * @param limit           最多返回的会话数量
+     * @return 过期的会话
+     */
+    List<QofPresignedUploadBo> listExpired(String fileStorageMode, LocalDateTime expireBefore, int limit);
+}
@@ -1,8 +1,12 @@
 package io.github.codeyunze.service;
 
 import io.github.codeyunze.bo.QofFileInfoBo;
+import io.github.codeyunze.core.QofFileOperationBase;
 import io.github.codeyunze.dto.QofFileInfoDto;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * QOF文件信息操作扩展接口
  *
@@ -35,6 +39,22 @@ public interface QofExtService {
      */
     QofFileInfoBo<?> afterUpload(QofFileInfoDto<?> fileDto);
 
+    /**
+     * 批量上传的文件全部写入存储后执行
+     * <br>
+     * 默认逐个执行 {@link #afterUpload(QofFileInfoDto)}，实现类可以合并为一次批量写入
+     *
+     * @param fileDtos 文件基础数据
+     * @return 文件信息
+     */
+    default List<QofFileInfoBo<?>> afterUploadBatch(List<QofFileInfoDto<?>> fileDtos) {
+        List<QofFileInfoBo<?>> fileBos = new ArrayList<>(fileDtos.size());
+        for (QofFileInfoDto<?> fileDto : fileDtos) {
+            fileBos.add(afterUpload(fileDto));
+        }
+        return fileBos;
+    }
+
     /**
      * 下载前执行操作
      *
@@ -65,4 +85,67 @@ public interface QofExtService {
      * @return true: 文件删除后执行操作成功；   false: 文件删除后执行操作失败；
      */
     boolean afterDelete(QofFileInfoBo<?> fileBo, boolean deleted);
+
+    /**
+     * 根据文件内容摘要查询同一存储站中已存在的文件，用于去重和秒传
+     * <br>
+     * 默认不支持去重，返回null
+     *
+     * @param fileStorageMode    文件存储模式
+     * @param fileStorageStation 文件存储站
+     * @param contentHash        文件内容摘要（SHA-256，十六进制小写）
+     * @return 已存在的文件信息，不存在时返回null
+     */
+    default QofFileInfoBo<?> getFileInfoByContentHash(String fileStorageMode, String fileStorageStation, String contentHash) {
+        return null;
+    }
+
+    /**
+     * 登记新写入的存储对象，引用数为1
+     * <br>
+     * 启用去重时，本次写入的存储对象没有引用已有存储对象，在保存文件信息之前调用。默认不登记
+     *
+     * @param storageObject 存储对象（存储模式、存储站、文件路径）
+     */
+    default void registerStorageObject(QofFileOperationBase storageObject) {
+    }
+
+    /**
+     * 引用已有的存储对象，仅当存储对象仍被引用（引用数大于0）时引用数加1
+     * <br>
+     * 多个应用实例之间与 {@link #releaseStorageObject(QofFileOperationBase)} 互斥，需要在数据库中以单条条件更新实现，
+     * 例如 update ... set ref_count = ref_count + 1 where ... and ref_count > 0。默认不支持，返回false，此时不引用已有存储对象
+     *
+     * @param storageObject 已有的存储对象（存储模式、存储站、文件路径）
+     * @return true: 引用成功；   false: 存储对象未登记或正在删除；
+     */
+    default boolean acquireStorageObject(QofFileOperationBase storageObject) {
+        return false;
+    }
+
+    /**
+     * 释放存储对象的引用，引用数减1
+     * <br>
+     * 在 {@link #beforeDelete(QofFileInfoBo)} 之后调用，返回0时删除存储对象。默认存储对象未登记，返回-1
+     *
+     * @param storageObject 存储对象（存储模式、存储站、文件路径）
+     * @return 0: 已没有引用；   正数: 仍有其他引用；   -1: 存储对象未登记，由 {@link #isStorageObjectShared(QofFileInfoBo)} 判断；
+     */
+    default int releaseStorageObject(QofFileOperationBase storageObject) {
+        return -1;
+    }
+
+    /**
+     * 存储对象是否仍被其他文件引用
+     * <br>
+     * 去重后多个文件共用同一存储对象，仍被引用时删除文件只删除文件信息，不删除存储对象。
+     * 只用于未登记引用数的存储对象（例如升级前写入的存储对象），这类存储对象不会再被新文件引用。
+     * 在 {@link #beforeDelete(QofFileInfoBo)} 之后调用，默认不共用存储对象，返回false
+     *
+     * @param fileBo 删除文件信息
+     * @return true: 仍被其他文件引用；   false: 没有其他文件引用；
+     */
+    default boolean isStorageObjectShared(QofFileInfoBo<?> fileBo) {
+        return false;
+    }
 }
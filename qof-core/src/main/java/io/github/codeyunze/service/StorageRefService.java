@@ -0,0 +1,44 @@
+package io.github.codeyunze.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import io.github.codeyunze.entity.SysFileStorageRef;
+
+/**
+ * 系统-存储对象引用表(SysFileStorageRef)表服务接口
+ * <br>
+ * 引用数只通过单条条件更新语句修改，多个应用实例同时引用、删除同一存储对象时由数据库行锁串行化
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public interface StorageRefService extends IService<SysFileStorageRef> {
+
+    /**
+     * 登记新写入的存储对象，引用数为1
+     *
+     * @param fileStorageMode    文件存储模式
+     * @param fileStorageStation 文件存储站
+     * @param filePath           文件路径
+     */
+    void register(String fileStorageMode, String fileStorageStation, String filePath);
+
+    /**
+     * 引用已有的存储对象，仅当引用数大于0时引用数加1
+     *
+     * @param fileStorageMode    文件存储模式
+     * @param fileStorageStation 文件存储站
+     * @param filePath           文件路径
+     * @return true: 引用成功；  false: 存储对象未登记或正在删除；
+     */
+    boolean acquire(String fileStorageMode, String fileStorageStation, String filePath);
+
+    /**
+     * 释放存储对象的引用，引用数减1，减为0时删除引用记录
+     *
+     * @param fileStorageMode    文件存储模式
+     * @param fileStorageStation 文件存储站
+     * @param filePath           文件路径
+     * @return 0: 已没有引用，由调用方删除存储对象；  正数: 仍有其他引用；  -1: 存储对象未登记；
+     */
+    int release(String fileStorageMode, String fileStorageStation, String filePath);
+}
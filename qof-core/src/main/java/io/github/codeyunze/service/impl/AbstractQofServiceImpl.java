@@ -2,15 +2,19 @@ package io.github.codeyunze.service.impl;
 
 import io.github.codeyunze.QofProperties;
 import io.github.codeyunze.bo.QofFileInfoBo;
+import io.github.codeyunze.core.QofFileOperationBase;
 import io.github.codeyunze.dto.QofFileInfoDto;
 import io.github.codeyunze.exception.DataNotExistException;
 import io.github.codeyunze.service.FilesService;
 import io.github.codeyunze.service.QofExtService;
+import io.github.codeyunze.service.StorageRefService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 
 import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * QOF文件信息操作扩展接口默认实现（抽象类，供子类继承）
@@ -31,6 +35,9 @@ public abstract class AbstractQofServiceImpl implements QofExtService {
     @Resource
     private QofProperties qofProperties;
 
+    @Resource
+    private StorageRefService storageRefService;
+
     @Override
     public QofFileInfoBo<?> getFileInfoByFileId(Long fileId) {
         QofFileInfoBo<?> fileBo = filesService.getByFileId(fileId);
@@ -57,6 +64,21 @@ public abstract class AbstractQofServiceImpl implements QofExtService {
         return fileBo;
     }
 
+    @Override
+    public List<QofFileInfoBo<?>> afterUploadBatch(List<QofFileInfoDto<?>> fileDtos) {
+        log.debug("扩展-文件批量上传后执行");
+        if (qofProperties.isPersistentEnable()) {
+            return filesService.saveAll(fileDtos);
+        }
+        List<QofFileInfoBo<?>> fileBos = new ArrayList<>(fileDtos.size());
+        for (QofFileInfoDto<?> fileDto : fileDtos) {
+            QofFileInfoBo<?> fileBo = new QofFileInfoBo<>();
+            BeanUtils.copyProperties(fileDto, fileBo);
+            fileBos.add(fileBo);
+        }
+        return fileBos;
+    }
+
     @Override
     public void beforeDownload(QofFileInfoBo<?> fileBo) {
         log.debug("扩展-文件下载前执行");
@@ -78,4 +100,48 @@ public abstract class AbstractQofServiceImpl implements QofExtService {
         log.debug("扩展-文件删除后执行");
         return true;
     }
+
+    @Override
+    public QofFileInfoBo<?> getFileInfoByContentHash(String fileStorageMode, String fileStorageStation, String contentHash) {
+        if (!qofProperties.isPersistentEnable()) {
+            return null;
+        }
+        return filesService.getByContentHash(fileStorageMode, fileStorageStation, contentHash);
+    }
+
+    @Override
+    public void registerStorageObject(QofFileOperationBase storageObject) {
+        if (!qofProperties.isPersistentEnable()) {
+            return;
+        }
+        storageRefService.register(storageObject.getFileStorageMode(), storageObject.getFileStorageStation(),
+                storageObject.getFilePath());
+    }
+
+    @Override
+    public boolean acquireStorageObject(QofFileOperationBase storageObject) {
+        if (!qofProperties.isPersistentEnable()) {
+            return false;
+        }
+        return storageRefService.acquire(storageObject.getFileStorageMode(), storageObject.getFileStorageStation(),
+                storageObject.getFilePath());
+    }
+
+    @Override
+    public int releaseStorageObject(QofFileOperationBase storageObject) {
+        if (!qofProperties.isPersistentEnable()) {
+            return -1;
+        }
+        return storageRefService.release(storageObject.getFileStorageMode(), storageObject.getFileStorageStation(),
+                storageObject.getFilePath());
+    }
+
+    @Override
+    public boolean isStorageObjectShared(QofFileInfoBo<?> fileBo) {
+        if (!qofProperties.isPersistentEnable() || fileBo.getContentHash() == null) {
+            return false;
+        }
+        // 当前文件信息已在删除前操作中删除，剩余的有效文件即为其他引用
+        return filesService.countByFilePath(fileBo.getFileStorageMode(), fileBo.getFileStorageStation(), fileBo.getFilePath()) > 0;
+    }
 }
@@ -0,0 +1,100 @@
+package io.github.codeyunze.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import io.github.codeyunze.QofConstant;
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.bo.QofChunkUploadBo;
+import io.github.codeyunze.entity.SysFileChunkPart;
+import io.github.codeyunze.entity.SysFileChunkUpload;
+import io.github.codeyunze.mapper.ChunkPartMapper;
+import io.github.codeyunze.mapper.ChunkUploadMapper;
+import io.github.codeyunze.service.ChunkUploadService;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 系统-文件断点续传会话表(SysFileChunkUpload)表服务实现类
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@Service
+public class ChunkUploadServiceImpl extends ServiceImpl<ChunkUploadMapper, SysFileChunkUpload> implements ChunkUploadService {
+
+    @Resource
+    private ChunkPartMapper chunkPartMapper;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long save(QofChunkUploadBo uploadBo) {
+        SysFileChunkUpload uploadDo = new SysFileChunkUpload();
+        BeanUtils.copyProperties(uploadBo, uploadDo);
+        uploadDo.setId(uploadBo.getUploadId() == null ? IdUtil.getSnowflakeNextId() : uploadBo.getUploadId());
+        baseMapper.insert(uploadDo);
+        uploadBo.setUploadId(uploadDo.getId());
+        return uploadDo.getId();
+    }
+
+    @Override
+    public QofChunkUploadBo getByUploadId(Long uploadId) {
+        SysFileChunkUpload uploadDo = baseMapper.selectById(uploadId);
+        if (uploadDo == null) {
+            return null;
+        }
+        QofChunkUploadBo uploadBo = new QofChunkUploadBo();
+        BeanUtils.copyProperties(uploadDo, uploadBo);
+        uploadBo.setUploadId(uploadDo.getId());
+        uploadBo.setUploadedParts(chunkPartMapper.selectByUploadId(uploadId));
+        return uploadBo;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void savePart(Long uploadId, QofChunkPartBo partBo) {
+        chunkPartMapper.delete(new LambdaQueryWrapper<SysFileChunkPart>()
+                .eq(SysFileChunkPart::getUploadId, uploadId)
+                .eq(SysFileChunkPart::getPartNumber, partBo.getPartNumber()));
+        SysFileChunkPart partDo = new SysFileChunkPart();
+        BeanUtils.copyProperties(partBo, partDo);
+        partDo.setId(IdUtil.getSnowflakeNextId());
+        partDo.setUploadId(uploadId);
+        chunkPartMapper.insert(partDo);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateStatus(Long uploadId, Integer expectStatus, Integer status) {
+        return baseMapper.update(null, new LambdaUpdateWrapper<SysFileChunkUpload>()
+                .set(SysFileChunkUpload::getStatus, status)
+                .set(SysFileChunkUpload::getUpdateTime, LocalDateTime.now())
+                .eq(SysFileChunkUpload::getId, uploadId)
+                .eq(SysFileChunkUpload::getStatus, expectStatus)) > 0;
+    }
+
+    @Override
+    public List<QofChunkUploadBo> listExpired(String fileStorageMode, LocalDateTime expireBefore, int limit) {
+        List<SysFileChunkUpload> uploadDos = baseMapper.selectList(new LambdaQueryWrapper<SysFileChunkUpload>()
+                .eq(SysFileChunkUpload::getFileStorageMode, fileStorageMode)
+                .eq(SysFileChunkUpload::getStatus, QofConstant.ChunkUploadStatus.UPLOADING)
+                .lt(SysFileChunkUpload::getExpireTime, expireBefore)
+                .orderByAsc(SysFileChunkUpload::getExpireTime)
+                .last("limit " + limit));
+        List<QofChunkUploadBo> uploadBos = new ArrayList<>(uploadDos.size());
+        for (SysFileChunkUpload uploadDo : uploadDos) {
+            QofChunkUploadBo uploadBo = new QofChunkUploadBo();
+            BeanUtils.copyProperties(uploadDo, uploadBo);
+            uploadBo.setUploadId(uploadDo.getId());
+            uploadBos.add(uploadBo);
+        }
+        return uploadBos;
+    }
+}
@@ -56,11 +56,46 @@ public class FilesServiceImpl extends ServiceImpl<FilesMapper, SysFiles> impleme
         return fileBo;
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<QofFileInfoBo<?>> saveAll(List<QofFileInfoDto<?>> fileDtos) {
+        List<SysFiles> fileDos = new ArrayList<>(fileDtos.size());
+        for (QofFileInfoDto<?> fileDto : fileDtos) {
+            SysFiles fileDo = new SysFiles();
+            BeanUtils.copyProperties(fileDto, fileDo);
+            fileDo.setId(fileDto.getFileId() == null ? IdUtil.getSnowflakeNextId() : fileDto.getFileId());
+            fileDos.add(fileDo);
+        }
+        saveBatch(fileDos);
+        List<QofFileInfoBo<?>> fileBos = new ArrayList<>(fileDos.size());
+        for (SysFiles fileDo : fileDos) {
+            QofFileInfoBo<?> fileBo = new QofFileInfoBo<>();
+            BeanUtils.copyProperties(fileDo, fileBo);
+            fileBos.add(fileBo);
+        }
+        return fileBos;
+    }
+
     @Override
     public QofFileInfoBo<?> getByFileId(Long fileId) {
         return baseMapper.selectByFileId(fileId);
     }
 
+    @Override
+    public QofFileInfoBo<?> getByContentHash(String fileStorageMode, String fileStorageStation, String contentHash) {
+        return baseMapper.selectByContentHash(fileStorageMode, fileStorageStation, contentHash);
+    }
+
+    @Override
+    public long countByFilePath(String fileStorageMode, String fileStorageStation, String filePath) {
+        return baseMapper.selectCount(new LambdaQueryWrapper<SysFiles>()
+                .eq(SysFiles::getInvalid, 0L)
+                .eq(SysFiles::getFileStorageMode, fileStorageMode)
+                .eq(fileStorageStation != null, SysFiles::getFileStorageStation, fileStorageStation)
+                .isNull(fileStorageStation == null, SysFiles::getFileStorageStation)
+                .eq(SysFiles::getFilePath, filePath));
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean deleteByFileId(Long fileId) {
@@ -119,12 +154,12 @@ public class FilesServiceImpl extends ServiceImpl<FilesMapper, SysFiles> impleme
     }
 
     @Override
-    public void checkFileAccessPermission(Long fileId, Long createId) {
+    public QofFileInfoBo<?> checkFileAccessPermission(Long fileId, Long createId) {
         QofFileInfoBo<?> fileBo = getByFileId(fileId);
 
         // 如果文件是公开的（publicAccess == 1），允许访问
         if (fileBo.getPublicAccess() != null && fileBo.getPublicAccess() == 1) {
-            return;
+            return fileBo;
         }
 
         // 如果文件不公开（publicAccess == 0 或 null），需要校验 createId
@@ -136,6 +171,7 @@ public class FilesServiceImpl extends ServiceImpl<FilesMapper, SysFiles> impleme
         if (fileBo.getCreateId() == null || !fileBo.getCreateId().equals(createId)) {
             throw new FileAccessDeniedException("文件访问被拒绝：创建者ID不匹配");
         }
+        return fileBo;
     }
 
     @Override
@@ -0,0 +1,80 @@
+package io.github.codeyunze.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import io.github.codeyunze.QofConstant;
+import io.github.codeyunze.bo.QofPresignedUploadBo;
+import io.github.codeyunze.entity.SysFilePresignedUpload;
+import io.github.codeyunze.mapper.PresignedUploadMapper;
+import io.github.codeyunze.service.PresignedUploadService;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 系统-文件直传会话表(SysFilePresignedUpload)表服务实现类
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@Service
+public class PresignedUploadServiceImpl extends ServiceImpl<PresignedUploadMapper, SysFilePresignedUpload> implements PresignedUploadService {
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long save(QofPresignedUploadBo uploadBo) {
+        SysFilePresignedUpload uploadDo = new SysFilePresignedUpload();
+        BeanUtils.copyProperties(uploadBo, uploadDo);
+        uploadDo.setId(uploadBo.getUploadId() == null ? IdUtil.getSnowflakeNextId() : uploadBo.getUploadId());
+        baseMapper.insert(uploadDo);
+        uploadBo.setUploadId(uploadDo.getId());
+        return uploadDo.getId();
+    }
+
+    @Override
+    public QofPresignedUploadBo getByUploadId(Long uploadId) {
+        SysFilePresignedUpload uploadDo = baseMapper.selectById(uploadId);
+        if (uploadDo == null) {
+            return null;
+        }
+        return toUploadBo(uploadDo);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateStatus(Long uploadId, Integer expectStatus, Integer status) {
+        return baseMapper.update(null, new LambdaUpdateWrapper<SysFilePresignedUpload>()
+                .set(SysFilePresignedUpload::getStatus, status)
+                .set(SysFilePresignedUpload::getUpdateTime, LocalDateTime.now())
+                .eq(SysFilePresignedUpload::getId, uploadId)
+                .eq(SysFilePresignedUpload::getStatus, expectStatus)) > 0;
+    }
+
+    @Override
+    public List<QofPresignedUploadBo> listExpired(String fileStorageMode, LocalDateTime expireBefore, int limit) {
+        List<SysFilePresignedUpload> uploadDos = baseMapper.selectList(new LambdaQueryWrapper<SysFilePresignedUpload>()
+                .eq(SysFilePresignedUpload::getFileStorageMode, fileStorageMode)
+                .eq(SysFilePresignedUpload::getStatus, QofConstant.PresignedUploadStatus.UPLOADING)
+                .lt(SysFilePresignedUpload::getExpireTime, expireBefore)
+                .orderByAsc(SysFilePresignedUpload::getExpireTime)
+                .last("limit " + limit));
+        List<QofPresignedUploadBo> uploadBos = new ArrayList<>(uploadDos.size());
+        for (SysFilePresignedUpload uploadDo : uploadDos) {
+            uploadBos.add(toUploadBo(uploadDo));
+        }
+        return uploadBos;
+    }
+
+    private static QofPresignedUploadBo toUploadBo(SysFilePresignedUpload uploadDo) {
+        QofPresignedUploadBo uploadBo = new QofPresignedUploadBo();
+        BeanUtils.copyProperties(uploadDo, uploadBo);
+        uploadBo.setUploadId(uploadDo.getId());
+        return uploadBo;
+    }
+}
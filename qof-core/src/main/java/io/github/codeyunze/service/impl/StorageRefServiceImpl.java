@@ -0,0 +1,73 @@
+package io.github.codeyunze.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import io.github.codeyunze.entity.SysFileStorageRef;
+import io.github.codeyunze.mapper.StorageRefMapper;
+import io.github.codeyunze.service.StorageRefService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 系统-存储对象引用表(SysFileStorageRef)表服务实现类
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+@Service
+public class StorageRefServiceImpl extends ServiceImpl<StorageRefMapper, SysFileStorageRef> implements StorageRefService {
+
+    @Override
+    public void register(String fileStorageMode, String fileStorageStation, String filePath) {
+        SysFileStorageRef refDo = new SysFileStorageRef();
+        refDo.setId(IdUtil.getSnowflakeNextId());
+        refDo.setFileStorageMode(fileStorageMode);
+        refDo.setFileStorageStation(stationKey(fileStorageStation));
+        refDo.setFilePath(filePath);
+        refDo.setRefCount(1);
+        baseMapper.insert(refDo);
+    }
+
+    @Override
+    public boolean acquire(String fileStorageMode, String fileStorageStation, String filePath) {
+        return baseMapper.update(null, new LambdaUpdateWrapper<SysFileStorageRef>()
+                .setSql("ref_count = ref_count + 1")
+                .set(SysFileStorageRef::getUpdateTime, LocalDateTime.now())
+                .eq(SysFileStorageRef::getFileStorageMode, fileStorageMode)
+                .eq(SysFileStorageRef::getFileStorageStation, stationKey(fileStorageStation))
+                .eq(SysFileStorageRef::getFilePath, filePath)
+                .gt(SysFileStorageRef::getRefCount, 0)) > 0;
+    }
+
+    @Override
+    public int release(String fileStorageMode, String fileStorageStation, String filePath) {
+        String station = stationKey(fileStorageStation);
+        int released = baseMapper.update(null, new LambdaUpdateWrapper<SysFileStorageRef>()
+                .setSql("ref_count = ref_count - 1")
+                .set(SysFileStorageRef::getUpdateTime, LocalDateTime.now())
+                .eq(SysFileStorageRef::getFileStorageMode, fileStorageMode)
+                .eq(SysFileStorageRef::getFileStorageStation, station)
+                .eq(SysFileStorageRef::getFilePath, filePath)
+                .gt(SysFileStorageRef::getRefCount, 0));
+        if (released == 0) {
+            return -1;
+        }
+        // 引用数为0后不能再被引用，同时释放的多个调用中只有删除了引用记录的一个负责删除存储对象
+        int deleted = baseMapper.delete(new LambdaQueryWrapper<SysFileStorageRef>()
+                .eq(SysFileStorageRef::getFileStorageMode, fileStorageMode)
+                .eq(SysFileStorageRef::getFileStorageStation, station)
+                .eq(SysFileStorageRef::getFilePath, filePath)
+                .eq(SysFileStorageRef::getRefCount, 0));
+        return deleted > 0 ? 0 : 1;
+    }
+
+    /**
+     * 唯一索引中的空值互不相等，未指定存储站时使用空字符串
+     */
+    private static String stationKey(String fileStorageStation) {
+        return fileStorageStation == null ? "" : fileStorageStation;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.codeyunze.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 限制读取长度的输入流
+ * <br>
+ * 最多读取指定长度的内容，之后视为流已结束，关闭时关闭原始输入流
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class BoundedInputStream extends FilterInputStream {
+
+    private long remaining;
+
+    /**
+     * @param in     原始输入流
+     * @param length 最多读取的长度（字节）
+     */
+    public BoundedInputStream(InputStream in, long length) {
+        super(in);
+        this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int b = super.read();
+        if (b >= 0) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (remaining <= 0) {
+            return -1;
+        }
+        int n = super.read(b, off, (int) Math.min(len, remaining));
+        if (n > 0) {
+            remaining -= n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        // 重置后无法准确统计剩余长度
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.codeyunze.utils;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 读取 {@link ByteBuffer} 剩余内容的输入流，不复制缓冲区中的内容
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * @param buffer 读取的缓冲区，读取时会移动其位置，共享的缓冲区需传入 {@link ByteBuffer#duplicate()}
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int skipped = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
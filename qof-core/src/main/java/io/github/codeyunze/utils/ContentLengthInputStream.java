@@ -0,0 +1,85 @@
+package io.github.codeyunze.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 校验内容长度的输入流
+ * <br>
+ * 用于事先声明了文件大小、但无法提前确认实际大小的流（例如流式上传），
+ * 实际内容超过声明的大小或提前结束时抛出异常，避免存储不完整或超出限制的文件
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class ContentLengthInputStream extends FilterInputStream {
+
+    private final long contentLength;
+
+    private long remaining;
+
+    /**
+     * @param in            原始输入流
+     * @param contentLength 声明的内容长度（字节）
+     */
+    public ContentLengthInputStream(InputStream in, long contentLength) {
+        super(in);
+        this.contentLength = contentLength;
+        this.remaining = contentLength;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b < 0) {
+            checkEnd();
+            return b;
+        }
+        if (--remaining < 0) {
+            throw tooLong();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n < 0) {
+            checkEnd();
+            return n;
+        }
+        remaining -= n;
+        if (remaining < 0) {
+            throw tooLong();
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        remaining -= skipped;
+        if (remaining < 0) {
+            throw tooLong();
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        // 重置后无法准确统计已读取的长度
+        return false;
+    }
+
+    private void checkEnd() throws IOException {
+        if (remaining > 0) {
+            throw new IOException(String.format("文件内容不完整，声明大小为%d字节，实际只有%d字节",
+                    contentLength, contentLength - remaining));
+        }
+    }
+
+    private IOException tooLong() {
+        return new IOException(String.format("文件内容超过声明的大小%d字节", contentLength));
+    }
+}
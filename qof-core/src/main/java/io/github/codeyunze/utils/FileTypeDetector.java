@@ -19,6 +19,11 @@ public class FileTypeDetector {
 
     private static final Logger log = LoggerFactory.getLogger(FileTypeDetector.class);
 
+    /**
+     * 检测文件类型读取的文件头长度（字节）
+     */
+    public static final int HEADER_SIZE = 32;
+
     /**
      * 常见文件类型的Magic Number映射
      * Key: MIME类型, Value: 文件头字节数组
@@ -90,8 +95,8 @@ public class FileTypeDetector {
             }
 
             // 读取文件头（最多读取前32字节）
-            inputStream.mark(32);
-            byte[] header = new byte[32];
+            inputStream.mark(HEADER_SIZE);
+            byte[] header = new byte[HEADER_SIZE];
             int bytesRead = inputStream.read(header);
             inputStream.reset();
 
@@ -0,0 +1,175 @@
+package io.github.codeyunze.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 可回放文件头的输入流
+ * <br>
+ * 只缓存文件开头固定长度的内容，在文件头范围内支持 mark/reset，供文件类型检测读取文件头后重置；
+ * 文件头读取完之后直接读取原始输入流，不再经过额外的缓冲区。
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class HeaderPeekInputStream extends FilterInputStream {
+
+    private final byte[] header;
+
+    /**
+     * 已缓存的文件头长度，-1 表示尚未读取文件头
+     */
+    private int headerLength = -1;
+
+    /**
+     * 文件头中的读取位置，等于 headerLength 后从原始输入流读取
+     */
+    private int position;
+
+    private int markPosition = -1;
+
+    /**
+     * 是否仍支持 mark/reset：读取到文件头之后的内容或调用 {@link #stopPeeking()} 后不再支持
+     */
+    private boolean peeking = true;
+
+    /**
+     * @param in         原始输入流
+     * @param headerSize 缓存的文件头长度（字节）
+     */
+    public HeaderPeekInputStream(InputStream in, int headerSize) {
+        super(in);
+        this.header = new byte[headerSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        fillHeader();
+        if (position < headerLength) {
+            return header[position++] & 0xFF;
+        }
+        int b = in.read();
+        if (b >= 0) {
+            peeking = false;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        fillHeader();
+        if (position < headerLength) {
+            int n = Math.min(len, headerLength - position);
+            System.arraycopy(header, position, b, off, n);
+            position += n;
+            return n;
+        }
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            peeking = false;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        fillHeader();
+        if (position < headerLength) {
+            int skipped = (int) Math.min(n, headerLength - position);
+            position += skipped;
+            return skipped;
+        }
+        long skipped = in.skip(n);
+        if (skipped > 0) {
+            peeking = false;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (headerLength >= 0 && position < headerLength) {
+            return headerLength - position;
+        }
+        return in.available();
+    }
+
+    /**
+     * 只有在文件头范围内才支持 mark/reset，读取到文件头之后的内容后不再支持
+     */
+    @Override
+    public boolean markSupported() {
+        return peeking;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        if (peeking) {
+            markPosition = position;
+        }
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        if (markPosition < 0 || !peeking) {
+            throw new IOException("只能在文件头范围内重置输入流");
+        }
+        position = markPosition;
+    }
+
+    /**
+     * 结束文件头检测，之后不再支持 mark/reset，已缓存的文件头仍会被正常读取
+     * <br>
+     * 避免后续的读取方（例如对象存储SDK）误以为可以在整个流上重置
+     */
+    public void stopPeeking() {
+        peeking = false;
+        markPosition = -1;
+    }
+
+    /**
+     * 取出尚未读取的文件头内容，之后可以直接读取 {@link #getSource()} 的剩余内容
+     *
+     * @return 尚未读取的文件头内容
+     * @throws IOException 读取文件头失败
+     */
+    public ByteBuffer takeRemainingHeader() throws IOException {
+        fillHeader();
+        ByteBuffer remaining = ByteBuffer.wrap(header, position, headerLength - position);
+        position = headerLength;
+        stopPeeking();
+        return remaining;
+    }
+
+    /**
+     * 获取原始输入流
+     *
+     * @return 原始输入流
+     */
+    public InputStream getSource() {
+        return in;
+    }
+
+    private void fillHeader() throws IOException {
+        if (headerLength >= 0) {
+            return;
+        }
+        int total = 0;
+        while (total < header.length) {
+            int n = in.read(header, total, header.length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        headerLength = total;
+    }
+}
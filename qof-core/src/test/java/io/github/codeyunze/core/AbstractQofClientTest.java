@@ -0,0 +1,45 @@
+package io.github.codeyunze.core;
+
+import io.github.codeyunze.dto.QofByteRange;
+import io.github.codeyunze.exception.RangeNotSatisfiableException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 通用存储客户端的字节范围处理测试
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+class AbstractQofClientTest {
+
+    @Test
+    void resolvesRangeOfUncompressedObject() {
+        QofByteRange range = AbstractQofClient.effectiveRange(QofByteRange.suffix(100), 1000, null);
+
+        assertEquals(900, range.getStart(1000));
+        assertEquals(999, range.getEnd(1000));
+    }
+
+    @Test
+    void readsFullContentWithoutRange() {
+        assertNull(AbstractQofClient.effectiveRange(null, 1000, null));
+    }
+
+    @Test
+    void ignoresRangeOfCompressedObject() {
+        // 压缩存储的文件中的位置与原始内容不对应，超出范围也不会返回 416
+        assertNull(AbstractQofClient.effectiveRange(QofByteRange.of(0, 99L), 1000, "gzip"));
+        assertNull(AbstractQofClient.effectiveRange(QofByteRange.of(5000, null), 1000, "gzip"));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() {
+        RangeNotSatisfiableException e = assertThrows(RangeNotSatisfiableException.class,
+                () -> AbstractQofClient.effectiveRange(QofByteRange.of(1000, null), 1000, ""));
+        assertEquals(1000, e.getFileSize());
+    }
+}
@@ -0,0 +1,313 @@
+package io.github.codeyunze.core.cache;
+
+import io.github.codeyunze.QofProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 对象存储文件的本地磁盘缓存测试
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+class QofDiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentMissesCollapseToOneLoad() throws Exception {
+        QofDiskCache cache = newCache(1024 * 1024);
+        byte[] content = content(64 * 1024);
+        CountingLoader loader = new CountingLoader(content);
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try (InputStream in = cache.open(1L, content.length, loader)) {
+                        return readAll(in);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(content, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loader.calls.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(requests - 1, cache.getHitCount() + cache.getCoalescedCount());
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    @Test
+    void followerReadsToEndAfterLeaderCompletes() throws IOException {
+        QofDiskCache cache = newCache(1024 * 1024);
+        byte[] content = content(10_000);
+        CountingLoader loader = new CountingLoader(content);
+
+        InputStream leader = cache.open(1L, content.length, loader);
+        InputStream follower = cache.open(1L, content.length, loader);
+        assertEquals(1, cache.getCoalescedCount());
+
+        assertArrayEquals(content, readAll(leader));
+        leader.close();
+        assertEquals(1, cache.getEntryCount());
+
+        // 写入完成后缓存文件已重命名，已打开的文件仍可读取到文件结束
+        assertArrayEquals(content, readAll(follower));
+        assertEquals(-1, follower.read());
+        follower.close();
+        assertEquals(1, loader.calls.get());
+    }
+
+    @Test
+    void followerFailsWhenLeaderFails() throws IOException {
+        QofDiskCache cache = newCache(1024 * 1024);
+        byte[] content = content(100);
+        Supplier<InputStream> loader = () -> new FailingInputStream(content, 50);
+
+        InputStream leader = cache.open(1L, content.length, loader);
+        InputStream follower = cache.open(1L, content.length, loader);
+
+        assertThrows(IOException.class, () -> readAll(leader));
+        leader.close();
+
+        // 已写入的内容仍可读取，之后读取失败，不会被当作完整内容
+        byte[] buffer = new byte[content.length];
+        int read = 0;
+        IOException failure = null;
+        try {
+            int n;
+            while ((n = follower.read(buffer, read, buffer.length - read)) > 0) {
+                read += n;
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+        follower.close();
+        assertNotNull(failure);
+        assertEquals(50, read);
+        assertEquals(0, cache.getEntryCount());
+        assertNoTempFiles();
+    }
+
+    @Test
+    void leaderClosedEarlyKeepsFillingForFollowers() throws IOException {
+        QofDiskCache cache = newCache(1024 * 1024);
+        byte[] content = content(100_000);
+        CountingLoader loader = new CountingLoader(content);
+
+        InputStream leader = cache.open(1L, content.length, loader);
+        InputStream follower = cache.open(1L, content.length, loader);
+        assertEquals(10, leader.read(new byte[10]));
+        // 有请求跟随读取时，关闭前读取剩余内容写入缓存文件
+        leader.close();
+
+        assertArrayEquals(content, readAll(follower));
+        follower.close();
+        assertEquals(1, cache.getEntryCount());
+        try (InputStream cached = cache.openCached(1L, 0, content.length - 1)) {
+            assertArrayEquals(content, readAll(cached));
+        }
+        assertEquals(1, loader.calls.get());
+    }
+
+    @Test
+    void leaderClosedEarlyWithoutFollowersDiscardsCache() throws IOException {
+        QofDiskCache cache = newCache(1024 * 1024);
+        byte[] content = content(100_000);
+
+        InputStream leader = cache.open(1L, content.length, new CountingLoader(content));
+        assertEquals(10, leader.read(new byte[10]));
+        leader.close();
+
+        assertEquals(0, cache.getEntryCount());
+        assertNull(cache.openCached(1L, 0, content.length - 1));
+        assertNoTempFiles();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByBytes() throws IOException {
+        QofDiskCache cache = newCache(250);
+        byte[] content = content(100);
+        fill(cache, 1L, content);
+        fill(cache, 2L, content);
+        // 访问文件1后，文件2为最近最少使用
+        cache.openCached(1L, 0, content.length - 1).close();
+
+        fill(cache, 3L, content);
+
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(200, cache.getWeightedSize());
+        assertNull(cache.openCached(2L, 0, content.length - 1));
+        try (InputStream first = cache.openCached(1L, 0, content.length - 1);
+             InputStream third = cache.openCached(3L, 0, content.length - 1)) {
+            assertNotNull(first);
+            assertNotNull(third);
+        }
+    }
+
+    @Test
+    void doesNotCacheObjectsLargerThanLimit() {
+        QofDiskCache cache = newCache(250);
+
+        assertTrue(cache.isCacheable(250));
+        assertFalse(cache.isCacheable(251));
+        assertFalse(cache.isCacheable(0));
+    }
+
+    @Test
+    void restoreSkipsTempAndForeignFiles() throws IOException {
+        byte[] content = content(100);
+        long fileId = 427;
+        Path shard = Files.createDirectories(directory.resolve(String.format("%02x", fileId & 0xFF)));
+        String random = "0123456789abcdef0123456789abcdef";
+        Files.write(shard.resolve(fileId + "." + random), content);
+        Path tempFile = Files.write(shard.resolve("." + fileId + "." + random + ".tmp"), content);
+        Path foreign = Files.write(directory.resolve("notes.txt"), content);
+        Path foreignInShard = Files.write(shard.resolve("notes.txt"), content);
+        // 不在文件Id对应的分段目录中
+        Path misplaced = Files.write(Files.createDirectories(directory.resolve("00")).resolve("1." + random), content);
+
+        QofDiskCache cache = newCache(1024 * 1024);
+
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(content.length, cache.getWeightedSize());
+        try (InputStream cached = cache.openCached(fileId, 0, content.length - 1)) {
+            assertArrayEquals(content, readAll(cached));
+        }
+        assertFalse(Files.exists(tempFile));
+        assertTrue(Files.exists(foreign));
+        assertTrue(Files.exists(foreignInShard));
+        assertTrue(Files.exists(misplaced));
+    }
+
+    private QofDiskCache newCache(long maxBytes) {
+        QofProperties.DiskCache config = new QofProperties.DiskCache();
+        config.setEnabled(true);
+        config.setDirectory(directory.toString());
+        config.setMaxBytes(maxBytes);
+        config.setMaxObjectSize(maxBytes);
+        config.setFillWaitTimeout(Duration.ofSeconds(5));
+        return new QofDiskCache(config);
+    }
+
+    private static void fill(QofDiskCache cache, Long fileId, byte[] content) throws IOException {
+        try (InputStream in = cache.open(fileId, content.length, () -> new ByteArrayInputStream(content))) {
+            readAll(in);
+        }
+    }
+
+    private void assertNoTempFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 记录调用次数的存储对象读取
+     */
+    private static class CountingLoader implements Supplier<InputStream> {
+
+        private final byte[] content;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        CountingLoader(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public InputStream get() {
+            calls.incrementAndGet();
+            return new ByteArrayInputStream(content);
+        }
+    }
+
+    /**
+     * 读取到指定位置后失败的存储对象
+     */
+    private static class FailingInputStream extends InputStream {
+
+        private final byte[] content;
+
+        private final int failAt;
+
+        private int position;
+
+        FailingInputStream(byte[] content, int failAt) {
+            this.content = content;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= failAt) {
+                throw new IOException("读取存储对象失败");
+            }
+            int n = Math.min(len, failAt - position);
+            System.arraycopy(content, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+}
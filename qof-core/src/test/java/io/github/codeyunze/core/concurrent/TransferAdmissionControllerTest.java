@@ -0,0 +1,210 @@
+package io.github.codeyunze.core.concurrent;
+
+import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.exception.TransferRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文件传输准入控制测试
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+class TransferAdmissionControllerTest {
+
+    private static final String MODE = "local";
+
+    @Test
+    void disabledReturnsNoopPermit() {
+        QofProperties.Admission config = config(1, 0, Duration.ZERO, 1);
+        config.setEnabled(false);
+        TransferAdmissionController controller = new TransferAdmissionController(config);
+
+        assertSame(TransferAdmissionController.Permit.NONE, controller.acquire(MODE, null, 100));
+        assertSame(TransferAdmissionController.Permit.NONE, controller.acquire(MODE, null, 100));
+        assertEquals(0, controller.getInFlightTransfers());
+    }
+
+    @Test
+    void queuedTransferProceedsAfterRelease() throws Exception {
+        TransferAdmissionController controller = new TransferAdmissionController(
+                config(1, 0, Duration.ofSeconds(10), 8));
+        TransferAdmissionController.Permit first = controller.acquire(MODE, null, 10);
+
+        Waiter waiter = acquireAsync(controller, 20);
+        waiter.awaitQueued();
+        assertFalse(waiter.future.isDone());
+
+        first.close();
+        TransferAdmissionController.Permit second = waiter.future.get(5, TimeUnit.SECONDS);
+        assertNotSame(TransferAdmissionController.Permit.NONE, second);
+        assertEquals(1, controller.getInFlightTransfers());
+        assertEquals(20, controller.getInFlightBytes());
+
+        second.close();
+        assertEquals(0, controller.getInFlightTransfers());
+        assertEquals(0, controller.getInFlightBytes());
+    }
+
+    @Test
+    void rejectsAfterMaxWait() {
+        QofProperties.Admission config = config(1, 0, Duration.ofMillis(200), 8);
+        TransferAdmissionController controller = new TransferAdmissionController(config);
+        try (TransferAdmissionController.Permit ignored = controller.acquire(MODE, "archive", 10)) {
+            long start = System.nanoTime();
+            TransferRejectedException e = assertThrows(TransferRejectedException.class,
+                    () -> controller.acquire(MODE, "archive", 10));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+            assertEquals(config.getRetryAfter(), e.getRetryAfter());
+        }
+        assertEquals(0, controller.getInFlightTransfers());
+    }
+
+    @Test
+    void rejectsImmediatelyWithoutMaxWait() {
+        TransferAdmissionController controller = new TransferAdmissionController(config(1, 0, Duration.ZERO, 8));
+        try (TransferAdmissionController.Permit ignored = controller.acquire(MODE, null, 10)) {
+            assertThrows(TransferRejectedException.class, () -> controller.acquire(MODE, null, 10));
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        TransferAdmissionController controller = new TransferAdmissionController(
+                config(1, 0, Duration.ofSeconds(10), 1));
+        TransferAdmissionController.Permit first = controller.acquire(MODE, null, 10);
+        Waiter waiter = acquireAsync(controller, 10);
+        waiter.awaitQueued();
+
+        // 排队已满时不等待，直接拒绝
+        long start = System.nanoTime();
+        assertThrows(TransferRejectedException.class, () -> controller.acquire(MODE, null, 10));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+        first.close();
+        waiter.future.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, controller.getInFlightTransfers());
+    }
+
+    @Test
+    void oversizeTransferPassesOnlyWhenNothingInFlight() {
+        TransferAdmissionController controller = new TransferAdmissionController(config(0, 100, Duration.ZERO, 8));
+
+        // 超过字节额度的单个文件在没有其他在途字节时放行
+        try (TransferAdmissionController.Permit ignored = controller.acquire(MODE, null, 1000)) {
+            assertEquals(1000, controller.getInFlightBytes());
+            assertThrows(TransferRejectedException.class, () -> controller.acquire(MODE, null, 1));
+        }
+
+        // 有其他在途字节时，超过剩余额度的文件需要等待
+        try (TransferAdmissionController.Permit ignored = controller.acquire(MODE, null, 10)) {
+            assertThrows(TransferRejectedException.class, () -> controller.acquire(MODE, null, 1000));
+            controller.acquire(MODE, null, 90).close();
+        }
+        assertEquals(0, controller.getInFlightBytes());
+    }
+
+    @Test
+    void stationLimitDoesNotAffectOtherStations() {
+        QofProperties.Admission config = config(0, 0, Duration.ZERO, 8);
+        QofProperties.AdmissionLimit limit = new QofProperties.AdmissionLimit();
+        limit.setMaxConcurrentTransfers(1);
+        config.getStations().put("archive", limit);
+        TransferAdmissionController controller = new TransferAdmissionController(config);
+
+        try (TransferAdmissionController.Permit ignored = controller.acquire(MODE, "archive", 10)) {
+            assertThrows(TransferRejectedException.class, () -> controller.acquire(MODE, "archive", 10));
+            controller.acquire(MODE, "hot", 10).close();
+            controller.acquire(MODE, null, 10).close();
+        }
+    }
+
+    @Test
+    void closingPermitTwiceReleasesOnce() {
+        TransferAdmissionController controller = new TransferAdmissionController(config(2, 0, Duration.ZERO, 8));
+        TransferAdmissionController.Permit first = controller.acquire(MODE, null, 10);
+        TransferAdmissionController.Permit second = controller.acquire(MODE, null, 10);
+
+        first.close();
+        first.close();
+        assertEquals(1, controller.getInFlightTransfers());
+        assertEquals(10, controller.getInFlightBytes());
+        second.close();
+        assertEquals(0, controller.getInFlightTransfers());
+    }
+
+    @Test
+    void interruptedWaiterIsRejected() throws Exception {
+        TransferAdmissionController controller = new TransferAdmissionController(
+                config(1, 0, Duration.ofSeconds(10), 8));
+        try (TransferAdmissionController.Permit ignored = controller.acquire(MODE, null, 10)) {
+            Waiter waiter = acquireAsync(controller, 10);
+            waiter.awaitQueued();
+            waiter.thread.interrupt();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> waiter.future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TransferRejectedException.class, e.getCause());
+        }
+        assertEquals(0, controller.getInFlightTransfers());
+    }
+
+    private static QofProperties.Admission config(int maxTransfers, long maxBytes, Duration maxWait, int maxQueued) {
+        QofProperties.Admission config = new QofProperties.Admission();
+        config.setEnabled(true);
+        config.setMaxConcurrentTransfers(maxTransfers);
+        config.setMaxInFlightBytes(maxBytes);
+        config.setMaxWait(maxWait);
+        config.setMaxQueued(maxQueued);
+        return config;
+    }
+
+    private static Waiter acquireAsync(TransferAdmissionController controller, long bytes) {
+        Waiter waiter = new Waiter();
+        waiter.thread = new Thread(() -> {
+            try {
+                waiter.future.complete(controller.acquire(MODE, null, bytes));
+            } catch (RuntimeException e) {
+                waiter.future.completeExceptionally(e);
+            }
+        });
+        waiter.thread.start();
+        return waiter;
+    }
+
+    /**
+     * 在其他线程中申请额度的传输
+     */
+    private static class Waiter {
+
+        private final CompletableFuture<TransferAdmissionController.Permit> future = new CompletableFuture<>();
+
+        private Thread thread;
+
+        /**
+         * 等待线程进入排队（等待额度释放）
+         */
+        void awaitQueued() throws InterruptedException, TimeoutException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (thread.getState() != Thread.State.TIMED_WAITING) {
+                if (System.nanoTime() > deadline || future.isDone()) {
+                    throw new TimeoutException("传输未进入排队");
+                }
+                Thread.sleep(5);
+            }
+        }
+    }
+}
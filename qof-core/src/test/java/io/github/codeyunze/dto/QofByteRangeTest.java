@@ -0,0 +1,93 @@
+package io.github.codeyunze.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文件内容的字节范围测试
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+class QofByteRangeTest {
+
+    /**
+     * 起始位置、结束位置（空表示到文件末尾）、文件大小、实际起始位置、实际结束位置
+     */
+    @ParameterizedTest(name = "bytes={0}-{1} / {2}")
+    @CsvSource({
+            "0,   0,    1000, 0,   0",
+            "100, 199,  1000, 100, 199",
+            "100,     , 1000, 100, 999",
+            "900, 5000, 1000, 900, 999",
+            "999,     , 1000, 999, 999",
+    })
+    void resolvesRange(long start, Long end, long fileSize, long expectedStart, long expectedEnd) {
+        QofByteRange range = QofByteRange.of(start, end);
+
+        assertTrue(range.isSatisfiable(fileSize));
+        assertEquals(expectedStart, range.getStart(fileSize));
+        assertEquals(expectedEnd, range.getEnd(fileSize));
+    }
+
+    /**
+     * 末尾的字节数、文件大小、实际起始位置、实际结束位置
+     */
+    @ParameterizedTest(name = "bytes=-{0} / {1}")
+    @CsvSource({
+            "1,    1000, 999, 999",
+            "500,  1000, 500, 999",
+            "1000, 1000, 0,   999",
+            "5000, 1000, 0,   999",
+    })
+    void resolvesSuffixRange(long suffixLength, long fileSize, long expectedStart, long expectedEnd) {
+        QofByteRange range = QofByteRange.suffix(suffixLength);
+
+        assertTrue(range.isSatisfiable(fileSize));
+        assertEquals(expectedStart, range.getStart(fileSize));
+        assertEquals(expectedEnd, range.getEnd(fileSize));
+    }
+
+    @ParameterizedTest(name = "bytes={0}- / {1}")
+    @CsvSource({
+            "1000, 1000",
+            "5000, 1000",
+            "0,    0",
+    })
+    void startBeyondFileIsNotSatisfiable(long start, long fileSize) {
+        assertFalse(QofByteRange.of(start, null).isSatisfiable(fileSize));
+    }
+
+    @Test
+    void emptySuffixIsNotSatisfiable() {
+        assertFalse(QofByteRange.suffix(0).isSatisfiable(1000));
+        assertFalse(QofByteRange.suffix(10).isSatisfiable(0));
+    }
+
+    @ParameterizedTest(name = "bytes={0}-{1}")
+    @CsvSource({
+            "-1,  10",
+            "200, 100",
+    })
+    void rejectsInvalidRange(long start, long end) {
+        assertThrows(IllegalArgumentException.class, () -> QofByteRange.of(start, end));
+    }
+
+    @Test
+    void rejectsNegativeSuffix() {
+        assertThrows(IllegalArgumentException.class, () -> QofByteRange.suffix(-1));
+    }
+
+    @Test
+    void formatsAsRangeHeader() {
+        assertEquals("bytes=100-199", QofByteRange.of(100, 199L).toString());
+        assertEquals("bytes=100-", QofByteRange.of(100, null).toString());
+        assertEquals("bytes=-500", QofByteRange.suffix(500).toString());
+    }
+}
@@ -1,7 +1,16 @@
 package io.github.codeyunze;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
 
 /**
  * @author 高晗
@@ -9,5 +18,20 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @ComponentScan({"io.github.codeyunze"})
+@AutoConfigureBefore(MultipartAutoConfiguration.class)
 public class QofCoreConfiguration {
+
+    /**
+     * 替换 Spring Boot 默认的 multipart 解析器，流式上传接口不经过 MultipartFile
+     * <br>
+     * 与 Spring Boot 一致，配置 spring.servlet.multipart.enabled=false 时不注册
+     */
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    @ConditionalOnMissingBean(MultipartResolver.class)
+    @ConditionalOnProperty(prefix = "spring.servlet.multipart", name = "enabled", matchIfMissing = true)
+    public QofMultipartResolver multipartResolver(ObjectProvider<MultipartProperties> multipartProperties) {
+        QofMultipartResolver multipartResolver = new QofMultipartResolver();
+        multipartResolver.setResolveLazily(multipartProperties.getIfAvailable(MultipartProperties::new).isResolveLazily());
+        return multipartResolver;
+    }
 }
@@ -0,0 +1,46 @@
+package io.github.codeyunze;
+
+import io.github.codeyunze.controller.FileController;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * multipart 请求解析器
+ * <br>
+ * 流式上传接口 {@link FileController#STREAM_UPLOAD_PATH} 自行解析请求体，边接收边上传，
+ * 不能由 Spring 提前将文件缓存到内存或临时文件，其余接口保持默认的解析方式
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+public class QofMultipartResolver extends StandardServletMultipartResolver {
+
+    /**
+     * 解析请求路径：去掉上下文路径、路径参数（;jsessionid 等），解码并合并重复的斜杠
+     */
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        if (isStreamUpload(request)) {
+            return false;
+        }
+        return super.isMultipart(request);
+    }
+
+    /**
+     * 是否为流式上传接口的请求
+     * <br>
+     * Spring MVC 匹配接口时忽略末尾的斜杠，这里同样去掉末尾的斜杠后再比较，避免请求体被提前解析
+     */
+    private static boolean isStreamUpload(HttpServletRequest request) {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(0, end).endsWith(FileController.STREAM_UPLOAD_PATH);
+    }
+}
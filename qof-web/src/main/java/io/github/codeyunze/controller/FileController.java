@@ -1,29 +1,72 @@
 package io.github.codeyunze.controller;
 
+import io.github.codeyunze.bo.QofChunkPartBo;
+import io.github.codeyunze.QofProperties;
+import io.github.codeyunze.bo.QofChunkUploadBo;
 import io.github.codeyunze.bo.QofFileDownloadBo;
+import io.github.codeyunze.bo.QofFileInfoBo;
+import io.github.codeyunze.bo.QofPresignedUploadBo;
 import io.github.codeyunze.bo.SysFilesMetaBo;
 import io.github.codeyunze.core.QofClient;
 import io.github.codeyunze.core.QofClientFactory;
+import io.github.codeyunze.core.compression.StorageCompression;
+import io.github.codeyunze.core.local.LocalQofProperties;
+import io.github.codeyunze.dto.QofByteRange;
+import io.github.codeyunze.dto.QofChunkUploadInitDto;
 import io.github.codeyunze.dto.QofFileInfoDto;
 import io.github.codeyunze.dto.QofFileUploadDto;
+import io.github.codeyunze.dto.QofInstantUploadDto;
+import io.github.codeyunze.dto.QofPresignedUploadInitDto;
+import io.github.codeyunze.dto.QofStreamUploadDto;
+import io.github.codeyunze.dto.QofUploadItem;
 import io.github.codeyunze.entity.SysFiles;
+import io.github.codeyunze.enums.QofLocalServeModeEnum;
 import io.github.codeyunze.exception.FileAccessDeniedException;
+import io.github.codeyunze.exception.RangeNotSatisfiableException;
+import io.github.codeyunze.exception.TransferRejectedException;
 import io.github.codeyunze.service.FileValidationService;
 import io.github.codeyunze.service.FilesService;
+import io.github.codeyunze.utils.ContentLengthInputStream;
 import io.github.codeyunze.utils.Result;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.github.codeyunze.utils.ResultTable;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.DataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriUtils;
 
 import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author 高晗
@@ -35,6 +78,38 @@ public class FileController {
 
     private static final Logger log = LoggerFactory.getLogger(FileController.class);
 
+    /**
+     * Range 请求头中字节范围的单位
+     */
+    private static final String BYTES_UNIT = "bytes";
+
+    /**
+     * Tomcat 支持 sendfile 时设置的请求属性，以及通过 sendfile 发送文件所需的请求属性
+     */
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String X_ACCEL_REDIRECT = "X-Accel-Redirect";
+
+    private static final String X_SENDFILE = "X-Sendfile";
+
+    /**
+     * 流式上传时单个表单字段的最大长度（字节），以及表单字段的最大数量
+     */
+    private static final int FORM_FIELD_MAX_SIZE = 4 * 1024;
+
+    private static final int FORM_FIELD_MAX_COUNT = 32;
+
+    /**
+     * 流式上传接口地址
+     */
+    public static final String STREAM_UPLOAD_PATH = "/file/upload/stream";
+
     private final QofClientFactory qofClientFactory;
 
     @Resource
@@ -43,10 +118,26 @@ public class FileController {
     @Resource
     private FilesService filesService;
 
+    @Resource
+    private Validator validator;
+
+    @Resource
+    private QofProperties qofProperties;
+
+    /**
+     * 本地存储配置，未启用本地存储时为null
+     */
+    private LocalQofProperties localQofProperties;
+
     public FileController(QofClientFactory qofClientFactory) {
         this.qofClientFactory = qofClientFactory;
     }
 
+    @Autowired(required = false)
+    public void setLocalQofProperties(LocalQofProperties localQofProperties) {
+        this.localQofProperties = localQofProperties;
+    }
+
     /**
      * 文件上传接口
      *
@@ -65,12 +156,281 @@ public class FileController {
             QofClient client = qofClientFactory.buildClient(fileUploadDto.getFileStorageMode());
             Long fileId = client.upload(file.getInputStream(), fileInfoDto);
             return new Result<>(HttpStatus.OK.value(), fileId, "文件上传成功");
+        } catch (TransferRejectedException e) {
+            // 传输繁忙，由全局异常处理返回 503
+            throw e;
         } catch (Exception e) {
             log.error("文件上传失败，文件名: {}", fileInfoDto.getFileName(), e);
             return new Result<>(HttpStatus.INTERNAL_SERVER_ERROR.value(), null, "文件上传失败，请稍后重试");
         }
     }
 
+    /**
+     * 批量文件上传接口
+     * <br>
+     * 文件并行写入存储，全部成功后一次性保存文件信息；任意文件失败时整批失败，已写入的文件会被删除。
+     * 文件名统一使用各文件的原始文件名，其他文件信息对所有文件生效
+     *
+     * @param files         文件
+     * @param fileUploadDto 文件信息
+     * @return 文件 Id，与上传的文件顺序一致
+     */
+    @PostMapping("upload/batch")
+    public Result<List<Long>> uploadBatch(@RequestParam("uploadfiles") MultipartFile[] files
+            , @Valid QofFileUploadDto fileUploadDto) {
+        List<QofUploadItem> items = new ArrayList<>(files.length);
+        try {
+            for (MultipartFile file : files) {
+                QofFileInfoDto<?> fileInfoDto = fileValidationService.buildFileInfoDto(file, fileUploadDto);
+                fileInfoDto.setFileName(file.getOriginalFilename());
+                items.add(new QofUploadItem(file.getInputStream(), fileInfoDto));
+            }
+            QofClient client = qofClientFactory.buildClient(fileUploadDto.getFileStorageMode());
+            List<Long> fileIds = client.uploadBatch(items);
+            return new Result<>(HttpStatus.OK.value(), fileIds, "文件上传成功");
+        } catch (TransferRejectedException e) {
+            // 传输繁忙，由全局异常处理返回 503
+            throw e;
+        } catch (Exception e) {
+            log.error("文件批量上传失败，文件数量: {}", files.length, e);
+            return new Result<>(HttpStatus.INTERNAL_SERVER_ERROR.value(), null, "文件上传失败，请稍后重试");
+        } finally {
+            for (QofUploadItem item : items) {
+                try {
+                    item.getInputStream().close();
+                } catch (IOException e) {
+                    log.warn("关闭文件流失败: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 秒传接口
+     * <br>
+     * 客户端先计算文件的 SHA-256 摘要，同一存储站中已存在内容相同的文件时直接引用，不需要上传文件内容；
+     * 未找到时返回的文件 Id 为空，客户端再调用文件上传接口
+     *
+     * @param instantUploadDto 文件信息，包含文件内容摘要和文件大小
+     * @return 文件 Id
+     */
+    @PostMapping("upload/instant")
+    public Result<Long> instantUpload(@Valid QofInstantUploadDto instantUploadDto) {
+        QofFileInfoDto<?> fileInfoDto = fileValidationService.buildFileInfoDto(instantUploadDto);
+        Long fileId = qofClientFactory.buildClient(instantUploadDto.getFileStorageMode()).instantUpload(fileInfoDto);
+        if (fileId == null) {
+            return new Result<>(HttpStatus.OK.value(), null, "未找到内容相同的文件，请上传文件");
+        }
+        return new Result<>(HttpStatus.OK.value(), fileId, "文件秒传成功");
+    }
+
+    /**
+     * 流式文件上传接口
+     * <br>
+     * 边接收边上传，文件内容不缓存到内存或临时文件。请求体中的表单字段必须位于文件之前，
+     * 且需要通过 fileSize 字段声明文件大小
+     *
+     * @param request 请求
+     * @return 文件 Id
+     */
+    @PostMapping("upload/stream")
+    public Result<Long> uploadStream(HttpServletRequest request) {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            return new Result<>(HttpStatus.BAD_REQUEST.value(), null, "请求类型必须为multipart/form-data");
+        }
+        String fileName = null;
+        try {
+            FileItemIterator iterator = new ServletFileUpload().getItemIterator(request);
+            Map<String, String> fields = new HashMap<>();
+            while (iterator.hasNext()) {
+                FileItemStream item = iterator.next();
+                if (item.isFormField()) {
+                    String value = readFormField(item);
+                    if (value == null || fields.size() >= FORM_FIELD_MAX_COUNT) {
+                        return new Result<>(HttpStatus.PAYLOAD_TOO_LARGE.value(), null,
+                                String.format("表单字段过大，单个字段不能超过%d字节，最多%d个字段", FORM_FIELD_MAX_SIZE, FORM_FIELD_MAX_COUNT));
+                    }
+                    fields.put(item.getFieldName(), value);
+                    continue;
+                }
+
+                // 文件之前的表单字段即为文件信息
+                QofStreamUploadDto streamUploadDto = new QofStreamUploadDto();
+                DataBinder binder = new DataBinder(streamUploadDto);
+                binder.bind(new MutablePropertyValues(fields));
+                if (binder.getBindingResult().hasErrors()) {
+                    return new Result<>(1, null, "参数格式错误: " + Objects.requireNonNull(binder.getBindingResult().getFieldError()).getField());
+                }
+                Set<ConstraintViolation<QofStreamUploadDto>> violations = validator.validate(streamUploadDto);
+                if (!violations.isEmpty()) {
+                    return new Result<>(1, null, violations.iterator().next().getMessage());
+                }
+
+                QofFileInfoDto<?> fileInfoDto = fileValidationService.buildFileInfoDto(item.getName(), item.getContentType(), streamUploadDto);
+                fileName = fileInfoDto.getFileName();
+                QofClient client = qofClientFactory.buildClient(streamUploadDto.getFileStorageMode());
+                Long fileId = client.upload(new ContentLengthInputStream(item.openStream(), streamUploadDto.getFileSize()), fileInfoDto);
+                return new Result<>(HttpStatus.OK.value(), fileId, "文件上传成功");
+            }
+            return new Result<>(HttpStatus.BAD_REQUEST.value(), null, "未找到需要上传的文件");
+        } catch (TransferRejectedException e) {
+            // 传输繁忙，由全局异常处理返回 503
+            throw e;
+        } catch (Exception e) {
+            log.error("文件上传失败，文件名: {}", fileName, e);
+            return new Result<>(HttpStatus.INTERNAL_SERVER_ERROR.value(), null, "文件上传失败，请稍后重试");
+        }
+    }
+
+    /**
+     * 读取表单字段的值，最多读取 {@link #FORM_FIELD_MAX_SIZE} 字节
+     *
+     * @param item 表单字段
+     * @return 字段值，超过最大长度时返回null
+     */
+    private static String readFormField(FileItemStream item) throws IOException {
+        try (InputStream inputStream = item.openStream()) {
+            byte[] buffer = new byte[FORM_FIELD_MAX_SIZE + 1];
+            int length = 0;
+            int read;
+            while (length < buffer.length && (read = inputStream.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+            }
+            return length > FORM_FIELD_MAX_SIZE ? null : new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 创建直传会话（仅支持 COS、OSS）
+     * <br>
+     * 返回预签名的上传地址，客户端携带返回的请求头使用 HTTP PUT 将文件直接上传到对象存储，上传完成后调用确认接口
+     *
+     * @param presignedUploadInitDto 文件信息，必须包含文件大小和文件类型
+     * @return 直传会话信息
+     */
+    @PostMapping("presigned/init")
+    public Result<QofPresignedUploadBo> initPresignedUpload(@Valid QofPresignedUploadInitDto presignedUploadInitDto) {
+        QofFileInfoDto<?> fileInfoDto = fileValidationService.buildFileInfoDto(presignedUploadInitDto);
+        QofClient client = qofClientFactory.buildClient(presignedUploadInitDto.getFileStorageMode());
+        return new Result<>(HttpStatus.OK.value(), client.initPresignedUpload(fileInfoDto), "直传会话创建成功");
+    }
+
+    /**
+     * 确认直传完成，校验通过后保存文件信息
+     *
+     * @param uploadId        直传会话 id
+     * @param fileStorageMode 文件存储模式
+     * @param createId        创建者ID（创建会话时指定了创建者时必须提供）
+     * @return 文件 Id
+     */
+    @PostMapping("presigned/confirm")
+    public Result<Long> confirmPresignedUpload(@RequestParam("uploadId") Long uploadId,
+                                               @RequestParam("fileStorageMode") String fileStorageMode,
+                                               @RequestParam(value = "createId", required = false) Long createId) {
+        QofClient client = qofClientFactory.buildClient(fileStorageMode);
+        QofPresignedUploadBo uploadBo = client.getPresignedUpload(uploadId);
+        if (uploadBo.getCreateId() != null && !uploadBo.getCreateId().equals(createId)) {
+            throw new FileAccessDeniedException("直传会话访问被拒绝：创建者ID不匹配");
+        }
+        return new Result<>(HttpStatus.OK.value(), client.confirmPresignedUpload(uploadId), "文件上传成功");
+    }
+
+    /**
+     * 创建断点续传会话
+     *
+     * @param chunkUploadInitDto 文件信息，包含文件大小和文件类型
+     * @return 断点续传会话信息，客户端按其中的分片大小切分文件
+     */
+    @PostMapping("chunk/init")
+    public Result<QofChunkUploadBo> initChunkUpload(@Valid QofChunkUploadInitDto chunkUploadInitDto) {
+        QofFileInfoDto<?> fileInfoDto = fileValidationService.buildFileInfoDto(chunkUploadInitDto);
+        QofClient client = qofClientFactory.buildClient(chunkUploadInitDto.getFileStorageMode());
+        return new Result<>(HttpStatus.OK.value(), client.initChunkUpload(fileInfoDto), "断点续传会话创建成功");
+    }
+
+    /**
+     * 上传分片，同一分片可重复上传
+     *
+     * @param chunk           分片内容
+     * @param uploadId        断点续传会话 id
+     * @param partNumber      分片序号，从1开始
+     * @param fileStorageMode 文件存储模式
+     * @param createId        创建者ID（创建会话时指定了创建者时必须提供）
+     * @return 已上传的分片信息
+     */
+    @PostMapping("chunk/part")
+    public Result<QofChunkPartBo> uploadChunk(@RequestParam("chunk") MultipartFile chunk,
+                                              @RequestParam("uploadId") Long uploadId,
+                                              @RequestParam("partNumber") int partNumber,
+                                              @RequestParam("fileStorageMode") String fileStorageMode,
+                                              @RequestParam(value = "createId", required = false) Long createId) throws IOException {
+        QofClient client = qofClientFactory.buildClient(fileStorageMode);
+        checkChunkUploadPermission(client.getChunkUpload(uploadId), createId);
+        QofChunkPartBo partBo = client.uploadChunk(uploadId, partNumber, chunk.getInputStream(), chunk.getSize());
+        return new Result<>(HttpStatus.OK.value(), partBo, "分片上传成功");
+    }
+
+    /**
+     * 查询断点续传会话，中断后根据已上传的分片继续上传
+     *
+     * @param uploadId        断点续传会话 id
+     * @param fileStorageMode 文件存储模式
+     * @param createId        创建者ID（创建会话时指定了创建者时必须提供）
+     * @return 断点续传会话信息，包含已上传的分片
+     */
+    @GetMapping("chunk/info")
+    public Result<QofChunkUploadBo> getChunkUpload(@RequestParam("uploadId") Long uploadId,
+                                                   @RequestParam("fileStorageMode") String fileStorageMode,
+                                                   @RequestParam(value = "createId", required = false) Long createId) {
+        QofChunkUploadBo uploadBo = qofClientFactory.buildClient(fileStorageMode).getChunkUpload(uploadId);
+        checkChunkUploadPermission(uploadBo, createId);
+        return new Result<>(HttpStatus.OK.value(), uploadBo, "查询成功");
+    }
+
+    /**
+     * 完成断点续传，合并所有分片
+     *
+     * @param uploadId        断点续传会话 id
+     * @param fileStorageMode 文件存储模式
+     * @param createId        创建者ID（创建会话时指定了创建者时必须提供）
+     * @return 文件 Id
+     */
+    @PostMapping("chunk/complete")
+    public Result<Long> completeChunkUpload(@RequestParam("uploadId") Long uploadId,
+                                            @RequestParam("fileStorageMode") String fileStorageMode,
+                                            @RequestParam(value = "createId", required = false) Long createId) {
+        QofClient client = qofClientFactory.buildClient(fileStorageMode);
+        checkChunkUploadPermission(client.getChunkUpload(uploadId), createId);
+        return new Result<>(HttpStatus.OK.value(), client.completeChunkUpload(uploadId), "文件上传成功");
+    }
+
+    /**
+     * 取消断点续传，清理已上传的分片
+     *
+     * @param uploadId        断点续传会话 id
+     * @param fileStorageMode 文件存储模式
+     * @param createId        创建者ID（创建会话时指定了创建者时必须提供）
+     * @return 是否取消成功
+     */
+    @DeleteMapping("chunk/abort")
+    public Result<Boolean> abortChunkUpload(@RequestParam("uploadId") Long uploadId,
+                                            @RequestParam("fileStorageMode") String fileStorageMode,
+                                            @RequestParam(value = "createId", required = false) Long createId) {
+        QofClient client = qofClientFactory.buildClient(fileStorageMode);
+        checkChunkUploadPermission(client.getChunkUpload(uploadId), createId);
+        client.abortChunkUpload(uploadId);
+        return new Result<>(HttpStatus.OK.value(), true, "取消上传成功");
+    }
+
+    /**
+     * 断点续传会话仅允许创建者操作
+     */
+    private static void checkChunkUploadPermission(QofChunkUploadBo uploadBo, Long createId) {
+        if (uploadBo.getCreateId() != null && !uploadBo.getCreateId().equals(createId)) {
+            throw new FileAccessDeniedException("断点续传会话访问被拒绝：创建者ID不匹配");
+        }
+    }
+
     /**
      * 文件分页列表（仅返回文件元数据信息，不包含文件流）
      *
@@ -100,6 +460,8 @@ public class FileController {
 
     /**
      * 文件下载接口
+     * <br>
+     * 支持通过 Range 请求头下载部分内容（单个字节范围），用于断点续传
      *
      * @param fileId          文件唯一 Id
      * @param fileStorageMode 文件存储模式
@@ -110,26 +472,52 @@ public class FileController {
     public ResponseEntity<StreamingResponseBody> download(
             @RequestParam("fileId") Long fileId,
             @RequestParam("fileStorageMode") String fileStorageMode,
-            @RequestParam(value = "createId", required = false) Long createId) {
+            @RequestParam(value = "createId", required = false) Long createId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletRequest request) {
         try {
             // 校验文件访问权限
-            filesService.checkFileAccessPermission(fileId, createId);
-            
-            QofFileDownloadBo fileDownloadBo = qofClientFactory.buildClient(fileStorageMode).download(fileId);
+            QofFileInfoBo<?> fileBo = filesService.checkFileAccessPermission(fileId, createId);
 
-            StreamingResponseBody streamingResponseBody = fileValidationService.createStreamingResponseBody(
-                    fileDownloadBo.getInputStream(), fileId, "下载");
+            // 客户端缓存仍然有效时直接返回 304，不读取存储
+            HttpHeaders headers = cacheHeaders(fileBo);
+            headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String eTag = entityTag(fileId, StorageCompression.isAccepted(acceptEncoding, fileBo.getContentEncoding())
+                    ? fileBo.getContentEncoding() : null);
+            if (isNotModified(request, eTag, lastModified(fileBo))) {
+                return notModified(eTag, headers);
+            }
+
+            QofClient qofClient = qofClientFactory.buildClient(fileStorageMode);
+            // 开启下载重定向时，由对象存储直接返回文件内容
+            String presignedUrl = qofClient.presignDownload(fileId, false);
+            if (presignedUrl != null) {
+                return redirectTo(presignedUrl);
+            }
+
+            // 存储对象经过压缩且客户端接受该压缩编码时，直接返回压缩后的内容
+            QofFileDownloadBo fileDownloadBo = qofClient.download(fileId, acceptEncoding,
+                    requestedRange(rangeHeader, ifRange, fileId, lastModified(fileBo)));
 
             String encodedFileName = fileValidationService.encodeFileName(fileDownloadBo.getFileName());
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=\"" + encodedFileName + "\";filename*=UTF-8''" + encodedFileName)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(fileDownloadBo.getFileSize())
-                    .body(streamingResponseBody);
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=\"" + encodedFileName + "\";filename*=UTF-8''" + encodedFileName);
+            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            if (StringUtils.hasText(fileDownloadBo.getContentEncoding())) {
+                // 压缩后的大小未记录，不返回 Content-Length
+                headers.set(HttpHeaders.CONTENT_ENCODING, fileDownloadBo.getContentEncoding());
+            }
+            return fileResponse(request, fileId, fileDownloadBo, headers, "下载");
         } catch (FileAccessDeniedException e) {
             log.warn("文件下载权限被拒绝，文件Id: {}, 原因: {}", fileId, e.getMessage());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (TransferRejectedException e) {
+            log.warn("文件下载被拒绝，文件Id: {}, 原因: {}", fileId, e.getMessage());
+            return serviceUnavailable(e);
+        } catch (RangeNotSatisfiableException e) {
+            return rangeNotSatisfiable(e);
         } catch (Exception e) {
             log.error("文件下载失败，文件Id: {}", fileId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -138,6 +526,8 @@ public class FileController {
 
     /**
      * 预览文件
+     * <br>
+     * 支持通过 Range 请求头获取部分内容（单个字节范围），用于视频拖动播放、PDF分段加载
      *
      * @param fileId          文件唯一 Id
      * @param fileStorageMode 文件存储的策略 {@link SysFiles#getFileStorageMode()}
@@ -148,15 +538,30 @@ public class FileController {
     public ResponseEntity<StreamingResponseBody> preview(
             @RequestParam("fileId") Long fileId,
             @RequestParam("fileStorageMode") String fileStorageMode,
-            @RequestParam(value = "createId", required = false) Long createId) {
+            @RequestParam(value = "createId", required = false) Long createId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletRequest request) {
         try {
             // 校验文件访问权限
-            filesService.checkFileAccessPermission(fileId, createId);
-            
-            QofFileDownloadBo fileDownloadBo = qofClientFactory.buildClient(fileStorageMode).preview(fileId);
+            QofFileInfoBo<?> fileBo = filesService.checkFileAccessPermission(fileId, createId);
+
+            // 客户端缓存仍然有效时直接返回 304，不读取存储；预览始终返回解压后的内容
+            HttpHeaders headers = cacheHeaders(fileBo);
+            String eTag = entityTag(fileId, null);
+            if (isNotModified(request, eTag, lastModified(fileBo))) {
+                return notModified(eTag, headers);
+            }
 
-            StreamingResponseBody streamingResponseBody = fileValidationService.createStreamingResponseBody(
-                    fileDownloadBo.getInputStream(), fileId, "预览");
+            QofClient qofClient = qofClientFactory.buildClient(fileStorageMode);
+            // 开启下载重定向时，由对象存储直接返回文件内容
+            String presignedUrl = qofClient.presignDownload(fileId, true);
+            if (presignedUrl != null) {
+                return redirectTo(presignedUrl);
+            }
+
+            QofFileDownloadBo fileDownloadBo = qofClient.preview(fileId,
+                    requestedRange(rangeHeader, ifRange, fileId, lastModified(fileBo)));
 
             String encodedFileName = fileValidationService.encodeFileName(fileDownloadBo.getFileName());
 
@@ -164,19 +569,264 @@ public class FileController {
                     .filename(encodedFileName, StandardCharsets.UTF_8)
                     .build();
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
-                    .contentType(MediaType.parseMediaType(fileDownloadBo.getFileType()))
-                    .body(streamingResponseBody);
+            headers.setContentDisposition(contentDisposition);
+            headers.setContentType(MediaType.parseMediaType(fileDownloadBo.getFileType()));
+            return fileResponse(request, fileId, fileDownloadBo, headers, "预览");
         } catch (FileAccessDeniedException e) {
             log.warn("文件预览权限被拒绝，文件Id: {}, 原因: {}", fileId, e.getMessage());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (TransferRejectedException e) {
+            log.warn("文件预览被拒绝，文件Id: {}, 原因: {}", fileId, e.getMessage());
+            return serviceUnavailable(e);
+        } catch (RangeNotSatisfiableException e) {
+            return rangeNotSatisfiable(e);
         } catch (Exception e) {
             log.error("文件预览失败，文件Id: {}", fileId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * 返回文件内容
+     * <br>
+     * 文件保存在本地磁盘时按配置的发送方式直接发送文件，不经过应用的缓冲区复制：
+     * sendfile 由 Tomcat 发送文件（容器不支持时仍由应用写入响应），
+     * x-accel-redirect、x-sendfile 只返回响应头，由前置服务器发送文件并处理 Range。
+     * <br>
+     * 这三种方式的文件内容都在请求处理结束后才由容器或前置服务器发送，应用无法得知发送何时结束，
+     * 因此返回响应前即关闭输入流、释放传输额度，文件发送过程不受传输准入控制限制；需要限制时使用 stream
+     */
+    private ResponseEntity<StreamingResponseBody> fileResponse(HttpServletRequest request, Long fileId,
+                                                               QofFileDownloadBo fileDownloadBo, HttpHeaders headers,
+                                                               String operation) throws IOException {
+        Path localFile = fileDownloadBo.getLocalFile();
+        QofLocalServeModeEnum serveMode = localFile == null || localQofProperties == null
+                ? QofLocalServeModeEnum.STREAM : localQofProperties.getServe().getMode();
+
+        // 前置服务器不会转发应用返回的 Content-Encoding，压缩后的内容仍由应用返回
+        boolean proxyServe = (serveMode == QofLocalServeModeEnum.X_ACCEL_REDIRECT || serveMode == QofLocalServeModeEnum.X_SENDFILE)
+                && !StringUtils.hasText(fileDownloadBo.getContentEncoding());
+        if (proxyServe) {
+            // 文件内容由前置服务器读取，直接关闭输入流，释放文件句柄和传输额度
+            fileDownloadBo.getInputStream().close();
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok().headers(headers);
+            if (serveMode == QofLocalServeModeEnum.X_ACCEL_REDIRECT) {
+                builder.header(X_ACCEL_REDIRECT, internalLocation(fileDownloadBo));
+            } else {
+                builder.header(X_SENDFILE, localFile.toString());
+            }
+            return builder.build();
+        }
+
+        ResponseEntity.BodyBuilder builder = contentResponse(fileId, fileDownloadBo).headers(headers);
+        if (serveMode == QofLocalServeModeEnum.SENDFILE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            long start = fileDownloadBo.isPartial() ? fileDownloadBo.getRangeStart() : 0L;
+            // 返回完整内容时以磁盘上的文件大小为准，原样返回的压缩内容同样适用
+            long end = fileDownloadBo.isPartial() ? fileDownloadBo.getRangeEnd() + 1 : Files.size(localFile);
+            request.setAttribute(SENDFILE_FILENAME_ATTR, localFile.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end);
+            // Tomcat 在请求处理结束后才发送文件，无法持有传输额度到发送结束，直接关闭输入流，释放文件句柄和传输额度
+            fileDownloadBo.getInputStream().close();
+            return builder.contentLength(end - start).build();
+        }
+
+        StreamingResponseBody streamingResponseBody = fileValidationService.createStreamingResponseBody(
+                fileDownloadBo.getInputStream(), fileId, operation);
+        return builder.body(streamingResponseBody);
+    }
+
+    /**
+     * Nginx 内部 location 地址：前缀/存储站/文件路径
+     */
+    private String internalLocation(QofFileDownloadBo fileDownloadBo) {
+        String prefix = StringUtils.trimTrailingCharacter(localQofProperties.getServe().getInternalLocation(), '/');
+        String filePath = fileDownloadBo.getFilePath().replace('\\', '/');
+        while (filePath.startsWith("/")) {
+            filePath = filePath.substring(1);
+        }
+        return UriUtils.encodePath(prefix + "/" + fileDownloadBo.getFileStorageStation() + "/" + filePath,
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 重定向到预签名的下载地址，地址带有签名且很快过期，不允许缓存
+     */
+    private ResponseEntity<StreamingResponseBody> redirectTo(String presignedUrl) {
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(presignedUrl))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+    }
+
+    /**
+     * 解析 Range 请求头，只支持单个字节范围
+     * <br>
+     * 没有 Range 请求头、包含多个范围、格式错误，或 If-Range 与当前文件不一致时返回null，按完整内容响应
+     */
+    static QofByteRange requestedRange(String rangeHeader, String ifRange, Long fileId, Long lastModified) {
+        if (!StringUtils.hasText(rangeHeader)) {
+            return null;
+        }
+        if (ifRange != null && !isIfRangeMatched(ifRange.trim(), fileId, lastModified)) {
+            return null;
+        }
+        String value = rangeHeader.trim();
+        if (!value.regionMatches(true, 0, BYTES_UNIT + "=", 0, BYTES_UNIT.length() + 1) || value.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = value.substring(BYTES_UNIT.length() + 1).trim();
+        int dashIndex = spec.indexOf('-');
+        if (dashIndex < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dashIndex).trim();
+            String last = spec.substring(dashIndex + 1).trim();
+            if (first.isEmpty()) {
+                return last.isEmpty() ? null : QofByteRange.suffix(Long.parseLong(last));
+            }
+            return QofByteRange.of(Long.parseLong(first), last.isEmpty() ? null : Long.parseLong(last));
+        } catch (IllegalArgumentException e) {
+            log.debug("忽略格式错误的Range请求头: {}", rangeHeader);
+            return null;
+        }
+    }
+
+    /**
+     * If-Range 是否与当前文件一致
+     * <br>
+     * 部分内容只返回原始内容，ETag 格式时只需与原始内容的 ETag 比较；日期格式时需与 Last-Modified 一致（精确到秒）
+     */
+    static boolean isIfRangeMatched(String ifRange, Long fileId, Long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(entityTag(fileId, null));
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond() == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 客户端缓存的内容是否仍然有效
+     * <br>
+     * 携带 If-None-Match 时只比较 ETag（弱比较），否则比较 If-Modified-Since 与 Last-Modified
+     */
+    private static boolean isNotModified(HttpServletRequest request, String eTag, Long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || eTag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 文件内容的最后修改时间，同一文件 Id 的内容不会变化，使用文件创建时间
+     */
+    private static Long lastModified(QofFileInfoBo<?> fileBo) {
+        if (fileBo.getCreateTime() == null) {
+            return null;
+        }
+        return fileBo.getCreateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Last-Modified 以及按文件是否公开配置的 Cache-Control
+     */
+    private HttpHeaders cacheHeaders(QofFileInfoBo<?> fileBo) {
+        HttpHeaders headers = new HttpHeaders();
+        Long lastModified = lastModified(fileBo);
+        if (lastModified != null) {
+            headers.setLastModified(lastModified);
+        }
+        QofProperties.HttpCache httpCache = qofProperties.getHttpCache();
+        String cacheControl = fileBo.getPublicAccess() != null && fileBo.getPublicAccess() == 1
+                ? httpCache.getPublicCacheControl() : httpCache.getPrivateCacheControl();
+        if (StringUtils.hasText(cacheControl)) {
+            headers.setCacheControl(cacheControl);
+        }
+        return headers;
+    }
+
+    /**
+     * 客户端缓存仍然有效时返回 304，只返回校验和缓存相关的响应头
+     */
+    private static ResponseEntity<StreamingResponseBody> notModified(String eTag, HttpHeaders headers) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .headers(headers)
+                .eTag(eTag)
+                .build();
+    }
+
+    /**
+     * 文件内容的强 ETag，同一文件 Id 的内容不会变化，压缩后的内容使用不同的 ETag
+     */
+    static String entityTag(Long fileId, String contentEncoding) {
+        return "\"" + fileId + (StringUtils.hasText(contentEncoding) ? "-" + contentEncoding : "") + "\"";
+    }
+
+    /**
+     * 返回完整内容时为 200，返回部分内容时为 206 并带有 Content-Range
+     */
+    static ResponseEntity.BodyBuilder contentResponse(Long fileId, QofFileDownloadBo fileDownloadBo) {
+        ResponseEntity.BodyBuilder builder;
+        if (fileDownloadBo.isPartial()) {
+            builder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " " + fileDownloadBo.getRangeStart() + "-"
+                            + fileDownloadBo.getRangeEnd() + "/" + fileDownloadBo.getFileSize())
+                    .contentLength(fileDownloadBo.getRangeEnd() - fileDownloadBo.getRangeStart() + 1);
+        } else {
+            builder = ResponseEntity.ok();
+            if (!StringUtils.hasText(fileDownloadBo.getContentEncoding())) {
+                builder.contentLength(fileDownloadBo.getFileSize());
+            }
+        }
+        return builder.header(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT)
+                .eTag(entityTag(fileId, fileDownloadBo.getContentEncoding()));
+    }
+
+    /**
+     * 请求的范围超出文件内容时返回 416，并通过 Content-Range 告知文件大小
+     */
+    static ResponseEntity<StreamingResponseBody> rangeNotSatisfiable(RangeNotSatisfiableException e) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + e.getFileSize())
+                .build();
+    }
+
+    /**
+     * 传输繁忙时返回 503，并通过 Retry-After 告知客户端重试间隔
+     */
+    private ResponseEntity<StreamingResponseBody> serviceUnavailable(TransferRejectedException e) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (e.getRetryAfter() != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(e.getRetryAfter().getSeconds(), 1)));
+        }
+        return builder.build();
+    }
+
     /**
      * 删除文件
      *
@@ -4,13 +4,16 @@ package io.github.codeyunze.exception;
 import io.github.codeyunze.utils.Result;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartException;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.Objects;
 
 /**
@@ -102,6 +105,20 @@ public class QofOverallExceptionHandle {
         return new Result<>(HttpStatus.FORBIDDEN.value(), null, e.getMessage());
     }
 
+    /**
+     * 传输繁忙异常处理
+     * 返回 503，并通过 Retry-After 告知客户端重试间隔
+     */
+    @ExceptionHandler(TransferRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    Result<?> transferRejectedExceptionHandle(TransferRejectedException e, HttpServletResponse response) {
+        log.warn("文件传输被拒绝: {}", e.getMessage());
+        if (e.getRetryAfter() != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(e.getRetryAfter().getSeconds(), 1)));
+        }
+        return new Result<>(HttpStatus.SERVICE_UNAVAILABLE.value(), null, e.getMessage());
+    }
+
     /**
      * 通用运行时异常处理
      */
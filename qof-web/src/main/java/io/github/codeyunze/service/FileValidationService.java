@@ -2,6 +2,7 @@ package io.github.codeyunze.service;
 
 import io.github.codeyunze.dto.QofFileInfoDto;
 import io.github.codeyunze.dto.QofFileUploadDto;
+import io.github.codeyunze.dto.QofStreamUploadDto;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
@@ -27,6 +28,25 @@ public interface FileValidationService {
      */
     QofFileInfoDto<?> buildFileInfoDto(MultipartFile file, QofFileUploadDto fileUploadDto);
 
+    /**
+     * 构建不随请求上传文件内容的文件信息DTO（断点续传、秒传）
+     * 文件名、类型、大小等由客户端提供
+     *
+     * @param fileUploadDto 文件上传 DTO，如 {@link io.github.codeyunze.dto.QofChunkUploadInitDto}
+     * @return 文件信息 DTO
+     */
+    QofFileInfoDto<?> buildFileInfoDto(QofFileUploadDto fileUploadDto);
+
+    /**
+     * 构建流式上传的文件信息DTO
+     *
+     * @param originalFilename 请求中文件部分的文件名
+     * @param contentType      请求中文件部分的文件类型
+     * @param streamUploadDto  流式上传 DTO
+     * @return 文件信息 DTO
+     */
+    QofFileInfoDto<?> buildFileInfoDto(String originalFilename, String contentType, QofStreamUploadDto streamUploadDto);
+
     /**
      * 创建流式响应体
      *
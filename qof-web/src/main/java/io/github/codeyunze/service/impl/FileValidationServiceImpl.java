@@ -5,6 +5,7 @@ import cn.hutool.core.date.LocalDateTimeUtil;
 import io.github.codeyunze.QofProperties;
 import io.github.codeyunze.dto.QofFileInfoDto;
 import io.github.codeyunze.dto.QofFileUploadDto;
+import io.github.codeyunze.dto.QofStreamUploadDto;
 import io.github.codeyunze.service.FileValidationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,14 +54,38 @@ public class FileValidationServiceImpl implements FileValidationService {
         fileInfoDto.setFileName(fileName);
         fileInfoDto.setFileType(file.getContentType());
         fileInfoDto.setFileSize(file.getSize());
+        fileInfoDto.setDirectoryAddress(buildDirectoryAddress());
 
-        // 构建安全的目录地址（由系统自动生成，防止路径遍历攻击）
-        String directoryAddress = "/" + LocalDateTimeUtil.format(LocalDateTime.now(), DatePattern.SIMPLE_MONTH_PATTERN);
-        fileInfoDto.setDirectoryAddress(directoryAddress);
+        return fileInfoDto;
+    }
 
+    @Override
+    public QofFileInfoDto<?> buildFileInfoDto(QofFileUploadDto fileUploadDto) {
+        QofFileInfoDto<?> fileInfoDto = new QofFileInfoDto<>();
+        BeanUtils.copyProperties(fileUploadDto, fileInfoDto);
+        fileInfoDto.setDirectoryAddress(buildDirectoryAddress());
         return fileInfoDto;
     }
 
+    @Override
+    public QofFileInfoDto<?> buildFileInfoDto(String originalFilename, String contentType, QofStreamUploadDto streamUploadDto) {
+        QofFileInfoDto<?> fileInfoDto = new QofFileInfoDto<>();
+        BeanUtils.copyProperties(streamUploadDto, fileInfoDto);
+        if (!StringUtils.hasText(streamUploadDto.getFileName())) {
+            fileInfoDto.setFileName(originalFilename);
+        }
+        fileInfoDto.setFileType(contentType);
+        fileInfoDto.setDirectoryAddress(buildDirectoryAddress());
+        return fileInfoDto;
+    }
+
+    /**
+     * 构建安全的目录地址（由系统自动生成，防止路径遍历攻击）
+     */
+    private static String buildDirectoryAddress() {
+        return "/" + LocalDateTimeUtil.format(LocalDateTime.now(), DatePattern.SIMPLE_MONTH_PATTERN);
+    }
+
 
     @Override
     public StreamingResponseBody createStreamingResponseBody(
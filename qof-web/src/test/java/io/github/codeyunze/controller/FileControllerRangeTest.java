@@ -0,0 +1,158 @@
+package io.github.codeyunze.controller;
+
+import io.github.codeyunze.bo.QofFileDownloadBo;
+import io.github.codeyunze.dto.QofByteRange;
+import io.github.codeyunze.exception.RangeNotSatisfiableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文件接口 Range、If-Range 请求头处理测试
+ *
+ * @author 高晗
+ * @since 2026/10/17
+ */
+class FileControllerRangeTest {
+
+    private static final Long FILE_ID = 123L;
+
+    private static final long FILE_SIZE = 1000;
+
+    /**
+     * 最后修改时间 2026-10-17 08:00:00.500 GMT，If-Range 日期精确到秒
+     */
+    private static final long LAST_MODIFIED = ZonedDateTime.of(2026, 10, 17, 8, 0, 0, 500_000_000, ZoneOffset.UTC)
+            .toInstant().toEpochMilli();
+
+    /**
+     * Range 请求头、文件中的实际起始位置、实际结束位置
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "bytes=0-0         | 0   | 0",
+            "bytes=100-199     | 100 | 199",
+            "bytes=100-        | 100 | 999",
+            "bytes=900-5000    | 900 | 999",
+            "bytes=-200        | 800 | 999",
+            "bytes=-5000       | 0   | 999",
+            "BYTES=10-19       | 10  | 19",
+            "'bytes= 10 - 19 ' | 10  | 19",
+    })
+    void parsesSingleRange(String rangeHeader, long expectedStart, long expectedEnd) {
+        QofByteRange range = FileController.requestedRange(rangeHeader, null, FILE_ID, LAST_MODIFIED);
+
+        assertEquals(expectedStart, range.getStart(FILE_SIZE));
+        assertEquals(expectedEnd, range.getEnd(FILE_SIZE));
+    }
+
+    /**
+     * 多个范围、start > end、格式错误时按完整内容返回 200
+     */
+    @ParameterizedTest(name = "[{index}] {0}")
+    @ValueSource(strings = {
+            "",
+            "bytes=0-99,200-299",
+            "bytes=-1,-2",
+            "bytes=200-100",
+            "bytes=-",
+            "bytes=abc-",
+            "bytes=100",
+            "items=0-99",
+            "bytes=-1-5",
+    })
+    void fallsBackToFullContent(String rangeHeader) {
+        assertNull(FileController.requestedRange(rangeHeader, null, FILE_ID, LAST_MODIFIED));
+    }
+
+    @Test
+    void ignoresMissingRangeHeader() {
+        assertNull(FileController.requestedRange(null, null, FILE_ID, LAST_MODIFIED));
+    }
+
+    /**
+     * If-Range 请求头、是否与当前文件一致
+     */
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', value = {
+            "\"123\"                         | true",
+            "\"124\"                         | false",
+            "\"123-gzip\"                    | false",
+            "W/\"123\"                       | false",
+            "Sat, 17 Oct 2026 08:00:00 GMT   | true",
+            "Sat, 17 Oct 2026 08:00:01 GMT   | false",
+            "Sat, 17 Oct 2026 07:59:59 GMT   | false",
+            "not a date                      | false",
+    })
+    void matchesIfRange(String ifRange, boolean expected) {
+        assertEquals(expected, FileController.isIfRangeMatched(ifRange, FILE_ID, LAST_MODIFIED));
+
+        QofByteRange range = FileController.requestedRange("bytes=0-99", ifRange, FILE_ID, LAST_MODIFIED);
+        if (expected) {
+            assertEquals(99, range.getEnd(FILE_SIZE));
+        } else {
+            // If-Range 与当前文件不一致时忽略 Range，返回完整内容
+            assertNull(range);
+        }
+    }
+
+    @Test
+    void dateIfRangeDoesNotMatchWithoutLastModified() {
+        String ifRange = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC));
+        assertFalse(FileController.isIfRangeMatched(ifRange, FILE_ID, null));
+        assertTrue(FileController.isIfRangeMatched("\"123\"", FILE_ID, null));
+    }
+
+    @Test
+    void unsatisfiableRangeReturns416() {
+        QofByteRange range = FileController.requestedRange("bytes=1000-", null, FILE_ID, LAST_MODIFIED);
+        assertFalse(range.isSatisfiable(FILE_SIZE));
+
+        ResponseEntity<StreamingResponseBody> response = FileController.rangeNotSatisfiable(
+                new RangeNotSatisfiableException("请求的范围超出文件大小", FILE_SIZE));
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */1000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void partialContentReturns206() {
+        QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
+        fileDownloadBo.setFileSize(FILE_SIZE);
+        fileDownloadBo.setRangeStart(100L);
+        fileDownloadBo.setRangeEnd(199L);
+
+        ResponseEntity<Void> response = FileController.contentResponse(FILE_ID, fileDownloadBo).build();
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 100-199/1000", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(100, response.getHeaders().getContentLength());
+        assertEquals("\"123\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void compressedContentIgnoresRange() {
+        // 压缩存储的文件不返回部分内容（rangeStart 为空），原样返回压缩后的内容
+        QofFileDownloadBo fileDownloadBo = new QofFileDownloadBo();
+        fileDownloadBo.setFileSize(FILE_SIZE);
+        fileDownloadBo.setContentEncoding("gzip");
+
+        ResponseEntity<Void> response = FileController.contentResponse(FILE_ID, fileDownloadBo).build();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(-1, response.getHeaders().getContentLength());
+        assertEquals("\"123-gzip\"", response.getHeaders().getETag());
+    }
+}